@@ -23,18 +23,21 @@ public class CareerCenterStaffView {
     }
 
     /**
-     * Displays the main menu and prompts the user for a selection.
+     * Displays the main menu, with the size of each approval backlog, and prompts the user for a selection.
      * Validates input and returns a valid option (0-4).
      *
+     * @param pendingReps        The number of company representatives awaiting authorisation.
+     * @param pendingInternships The number of internships awaiting approval.
+     * @param pendingWithdrawals The number of withdrawal requests awaiting a decision.
      * @return The selected menu option as an integer.
      */
-    public int promptMainMenu() {
+    public int promptMainMenu(int pendingReps, int pendingInternships, int pendingWithdrawals) {
         while (true) {
             System.out.println();
             System.out.println("=== Career Centre Staff Menu ===");
-            System.out.println("1) Authorise / Reject Company Representatives");
-            System.out.println("2) Approve / Reject Internship opportunities");
-            System.out.println("3) Approve / Reject Withdrawal requests");
+            System.out.println("1) Authorise / Reject Company Representatives (" + pendingReps + " pending)");
+            System.out.println("2) Approve / Reject Internship opportunities (" + pendingInternships + " pending)");
+            System.out.println("3) Approve / Reject Withdrawal requests (" + pendingWithdrawals + " pending)");
             System.out.println("4) View internships & Manage filters");
             System.out.println("0) Back");
             System.out.print("Select option: ");
@@ -22,25 +22,26 @@ public class FilterView {
     /**
      * Displays the filter options menu and prompts the user for a selection.
      *
-     * @return The integer option selected by the user (0-7).
+     * @return The integer option selected by the user (0-8).
      */
     public int promptFilterMenu() {
         while (true) {
             System.out.println();
             System.out.println("=== Filters ===");
-            System.out.println("1) Add Status Filter (APPROVED/PENDING/REJECTED/FILLED)");
+            System.out.println("1) Add Status Filter (APPROVED/PENDING/REJECTED/FILLED/CLOSED)");
             System.out.println("2) Add Level Filter (BASIC/INTERMEDIATE/ADVANCED)");
             System.out.println("3) Add Major Filter");
             System.out.println("4) Only Visible");
             System.out.println("5) Only Currently Open");
             System.out.println("6) Add Year Filter (min year of student eligibility)");
             System.out.println("7) Clear all filters (reset to defaults)");
+            System.out.println("8) Search by keywords (title/description)");
             System.out.println("0) Back");
             System.out.print("Select option: ");
             String s = sc.nextLine().trim();
             try {
                 int opt = Integer.parseInt(s);
-                if (opt >= 0 && opt <= 7) return opt;
+                if (opt >= 0 && opt <= 8) return opt;
             } catch (NumberFormatException ignored) {}
             System.out.println("Invalid option.");
         }
@@ -52,7 +53,7 @@ public class FilterView {
      * @return The status string entered by the user.
      */
     public String promptStatus() {
-        System.out.print("Status (APPROVED/PENDING/REJECTED/FILLED): ");
+        System.out.print("Status (APPROVED/PENDING/REJECTED/FILLED/CLOSED): ");
         return sc.nextLine().trim();
     }
 
@@ -76,6 +77,16 @@ public class FilterView {
         return sc.nextLine().trim();
     }
 
+    /**
+     * Prompts the user to enter search keywords.
+     *
+     * @return The keywords entered by the user.
+     */
+    public String promptKeywords() {
+        System.out.print("Keywords: ");
+        return sc.nextLine().trim();
+    }
+
     /**
      * Prompts the user to enter a minimum student year (1-4).
      *
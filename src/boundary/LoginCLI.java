@@ -1,5 +1,12 @@
 package boundary;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
 import java.util.Scanner;
 
 import control.AuthService;
@@ -19,9 +26,20 @@ import data.ApplicationRepository;
 import data.AccountCreationRepository;
 import data.AccountCreationUserRepositoryAdapter;
 import data.CsvAccountBootstrapper;
+import data.StorageBackend;
+import data.InternshipStore;
+import data.ApplicationStore;
+import data.ApplicationSnapshot;
+import data.InternshipSnapshot;
+import data.TransactionLog;
+import data.WriteBehindBuffer;
 
 import service.InternshipService;
 
+import entity.AppClock;
+import entity.Application;
+import entity.ApplicationIdSequence;
+import entity.Internship;
 import entity.Student;
 import entity.User;
 import entity.CompanyRep;
@@ -34,6 +52,8 @@ import entity.CareerCenterStaff;
  */
 public class LoginCLI {
 
+    private static final String ID_SEQUENCE_FILE = "application-ids.seq";
+
     /**
      * Constructs a new LoginCLI.
      * (Standard default constructor).
@@ -71,11 +91,13 @@ public class LoginCLI {
 
         ApplicationRepository applicationRepo = new ApplicationRepository();
         InternshipRepository internshipRepo = new InternshipRepository();
+        AttachedStorage storage = attachStorage(internshipRepo, applicationRepo, userRepo);
 
         // ---------- Services ----------
 
         AuthService authService = new AuthService(userRepo, userRepo);
         InternshipService internshipService = new InternshipService(internshipRepo);
+        internshipService.getDeadlineScheduler().start(Duration.ofMinutes(1));
 
         // ---------- Views ----------
 
@@ -91,7 +113,8 @@ public class LoginCLI {
                 new AccountCreationController(accountCreationRepo);
 
         ApplicationController applicationController =
-                new ApplicationController(applicationRepo, internshipRepo, userRepo);
+                new ApplicationController(applicationRepo, internshipRepo, userRepo, AppClock.get(),
+                        storage.transactionLog);
 
         FilterController filterController =
                 new FilterController(filterView, internshipService);
@@ -157,6 +180,89 @@ public class LoginCLI {
                         System.out.println("Invalid option.");
                 }
             }
+        } finally {
+            storage.close.run();
+        }
+    }
+
+    /**
+     * Loads internships and applications from durable storage and keeps the store in step with
+     * the repositories through write-behind buffers. The backend is chosen with the
+     * {@code ims.storage} system property (for example {@code -Dims.storage=log}) and keeps its
+     * files in {@code ims.data} (default {@code data}). Without the property, nothing is stored.
+     * With it, application IDs also come from a sequence file in the same directory, advanced
+     * past every restored ID, so IDs issued after a restart never repeat stored ones. The
+     * backend's transaction log is opened first, completing transactions an earlier run committed
+     * but did not finish writing, and is cleared on exit once both buffers have been flushed.
+     *
+     * @param internshipRepo  The internship repository to fill.
+     * @param applicationRepo The application repository to fill.
+     * @param users           Resolves the students that stored applications belong to.
+     * @return The transaction log for units of work, and the action that flushes the buffers and
+     *         closes the stores; run it on exit.
+     */
+    private static AttachedStorage attachStorage(
+            InternshipRepository internshipRepo,
+            ApplicationRepository applicationRepo,
+            AccountCreationUserRepositoryAdapter users) {
+
+        String name = System.getProperty("ims.storage");
+        if (name == null || name.isBlank()) return AttachedStorage.NONE;
+        Path directory = Paths.get(System.getProperty("ims.data", "data"));
+
+        try {
+            StorageBackend backend = StorageBackend.named(name.trim());
+            TransactionLog transactions = backend.openTransactionLog(directory);
+            InternshipStore internships = backend.openInternshipStore(directory);
+            ApplicationStore applications = backend.openApplicationStore(directory);
+            Files.createDirectories(directory);
+            ApplicationIdSequence ids = ApplicationIdSequence.open(directory.resolve(ID_SEQUENCE_FILE));
+
+            for (Internship i : internships.loadAll()) {
+                internshipRepo.add(i);
+            }
+            for (Application a : applications.loadAll(
+                    id -> {
+                        User u = users.findById(id);
+                        return u instanceof Student ? (Student) u : null;
+                    },
+                    internshipRepo::findById)) {
+                applicationRepo.save(a);
+                ids.advancePast(a.getApplicationID());
+            }
+            ApplicationIdSequence.install(ids);
+
+            WriteBehindBuffer<String, InternshipSnapshot> internshipWrites =
+                    new WriteBehindBuffer<>(internships, Duration.ofSeconds(1), 256);
+            WriteBehindBuffer<String, ApplicationSnapshot> applicationWrites =
+                    new WriteBehindBuffer<>(applications, Duration.ofSeconds(1), 256);
+            internshipRepo.setWriteBehind(internshipWrites);
+            applicationRepo.setWriteBehind(applicationWrites);
+
+            return new AttachedStorage(transactions, () -> {
+                // close both buffers even if the first reports writes it could not store
+                boolean flushed = true;
+                for (WriteBehindBuffer<String, ?> buffer : List.of(internshipWrites, applicationWrites)) {
+                    try {
+                        buffer.close();
+                    } catch (RuntimeException e) {
+                        flushed = false;
+                        System.out.println("Some changes could not be saved: " + e.getMessage());
+                    }
+                }
+                try {
+                    // keep the log for the next start unless the stores hold everything
+                    if (transactions != null && flushed) transactions.checkpoint();
+                    internships.close();
+                    applications.close();
+                    if (transactions != null) transactions.close();
+                } catch (IOException | UncheckedIOException e) {
+                    System.out.println("Failed to close storage: " + e.getMessage());
+                }
+            });
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            System.out.println("Storage unavailable (" + e.getMessage() + "); data will not be saved.");
+            return AttachedStorage.NONE;
         }
     }
 
@@ -224,4 +330,20 @@ public class LoginCLI {
             System.out.println("Change password failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // ========== HELPER TYPES ==========
+
+    // What attachStorage opened: the transaction log for units of work (null if the backend keeps
+    // none) and the action that flushes and closes everything on exit.
+    private static final class AttachedStorage {
+        static final AttachedStorage NONE = new AttachedStorage(null, () -> { });
+
+        final TransactionLog transactionLog;
+        final Runnable close;
+
+        AttachedStorage(TransactionLog transactionLog, Runnable close) {
+            this.transactionLog = transactionLog;
+            this.close = close;
+        }
+    }
+}
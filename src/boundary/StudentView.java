@@ -5,6 +5,7 @@ import entity.Application;
 
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Predicate;
 
 /**
  * The view class responsible for user interactions specific to a Student.
@@ -25,7 +26,7 @@ public class StudentView {
     /**
      * Displays the main menu options available to a Student and captures their choice.
      *
-     * @return The integer option selected by the user (0-6).
+     * @return The integer option selected by the user (0-8).
      */
     public int promptMainMenu() {
         while (true) {
@@ -37,11 +38,13 @@ public class StudentView {
             System.out.println("4) Request withdrawal");
             System.out.println("5) Accept placement");
             System.out.println("6) Manage filters");
+            System.out.println("7) Subscribe to new internships matching my filters");
+            System.out.println("8) View notifications");
             System.out.println("0) Back");
             System.out.print("Select option: ");
             try {
                 int opt = Integer.parseInt(sc.nextLine().trim());
-                if (opt >= 0 && opt <= 6) return opt;
+                if (opt >= 0 && opt <= 8) return opt;
             } catch (NumberFormatException ignored) {}
             System.out.println("Invalid option.");
         }
@@ -54,14 +57,26 @@ public class StudentView {
      * @param internships The list of internships to display.
      */
     public void listInternships(List<Internship> internships) {
+        listInternships(internships, in -> false);
+    }
+
+    /**
+     * Displays a formatted list of internships to the console,
+     * marking the ones the student has already applied to.
+     *
+     * @param internships The list of internships to display.
+     * @param applied     Tells whether the student has applied to an internship.
+     */
+    public void listInternships(List<Internship> internships, Predicate<Internship> applied) {
         if (internships == null || internships.isEmpty()) {
             System.out.println("No internships matched your filters.");
             return;
         }
         for (int i = 0; i < internships.size(); i++) {
             Internship in = internships.get(i);
-            System.out.printf("%d) %s | %s | %s | Company: %s | %d/%d slots | Status:%s | Open:%s Close:%s%n",
+            System.out.printf("%d) %s%s | %s | %s | Company: %s | %d/%d slots | Status:%s | Open:%s Close:%s%n",
                     i + 1,
+                    applied.test(in) ? "[Applied] " : "",
                     in.getTitle(),
                     in.getLevel(),
                     in.getPreferredMajor(),
@@ -137,4 +152,20 @@ public class StudentView {
      * @param msg The message to display.
      */
     public void show(String msg) { System.out.println(msg); }
+
+    /**
+     * Displays a list of notification messages to the console.
+     *
+     * @param messages The messages to display, oldest first.
+     */
+    public void listNotifications(List<String> messages) {
+        if (messages == null || messages.isEmpty()) {
+            System.out.println("No new notifications.");
+            return;
+        }
+        System.out.println("=== Notifications ===");
+        for (String m : messages) {
+            System.out.println("- " + m);
+        }
+    }
 }
\ No newline at end of file
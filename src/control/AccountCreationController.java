@@ -120,6 +120,15 @@ public class AccountCreationController {
     public List<CompanyRep> getPendingCompanyReps() {
         return repository.findPendingCompanyReps();
     }
+
+    /**
+     * Counts the Company Representatives currently pending approval.
+     *
+     * @return The number of pending representatives.
+     */
+    public int countPendingCompanyReps() {
+        return repository.countPendingCompanyReps();
+    }
     /**
      * Retrieves all users currently registered in the system.
      *
@@ -1,14 +1,19 @@
 package control;
 
+import entity.AppClock;
 import entity.Application;
 import entity.Student;
 import entity.Internship;
 import data.ApplicationRepository;
 import data.InternshipRepository;
+import data.TransactionLog;
+import data.UnitOfWork;
 import data.UserWriteRepository;
 import enums.ApplicationStatus;
 import enums.InternshipLevel;
 import enums.InternshipStatus;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -21,6 +26,8 @@ public class ApplicationController {
     private ApplicationRepository applicationRepository;
     private InternshipRepository internshipRepository;
     private UserWriteRepository userRepository;
+    private final Clock clock;
+    private final TransactionLog transactionLog;
     private static final int MAX_APPLICATIONS_PER_STUDENT = 3;
 
     /**
@@ -31,9 +38,38 @@ public class ApplicationController {
      * @param userRepository        The repository for persisting user data changes (e.g., student state).
      */
     public ApplicationController(ApplicationRepository applicationRepository, InternshipRepository internshipRepository, UserWriteRepository userRepository) {
+        this(applicationRepository, internshipRepository, userRepository, AppClock.get());
+    }
+
+    /**
+     * Constructs a new ApplicationController with an explicit clock.
+     *
+     * @param applicationRepository The repository for application data access.
+     * @param internshipRepository  The repository for internship data access.
+     * @param userRepository        The repository for persisting user data changes (e.g., student state).
+     * @param clock                 The clock that supplies today's date for deadlines and application dates.
+     */
+    public ApplicationController(ApplicationRepository applicationRepository, InternshipRepository internshipRepository,
+                                 UserWriteRepository userRepository, Clock clock) {
+        this(applicationRepository, internshipRepository, userRepository, clock, null);
+    }
+
+    /**
+     * Constructs a new ApplicationController whose units of work are recorded in a transaction log.
+     *
+     * @param applicationRepository The repository for application data access.
+     * @param internshipRepository  The repository for internship data access.
+     * @param userRepository        The repository for persisting user data changes (e.g., student state).
+     * @param clock                 The clock that supplies today's date for deadlines and application dates.
+     * @param transactionLog        The log receiving one record per committed change, or {@code null} for none.
+     */
+    public ApplicationController(ApplicationRepository applicationRepository, InternshipRepository internshipRepository,
+                                 UserWriteRepository userRepository, Clock clock, TransactionLog transactionLog) {
         this.applicationRepository = applicationRepository;
         this.internshipRepository = internshipRepository;
         this.userRepository = userRepository;
+        this.clock = clock;
+        this.transactionLog = transactionLog;
     }
 
     // ========== GETTERS ========== 
@@ -71,12 +107,23 @@ public class ApplicationController {
     }
 
     /**
-     * Retrieves all applications for a specific internship title.
-     * @param internshipTitle The title of the internship.
+     * Retrieves all applications for a specific internship.
+     * @param internshipId The unique ID of the internship.
      * @return A list of applications.
      */
-    public List<Application> getApplicationByInternshipTitle(String internshipTitle) {
-        return applicationRepository.findByInternshipTitle(internshipTitle);
+    public List<Application> getApplicationByInternshipId(String internshipId) {
+        return applicationRepository.findByInternshipId(internshipId);
+    }
+
+    /**
+     * Checks whether a student has already applied to an internship.
+     *
+     * @param student    The student.
+     * @param internship The internship.
+     * @return {@code true} if the student has an application for it.
+     */
+    public boolean hasApplied(Student student, Internship internship) {
+        return applicationRepository.hasApplied(student.getHandle(), internship.getHandle());
     }
 
     /**
@@ -88,12 +135,21 @@ public class ApplicationController {
         return applicationRepository.findPendingWithdrawalRequest();
     }
 
+    /**
+     * Counts the applications that have a pending withdrawal request.
+     * @return The number of pending withdrawals.
+     */
+    public int countPendingWithdrawalRequest() {
+        return applicationRepository.countPendingWithdrawalRequest();
+    }
+
     // ========== CREATE OPERATIONS ========== 
 
     /**
      * Creates a new internship application for a student.
      * Validates eligibility based on:
      * <ul>
+     * <li>No earlier application to the same internship.</li>
      * <li>Maximum active applications (Limit: 3).</li>
      * <li>Existing successful applications.</li>
      * <li>Student year vs. Internship level (Year 1/2 restricted to BASIC).</li>
@@ -108,14 +164,25 @@ public class ApplicationController {
      * @throws IllegalStateException    If the application could not be created in the student object.
      */
     public Application createApplication(Student student, Internship internship) {
+        // one date for the deadline check and the new application's date
+        try (AppClock.Snapshot today = AppClock.snapshot(clock)) {
+            return createApplication(student, internship, today.today());
+        }
+    }
+
+    private Application createApplication(Student student, Internship internship, LocalDate today) {
+        // one application per student and internship
+        if (hasApplied(student, internship)) {
+            throw new IllegalArgumentException("You have already applied to this internship.");
+        }
+
         // check if student can apply how many applications (max 3) 
-        int activeApplications = applicationRepository.countActiveApplicationsByStudent(student.getUserId());
-        if (activeApplications >= MAX_APPLICATIONS_PER_STUDENT) {
+        if (student.getActiveApplicationCount() >= MAX_APPLICATIONS_PER_STUDENT) {
             throw new IllegalArgumentException("Student has reached the maximum 3 active applications.");
         }
 
         // Check if student already has a successful application
-        if (applicationRepository.hasSuccessfulApplication(student.getUserId())) {
+        if (student.hasSuccessfulApplication()) {
             throw new IllegalArgumentException("Student already has a successful application.");
         }
 
@@ -132,7 +199,7 @@ public class ApplicationController {
             throw new IllegalArgumentException("Internship opportunity has been filled.");
         }
         // Check whether application deadline has passed 
-        if (internship.isClosingDatePassed()) {
+        if (internship.isClosingDatePassed(today)) {
             throw new IllegalArgumentException("Application closing date has passed.");
         }
 
@@ -170,7 +237,7 @@ public class ApplicationController {
         Application application = getApplicationById(applicationId);
 
         // Check if student already has a successful application
-        if (applicationRepository.hasSuccessfulApplication(application.getStudent().getUserId())) {
+        if (application.getStudent().hasSuccessfulApplication()) {
             throw new IllegalStateException("Student already has a successful application.");
         }
 
@@ -185,23 +252,21 @@ public class ApplicationController {
             throw new IllegalStateException("Internship has already been filled.");
         }
 
-        // Mark as successful
-        application.markSuccessful();
-        Application updated = applicationRepository.update(application);
+        try (UnitOfWork uow = begin(application, internship)) {
+            // Mark as successful
+            application.markSuccessful();
 
-        // Update internship filled slots/status after approval
-        // We count from the repo to ensure the count is accurate based on actual successful applications
-        int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternship(internship.getTitle());
-        internship.setFilledSlots(confirmedSlots);
+            // Update internship filled slots/status after approval
+            // We count from the repo to ensure the count is accurate based on actual successful applications
+            int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternshipId(internship.getId());
+            internship.setFilledSlots(confirmedSlots);
 
-        if (confirmedSlots >= internship.getSlots()) {
-            internship.setStatus(InternshipStatus.FILLED);
+            if (confirmedSlots >= internship.getSlots()) {
+                internship.setStatus(InternshipStatus.FILLED);
+            }
+            uow.commit();
         }
-        
-        if (internshipRepository != null) {
-            internshipRepository.update(internship);
-        }
-        return updated;
+        return application;
     }
 
     /**
@@ -213,25 +278,22 @@ public class ApplicationController {
      */
     public Application rejectApplication(String applicationId) {
         Application application = getApplicationById(applicationId);
+        Internship internship = application.getInternship();
 
-        // Mark as unsuccessful
-        application.markUnsuccessful();
-        Application updated = applicationRepository.update(application);
+        try (AppClock.Snapshot today = AppClock.snapshot(clock);
+             UnitOfWork uow = begin(application, internship)) {
+            // Mark as unsuccessful
+            application.markUnsuccessful();
 
-        // Always recalculate internship filled slots/status after rejection
-        Internship internship = updated.getInternship();
-        int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternship(internship.getTitle());
-        internship.setFilledSlots(confirmedSlots);
+            // Always recalculate internship filled slots/status after rejection
+            int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternshipId(internship.getId());
+            internship.setFilledSlots(confirmedSlots);
 
-        // If slots opened up (count < max) and it was previously FILLED, reopen it to APPROVED
-        if (confirmedSlots < internship.getSlots() && internship.getStatus() == InternshipStatus.FILLED) {
-            internship.setStatus(InternshipStatus.APPROVED);
-        }
-        
-        if (internshipRepository != null) {
-            internshipRepository.update(internship);
+            // If slots opened up (count < max) and it was previously FILLED, reopen it to APPROVED
+            reopenIfSlotFreed(internship, confirmedSlots, today.today());
+            uow.commit();
         }
-        return updated;
+        return application;
     }
     // ========== STUDENT ACTIONS ========== 
 
@@ -239,6 +301,8 @@ public class ApplicationController {
      * Processes a student's acceptance of an internship offer.
      * Verifies the application is SUCCESSFUL, then triggers the student entity logic 
      * to accept the offer and auto-withdraw other active applications.
+     * The student, all of their applications and the internship are committed together,
+     * or left unchanged if any step fails.
      *
      * @param applicationId The ID of the application being accepted.
      * @return The accepted Application object.
@@ -251,37 +315,29 @@ public class ApplicationController {
             throw new IllegalStateException("Can only accept successful applications");
         }
         Student student = application.getStudent();
-        
-        // Let student entity update its accepted application and withdraw others
-        boolean accepted = student.accept(application);
-        if (!accepted) {
-            throw new IllegalStateException("Student could not accept the application");
-        }
-        
-        // persist student changes
-        if (userRepository != null) {
-            userRepository.save(student);
-        }
-        
-        // persist all applications for this student so withdrawn flags are saved
-        List<Application> apps = applicationRepository.findByStudentId(student.getUserId());
-        for (Application a : apps) {
-            applicationRepository.update(a);
-        }
-        
-        // persist accepted application as well
-        applicationRepository.update(application);
-        
-        // update internship filled slots/status
         Internship internship = application.getInternship();
-        int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternship(internship.getTitle());
-        internship.setFilledSlots(confirmedSlots);
-        
-        if (confirmedSlots >= internship.getSlots()) {
-            internship.setStatus(InternshipStatus.FILLED);
-        }
-        if (internshipRepository != null) {
-            internshipRepository.update(internship);
+
+        try (UnitOfWork uow = begin(application, internship)) {
+            uow.track(student);
+            // every application of this student may be withdrawn by the acceptance
+            for (Application a : applicationRepository.findByStudentId(student.getUserId())) {
+                uow.track(a);
+            }
+
+            // Let student entity update its accepted application and withdraw others
+            boolean accepted = student.accept(application);
+            if (!accepted) {
+                throw new IllegalStateException("Student could not accept the application");
+            }
+
+            // update internship filled slots/status
+            int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternshipId(internship.getId());
+            internship.setFilledSlots(confirmedSlots);
+
+            if (confirmedSlots >= internship.getSlots()) {
+                internship.setStatus(InternshipStatus.FILLED);
+            }
+            uow.commit();
         }
         return application;
     }
@@ -314,22 +370,21 @@ public class ApplicationController {
         if (!application.isWithdrawalRequested()) {
             throw new IllegalStateException("No withdrawal request found for this application");
         }
-        // if application is active and successful, we should update related internship filled slots
-        application.markWithDrawn();
-        Application updated = applicationRepository.update(application);
-        
-        // update internship filled slots/status if needed
-        Internship internship = updated.getInternship();
-        int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternship(internship.getTitle());
-        internship.setFilledSlots(confirmedSlots);
-        
-        if (confirmedSlots < internship.getSlots() && internship.getStatus() == InternshipStatus.FILLED) {
-            internship.setStatus(InternshipStatus.APPROVED);
-        }
-        if (internshipRepository != null) {
-            internshipRepository.update(internship);
+        Internship internship = application.getInternship();
+
+        try (AppClock.Snapshot today = AppClock.snapshot(clock);
+             UnitOfWork uow = begin(application, internship)) {
+            // if application is active and successful, we should update related internship filled slots
+            application.markWithDrawn();
+
+            // update internship filled slots/status if needed
+            int confirmedSlots = applicationRepository.countSuccessfulApplicationByInternshipId(internship.getId());
+            internship.setFilledSlots(confirmedSlots);
+
+            reopenIfSlotFreed(internship, confirmedSlots, today.today());
+            uow.commit();
         }
-        return updated;
+        return application;
     }
 
     /**
@@ -365,5 +420,24 @@ public class ApplicationController {
             throw new IllegalStateException("Can only delete pending application.");
         }
         applicationRepository.delete(applicationId);
+        application.getStudent().discard(application);
+    }
+
+    // Reopens a FILLED internship once a slot frees up; one whose deadline has passed is closed instead.
+    private static void reopenIfSlotFreed(Internship internship, int confirmedSlots, LocalDate today) {
+        if (confirmedSlots >= internship.getSlots() || internship.getStatus() != InternshipStatus.FILLED) return;
+        if (internship.isClosingDatePassed(today)) {
+            internship.close();
+        } else {
+            internship.setStatus(InternshipStatus.APPROVED);
+        }
+    }
+
+    // Starts a unit of work tracking an application and, if internships are persisted, its internship.
+    private UnitOfWork begin(Application application, Internship internship) {
+        UnitOfWork uow = new UnitOfWork(applicationRepository, internshipRepository, userRepository, transactionLog);
+        uow.track(application);
+        if (internshipRepository != null) uow.track(internship);
+        return uow;
     }
 }
\ No newline at end of file
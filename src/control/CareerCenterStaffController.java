@@ -50,7 +50,9 @@ public class CareerCenterStaffController {
      */
     public void showMain(CareerCenterStaff staff) {
         while (true) {
-            int opt = view.promptMainMenu();
+            int opt = view.promptMainMenu(accountController.countPendingCompanyReps(),
+                    internshipService.countPendingInternships(),
+                    applicationController.countPendingWithdrawalRequest());
             switch (opt) {
                 case 0: return;
                 case 1: manageCompanyReps(); break;
@@ -103,18 +105,19 @@ public class CareerCenterStaffController {
 
     /**
      * Handles the workflow for approving or rejecting Internship listings.
-     * Fetches internships, allows selection, and updates their status via the InternshipService.
+     * Fetches the internships awaiting approval (earliest closing date first), allows selection,
+     * and updates their status via the InternshipService.
      */
     private void manageInternships() {
-        List<Internship> all = internshipService.getAllInternships();
+        List<Internship> pending = internshipService.getPendingInternships();
 
-        if (all.isEmpty()) {
-            view.show("No internships available.");
+        if (pending.isEmpty()) {
+            view.show("No internships pending approval.");
             return;
         }
-        view.listInternships(all);
-        int idx = view.promptIndexSelection(all.size());
-        Internship chosen = all.get(idx);
+        view.listInternships(pending);
+        int idx = view.promptIndexSelection(pending.size());
+        Internship chosen = pending.get(idx);
         String action = view.promptApproveOrReject();
         try {
             if (action.equals("approve")) {
@@ -135,7 +138,7 @@ public class CareerCenterStaffController {
 
     /**
      * Handles the workflow for approving or rejecting student withdrawal requests.
-     * Fetches pending applications, prompts for decision, and delegates to the ApplicationController.
+     * Fetches pending applications (oldest request first), prompts for decision, and delegates to the ApplicationController.
      */
     private void manageWithdrawals() {
         List<Application> pending = applicationController.getPendingWithdrawalRequest();
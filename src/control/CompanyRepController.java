@@ -98,7 +98,7 @@ public class CompanyRepController {
         Internship selected = mine.get(idx);
 
         // fetch applications for the internship
-        List<Application> apps = applicationController.getApplicationByInternshipTitle(selected.getTitle());
+        List<Application> apps = applicationController.getApplicationByInternshipId(selected.getId());
         if (apps.isEmpty()) {
             view.show("No applications for this internship.");
             return;
@@ -248,8 +248,12 @@ public class CompanyRepController {
         Internship selected = mine.get(idx);
 
         boolean vis = view.promptVisibility();
-        internshipService.setVisibility(selected.getId(), vis);
-        view.show("Visibility set to " + vis + ".");
+        boolean shown = internshipService.setVisibility(selected.getId(), vis);
+        if (vis && !shown && selected.getStatus() == InternshipStatus.APPROVED) {
+            view.show("Internship will become visible on its open date (" + selected.getOpenDate() + ").");
+        } else {
+            view.show("Visibility set to " + shown + ".");
+        }
     }
 
     /**
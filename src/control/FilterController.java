@@ -3,6 +3,7 @@ package control;
 import boundary.FilterView;
 import entity.User;
 import entity.Internship;
+import filter.Filter;
 import enums.InternshipLevel;
 import enums.InternshipStatus;
 import filter.StatusFilter;
@@ -13,6 +14,7 @@ import filter.CurrentlyOpenFilter;
 import filter.YearFilter;
 import service.InternshipService;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -39,21 +41,31 @@ public class FilterController {
      * Displays the filter management menu and handles the loop for modifying user filters.
      * The method continuously prompts the user to add specific filters or clear them,
      * and displays the updated list of matching internships after every change.
+     * <p>
+     * Adding a filter can only narrow the result, so the previous result is kept together with
+     * the catalog version and date it was computed for; while both are unchanged, only the new
+     * filter is evaluated over the previous matches. Clearing filters, or any change to the
+     * catalog or the date, triggers a full recompute.
+     * </p>
      *
      * @param user The user modifying their filter settings.
      * @throws IllegalArgumentException If the provided user is null.
      */
     public void manageFiltersFor(User user) {
         if (user == null) throw new IllegalArgumentException("User cannot be null");
+        List<Internship> filtered = null;
+        long version = 0;
+        LocalDate day = null;
         while (true) {
             int opt = view.promptFilterMenu();
             if (opt == 0) return;
+            Filter<Internship> added = null;
             switch (opt) {
                 case 1: {
                     String s = view.promptStatus();
                     try {
                         InternshipStatus status = InternshipStatus.valueOf(s.toUpperCase());
-                        user.getFilter().addFilter(new StatusFilter(status));
+                        added = new StatusFilter(status);
                         view.show("Added status filter: " + status);
                     } catch (IllegalArgumentException e) {
                         view.show("Invalid status: " + s);
@@ -64,7 +76,7 @@ public class FilterController {
                     String s = view.promptLevel();
                     try {
                         InternshipLevel lvl = InternshipLevel.valueOf(s.toUpperCase());
-                        user.getFilter().addFilter(new LevelFilter(lvl));
+                        added = new LevelFilter(lvl);
                         view.show("Added level filter: " + lvl);
                     } catch (IllegalArgumentException e) {
                         view.show("Invalid level: " + s);
@@ -74,37 +86,56 @@ public class FilterController {
                 case 3: {
                     String maj = view.promptMajor();
                     if (maj == null || maj.trim().isEmpty()) { view.show("Major cannot be empty"); break; }
-                    user.getFilter().addFilter(new MajorFilter(maj));
+                    added = new MajorFilter(maj);
                     view.show("Added major filter: " + maj);
                     break;
                 }
                 case 4: {
-                    user.getFilter().addFilter(new VisibleFilter());
+                    added = new VisibleFilter();
                     view.show("Added visible-only filter.");
                     break;
                 }
                 case 5: {
-                    user.getFilter().addFilter(new CurrentlyOpenFilter());
+                    added = new CurrentlyOpenFilter();
                     view.show("Added currently-open-only filter.");
                     break;
                 }
                 case 6: {
                     int y = view.promptMinYear();
-                    user.getFilter().addFilter(new YearFilter(y));
+                    added = new YearFilter(y);
                     view.show("Added year filter: min year " + y);
                     break;
                 }
                 case 7: {
                     user.getFilter().clear();
+                    filtered = null;
                     view.show("Cleared filters to defaults.");
                     break;
                 }
+                case 8: {
+                    String q = view.promptKeywords();
+                    if (q == null || q.trim().isEmpty()) { view.show("Keywords cannot be empty"); break; }
+                    added = internshipService.keywordFilter(q);
+                    view.show("Added keyword filter: " + q);
+                    break;
+                }
                 default:
                     view.show("Unknown option.");
             }
 
-            // after each change show internships matching new filters
-            List<Internship> filtered = internshipService.getInternshipsFor(user);
+            if (added != null) user.getFilter().addFilter(added);
+
+            // after each change show internships matching new filters, narrowing the last
+            // result when only a filter was added and the catalog is unchanged
+            long currentVersion = internshipService.getCatalogVersion();
+            LocalDate today = internshipService.today();
+            if (filtered != null && added != null && version == currentVersion && today.equals(day)) {
+                filtered = internshipService.refine(filtered, added);
+            } else {
+                filtered = internshipService.getInternshipsFor(user);
+            }
+            version = currentVersion;
+            day = today;
             view.showInternships(filtered);
         }
     }
@@ -56,6 +56,8 @@ public class StudentController {
                 case 4: requestWithdrawal(student); break;
                 case 5: acceptPlacement(student); break;
                 case 6: filterController.manageFiltersFor(student); break;
+                case 7: subscribe(student); break;
+                case 8: view.listNotifications(internshipService.getNotifications(student)); break;
                 default: view.show("Unknown option.");
             }
         }
@@ -67,7 +69,19 @@ public class StudentController {
      */
     private void listInternships(Student student) {
         List<Internship> internships = internshipService.getInternshipsFor(student);
-        view.listInternships(internships);
+        view.listInternships(internships, i -> applicationController.hasApplied(student, i));
+    }
+
+    /**
+     * Saves the student's current filters as a standing subscription, so that newly
+     * visible internships matching them are announced in the student's notifications.
+     * @param student The subscribing student.
+     */
+    private void subscribe(Student student) {
+        boolean replaced = internshipService.isSubscribed(student);
+        internshipService.subscribe(student);
+        view.show(replaced ? "Subscription updated to your current filters."
+                : "Subscribed. New internships matching your current filters will appear in your notifications.");
     }
 
     /**
@@ -81,7 +95,7 @@ public class StudentController {
             view.show("No internships available to apply.");
             return;
         }
-        view.listInternships(internships);
+        view.listInternships(internships, i -> applicationController.hasApplied(student, i));
         int idx = view.promptIndexSelection(internships.size());
         Internship chosen = internships.get(idx);
         try {
@@ -10,6 +10,7 @@ import java.util.stream.Collectors;
  */
 public class AccountCreationRepository {
     private List<User> users;
+    private final PendingQueue<CompanyRep> pendingReps = PendingQueue.fifo(User::getUserId);
     /**
      * Constructs a new AccountCreationRepository.
      * Initializes connection to the data storage (e.g., CSV files or memory).
@@ -34,6 +35,7 @@ public class AccountCreationRepository {
         }
 
         users.add(user);
+        syncPending(user);
         return user;
     }
 
@@ -59,16 +61,30 @@ public class AccountCreationRepository {
     }
     /**
      * Retrieves a list of Company Representatives who are pending approval.
-     * These are users who have registered but have not yet been authorized by Staff.
+     * These are users who have registered but have not yet been authorized by Staff,
+     * in the order they registered.
      *
      * @return A list of pending {@link CompanyRep} objects.
      */
     public List<CompanyRep> findPendingCompanyReps() {
-        return users.stream()
-                .filter(u -> u instanceof CompanyRep)
-                .map(u -> (CompanyRep) u)
-                .filter(rep -> !rep.isAuthorized())  
-                .collect(Collectors.toList());
+        return pendingReps.toList();
+    }
+
+    /**
+     * Counts the Company Representatives awaiting approval.
+     *
+     * @return The number of pending representatives.
+     */
+    public int countPendingCompanyReps() {
+        return pendingReps.size();
+    }
+
+    // Keeps the approval queue in step with a saved user; authorization only changes through update().
+    private void syncPending(User user) {
+        if (user instanceof CompanyRep) {
+            CompanyRep rep = (CompanyRep) user;
+            pendingReps.sync(rep, !rep.isAuthorized());
+        }
     }
     /**
      * Retrieves a list of all registered Students.
@@ -111,6 +127,7 @@ public class AccountCreationRepository {
 
         int index = users.indexOf(existing);
         users.set(index, user);
+        syncPending(user);
         return user;
     }
 
@@ -124,6 +141,7 @@ public class AccountCreationRepository {
         User user = findById(userId);
         if (user != null) {
             users.remove(user);
+            pendingReps.remove(userId);
             return true;
         }
         return false;
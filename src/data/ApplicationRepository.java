@@ -1,26 +1,59 @@
 package data;
 
 import entity.Application;
+import entity.HandleRegistry;
 import enums.ApplicationStatus;
 import java.util.ArrayList; 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List; 
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Repository class responsible for the persistence and retrieval of Internship Applications.
  * This class manages the collection of applications, allowing for storing, updating, deleting,
  * and querying applications based on various criteria (Student, Internship, Status, etc.).
+ * <p>
+ * Storage is copy-on-write: every write publishes a new immutable snapshot, so readers
+ * receive the current snapshot directly without copying and it never changes under them.
+ * </p>
+ * <p>
+ * Lookups by application ID, by student and by internship go through arrays indexed by handle
+ * rather than scanning the snapshot and comparing ID strings.
+ * </p>
+ * <p>
+ * Every stored (student, internship) pair is also kept in a primitive hash set of packed handles,
+ * so "has this student applied to this internship?" is answered in O(1).
+ * </p>
+ * <p>
+ * Optionally, every published change is also handed to a {@link WriteBehindBuffer} keyed by application ID.
+ * </p>
+ * <p>
+ * Writes of a stored application with no {@link Application#isDirty() unpublished changes} are skipped.
+ * </p>
+ * <p>
+ * Applications with an open withdrawal request are kept in a FIFO {@link PendingQueue},
+ * updated on every write.
+ * </p>
  */
 public class ApplicationRepository {
 	
-	private List<Application> applications; 
+	private volatile List<Application> applications; 
+	private volatile Application[] byHandle = new Application[64];
+	private volatile List<Application>[] byStudent = newBuckets(64);
+	private volatile List<Application>[] byInternship = newBuckets(64);
+	private final PendingQueue<Application> pendingWithdrawals = PendingQueue.fifo(Application::getApplicationID);
+	private final LongHashSet applied = new LongHashSet();
+	private volatile WriteBehindBuffer<String, ApplicationSnapshot> writeBehind;
 	
 	/**
 	 * Constructs a new ApplicationRepository.
-	 * Initializes the internal storage list.
+	 * Initializes the internal storage with an empty snapshot.
 	 */
 	public ApplicationRepository() {
-		this.applications = new ArrayList<>();
+		this.applications = List.of();
 	}
 	
 	/**
@@ -28,23 +61,39 @@ public class ApplicationRepository {
 	 *
 	 * @param application The application object to persist.
 	 * @return The saved application object.
-	 * @throws IllegalArgumentException If the application object is null.
+	 * @throws IllegalArgumentException If the application object is null, or an application with
+	 *                                  the same ID is already stored (use {@link #update(Application)}).
 	 */
-	public Application save(Application application) {
+	public synchronized Application save(Application application) {
 		if(application == null) {
 			throw new IllegalArgumentException("Application cannot be null");
 		}
-		applications.add(application);
+		if (findById(application.getApplicationID()) != null) {
+			throw new IllegalArgumentException("Application " + application.getApplicationID() + " already exists");
+		}
+		HandleRegistry.APPLICATIONS.rebind(application.getApplicationID(), application.getHandle());
+		List<Application> next = new ArrayList<>(applications.size() + 1);
+		next.addAll(applications);
+		next.add(application);
+		applications = List.copyOf(next);
+		setHandle(application.getHandle(), application);
+		byStudent = replaceInBucket(byStudent, application.getStudent().getHandle(), null, application);
+		byInternship = replaceInBucket(byInternship, application.getInternship().getHandle(), null, application);
+		applied.add(pairOf(application));
+		application.markClean();
+		mirror(application);
+		syncPending(application);
 		return application;
 	}
 	
 	/**
 	 * Retrieves all applications currently stored in the repository.
+	 * The returned list is an immutable snapshot; later writes do not affect it.
 	 *
-	 * @return A new list containing all applications (read-only copy).
+	 * @return An unmodifiable list containing all applications.
 	 */
 	public List<Application> findAll(){
-		return new ArrayList<>(applications);
+		return applications;
 	}
 	
 	/**
@@ -54,10 +103,9 @@ public class ApplicationRepository {
 	 * @return The {@link Application} object if found, or {@code null} otherwise.
 	 */
 	public Application findById(String applicationId) {
-		return applications.stream()
-				.filter(app->app.getApplicationID().equals(applicationId))
-				.findFirst()
-				.orElse(null);
+		int handle = HandleRegistry.APPLICATIONS.handleOf(applicationId);
+		Application[] current = byHandle;
+		return handle >= 0 && handle < current.length ? current[handle] : null;
 	}
 	
 	/**
@@ -67,22 +115,30 @@ public class ApplicationRepository {
 	 * @return A list of applications belonging to that student.
 	 */
 	public List<Application> findByStudentId(String studentId){
-		return applications.stream()
-				.filter(app -> app.getStudent().getUserId().equals(studentId))
-				.collect(Collectors.toList());
-		}
+		return new ArrayList<>(studentBucket(studentId));
+	}
 	
 	/**
-	 * Retrieves all applications associated with a specific internship title.
+	 * Checks whether a student has an application (in any state) for an internship.
 	 *
-	 * @param internshipTitle The title of the internship.
+	 * @param studentHandle    The {@link entity.User#getHandle() handle} of the student.
+	 * @param internshipHandle The {@link entity.Internship#getHandle() handle} of the internship.
+	 * @return {@code true} if such an application is stored.
+	 */
+	public synchronized boolean hasApplied(int studentHandle, int internshipHandle) {
+		return applied.contains(pair(studentHandle, internshipHandle));
+	}
+
+	/**
+	 * Retrieves all applications for a specific internship.
+	 * Internships are told apart by ID, so postings that share a title are never mixed up.
+	 *
+	 * @param internshipId The unique ID of the internship.
 	 * @return A list of applications for that internship.
 	 */
-	public List<Application> findByInternshipTitle (String internshipTitle){
-        return applications.stream()
-                .filter(app -> app.getInternship().getTitle().equals(internshipTitle))
-                .collect(Collectors.toList());
-    } 
+	public List<Application> findByInternshipId(String internshipId){
+		return new ArrayList<>(bucketOf(byInternship, HandleRegistry.INTERNSHIPS.handleOf(internshipId)));
+	}
 	
 	/**
 	 * Retrieves all applications that currently match a specific status.
@@ -104,33 +160,41 @@ public class ApplicationRepository {
 	 * @return A list of matching applications.
 	 */
 	public List<Application> findByStudentAndStatus(String studentId, ApplicationStatus status){
-		return applications.stream()
-				.filter(app -> app.getStudent().getUserId().equals(studentId)
-						&& app.getStatus() == status) 
+		return studentBucket(studentId).stream()
+				.filter(app -> app.getStatus() == status) 
 				.collect(Collectors.toList()); 
 	}
 	
 	/**
-	 * Finds all applications where a withdrawal has been requested but not yet finalized.
+	 * Finds all applications where a withdrawal has been requested but not yet finalized,
+	 * oldest request first.
 	 * Used by Career Center Staff to approve or reject withdrawals.
 	 *
 	 * @return A list of applications with pending withdrawal requests.
 	 */
 	public List<Application> findPendingWithdrawalRequest(){
-		return applications.stream()
-				.filter(app -> app.isWithdrawalRequested() && !app.isWithdrawn())
-				.collect(Collectors.toList());
+		return pendingWithdrawals.toList();
+	}
+
+	/**
+	 * Counts the applications with a pending withdrawal request.
+	 *
+	 * @return The number of pending withdrawal requests.
+	 */
+	public int countPendingWithdrawalRequest() {
+		return pendingWithdrawals.size();
 	}
 
 	/**
 	 * Updates an existing application in the repository.
 	 * Finds the application by ID and replaces it with the new object.
+	 * Updating the stored instance when it has no unpublished changes does nothing.
 	 *
 	 * @param application The application with updated data.
 	 * @return The updated application object.
 	 * @throws IllegalArgumentException If the application is null or does not exist.
 	 */
-	public Application update(Application application) {
+	public synchronized Application update(Application application) {
 		if (application == null) {
 			throw new IllegalArgumentException("Application cannot be null."); 
 		}
@@ -139,58 +203,235 @@ public class ApplicationRepository {
 		if (existing == null) {
 			throw new IllegalArgumentException("Application not found : " + application.getApplicationID());
 		}
-		
+		if (existing == application) {
+			// same instance already published; only its changes need writing through
+			if (application.isDirty()) {
+				syncPending(application);
+				application.markClean();
+				mirror(application);
+			}
+			return application;
+		}
 		//update here
-		int index = applications.indexOf(existing);
-		applications.set(index, application);
+		List<Application> next = new ArrayList<>(applications);
+		next.set(next.indexOf(existing), application);
+		applications = List.copyOf(next);
+		reindex(existing, application);
+
+		syncPending(application);
+		application.markClean();
+		mirror(application);
 		return application;	
 	}
 
+	/**
+	 * Publishes several updated applications in one step.
+	 * All of them are checked first, so either every application is updated or none is;
+	 * replaced instances are swapped in with a single copy of the snapshot, and stored
+	 * instances without unpublished changes are skipped.
+	 *
+	 * @param changed The applications with updated data.
+	 * @throws IllegalArgumentException If any application is null or does not exist.
+	 */
+	public synchronized void updateAll(Collection<Application> changed) {
+		Map<Application, Application> replacements = new HashMap<>();
+		List<Application> toWrite = new ArrayList<>();
+		for (Application application : changed) {
+			if (application == null) {
+				throw new IllegalArgumentException("Application cannot be null.");
+			}
+			Application existing = findById(application.getApplicationID());
+			if (existing == null) {
+				throw new IllegalArgumentException("Application not found : " + application.getApplicationID());
+			}
+			if (existing != application) replacements.put(existing, application);
+			if (existing != application || application.isDirty()) toWrite.add(application);
+		}
+		if (!replacements.isEmpty()) {
+			List<Application> next = new ArrayList<>(applications.size());
+			for (Application a : applications) {
+				next.add(replacements.getOrDefault(a, a));
+			}
+			applications = List.copyOf(next);
+			for (Map.Entry<Application, Application> e : replacements.entrySet()) {
+				reindex(e.getKey(), e.getValue());
+			}
+		}
+		for (Application application : toWrite) {
+			syncPending(application);
+			application.markClean();
+			mirror(application);
+		}
+	}
+
+	// Moves the indexes from a stored instance to the instance replacing it. A replacement
+	// naming a different student or internship is re-filed under its own pair.
+	private void reindex(Application existing, Application application) {
+		setHandle(application.getHandle(), application);
+		byStudent = moveInBuckets(byStudent, existing.getStudent().getHandle(),
+				application.getStudent().getHandle(), existing, application);
+		byInternship = moveInBuckets(byInternship, existing.getInternship().getHandle(),
+				application.getInternship().getHandle(), existing, application);
+		if (pairOf(existing) == pairOf(application)) return;
+		if (!hasOtherApplication(existing)) applied.remove(pairOf(existing));
+		applied.add(pairOf(application));
+	}
+
+	private static List<Application>[] moveInBuckets(List<Application>[] buckets, int fromHandle, int toHandle,
+			Application existing, Application application) {
+		if (fromHandle == toHandle) return replaceInBucket(buckets, fromHandle, existing, application);
+		return replaceInBucket(replaceInBucket(buckets, fromHandle, existing, null), toHandle, null, application);
+	}
+
+	// Publishes applications put back by a rollback, whether or not they look dirty, so the
+	// withdrawal queue and the durable store drop any state published before the rollback.
+	synchronized void republish(Collection<Application> restored) {
+		for (Application application : restored) {
+			if (findById(application.getApplicationID()) != application) continue;
+			syncPending(application);
+			application.markClean();
+			mirror(application);
+		}
+	}
+
 	/**
 	 * Deletes an application from the repository.
 	 *
 	 * @param applicationId The unique ID of the application to remove.
 	 * @return {@code true} if found and deleted; {@code false} otherwise.
 	 */
-	public boolean delete(String applicationId) {
+	public synchronized boolean delete(String applicationId) {
 		Application app = findById(applicationId);
 		if(app != null) {
-			applications.remove(app);
+			List<Application> next = new ArrayList<>(applications);
+			next.remove(app);
+			applications = List.copyOf(next);
+			setHandle(app.getHandle(), null);
+			byStudent = replaceInBucket(byStudent, app.getStudent().getHandle(), app, null);
+			byInternship = replaceInBucket(byInternship, app.getInternship().getHandle(), app, null);
+			if (!hasOtherApplication(app)) applied.remove(pairOf(app));
+			pendingWithdrawals.remove(applicationId);
+			WriteBehindBuffer<String, ApplicationSnapshot> wb = writeBehind;
+			if (wb != null) wb.delete(applicationId);
+			HandleRegistry.APPLICATIONS.release(applicationId);
 			return true;
 		}
 		return false;
 	}
 	
+	private static long pairOf(Application application) {
+		return pair(application.getStudent().getHandle(), application.getInternship().getHandle());
+	}
+
+	private static long pair(int studentHandle, int internshipHandle) {
+		return ((long) studentHandle << 32) | (internshipHandle & 0xFFFFFFFFL);
+	}
+
+	// Whether the student still has another stored application for the same internship.
+	private boolean hasOtherApplication(Application removed) {
+		for (Application a : studentBucket(removed.getStudent().getUserId())) {
+			if (a.getInternship() == removed.getInternship()) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Sends every change published from now on to a write-behind buffer in front of a durable store.
+	 * Applications already stored are queued once so the store starts complete.
+	 *
+	 * @param buffer The buffer, or {@code null} to stop mirroring.
+	 */
+	public synchronized void setWriteBehind(WriteBehindBuffer<String, ApplicationSnapshot> buffer) {
+		this.writeBehind = buffer;
+		if (buffer != null) {
+			for (Application a : applications) buffer.put(a.getApplicationID(), ApplicationSnapshot.of(a));
+		}
+	}
+
+	private void mirror(Application application) {
+		WriteBehindBuffer<String, ApplicationSnapshot> wb = writeBehind;
+		if (wb != null) wb.put(application.getApplicationID(), ApplicationSnapshot.of(application));
+	}
+
+	private void syncPending(Application application) {
+		pendingWithdrawals.sync(application, application.isWithdrawalRequested() && !application.isWithdrawn());
+	}
+
+	// ========== HANDLE-INDEXED STORAGE ==========
+
+	// Returns the current applications of a student, or an empty list.
+	private List<Application> studentBucket(String studentId) {
+		return bucketOf(byStudent, HandleRegistry.USERS.handleOf(studentId));
+	}
+
+	private static List<Application> bucketOf(List<Application>[] buckets, int handle) {
+		if (handle < 0 || handle >= buckets.length || buckets[handle] == null) return List.of();
+		return buckets[handle];
+	}
+
+	// Returns the buckets with a new immutable bucket for a handle, in which {@code from} is
+	// replaced by {@code to}; a null {@code from} appends and a null {@code to} removes.
+	private static List<Application>[] replaceInBucket(List<Application>[] current, int handle, Application from, Application to) {
+		if (handle >= current.length) {
+			current = Arrays.copyOf(current, Math.max(handle + 1, current.length * 2));
+		}
+		List<Application> bucket = current[handle] == null
+				? new ArrayList<>() : new ArrayList<>(current[handle]);
+		int at = from == null ? -1 : bucket.indexOf(from);
+		if (at >= 0 && to != null) {
+			bucket.set(at, to);
+		} else {
+			if (at >= 0) bucket.remove(at);
+			if (to != null) bucket.add(to);
+		}
+		current[handle] = List.copyOf(bucket);
+		return current;
+	}
+
+	private void setHandle(int handle, Application application) {
+		Application[] current = byHandle;
+		if (handle >= current.length) {
+			current = Arrays.copyOf(current, Math.max(handle + 1, current.length * 2));
+		}
+		current[handle] = application;
+		byHandle = current;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Application>[] newBuckets(int size) {
+		return (List<Application>[]) new List<?>[size];
+	}
+
+	
 	// ========== UTILITY METHODS ==========
 	
 	/**
 	 * Counts the number of active applications for a specific student.
 	 * An application is considered active if it is not withdrawn and not unsuccessful.
 	 * This is used to enforce the limit of 3 active applications.
+	 * The count is read from the student's own counters rather than recomputed.
 	 *
 	 * @param studentId The ID of the student.
 	 * @return The count of active applications.
 	 */
 	public int countActiveApplicationsByStudent(String studentId) {
-        return (int) applications.stream()
-                .filter(app -> app.getStudent().getUserId().equals(studentId))
-                .filter(app -> !app.isWithdrawn() 
-                        && app.getStatus() != ApplicationStatus.UNSUCCESSFUL)
-                .count();
-    }
+		List<Application> bucket = studentBucket(studentId);
+		return bucket.isEmpty() ? 0 : bucket.get(0).getStudent().getActiveApplicationCount();
+	}
 	
 	/**
 	 * Counts the number of successful applications for a specific internship.
 	 * This is used to calculate how many slots have been filled.
 	 *
-	 * @param internshipTitle The title of the internship.
+	 * @param internshipId The unique ID of the internship.
 	 * @return The count of successful applications.
 	 */
-	public int countSuccessfulApplicationByInternship(String internshipTitle) {
-		return (int)applications.stream()
-				.filter(app -> app.getInternship().getTitle().equals(internshipTitle))
-				.filter(app -> app.getStatus() == ApplicationStatus.SUCCESSFUL)
-				.count();
+	public int countSuccessfulApplicationByInternshipId(String internshipId) {
+		int count = 0;
+		for (Application app : bucketOf(byInternship, HandleRegistry.INTERNSHIPS.handleOf(internshipId))) {
+			if (app.getStatus() == ApplicationStatus.SUCCESSFUL) count++;
+		}
+		return count;
 	}
 	
 	/**
@@ -200,8 +441,7 @@ public class ApplicationRepository {
 	 * @return {@code true} if the student has an accepted/successful application; {@code false} otherwise.
 	 */
 	public boolean hasSuccessfulApplication(String studentId) { 
-		return applications.stream()
-				.filter(app-> app.getStudent().getUserId().equals(studentId))
-				.anyMatch(app -> app.getStatus() == ApplicationStatus.SUCCESSFUL);
+		List<Application> bucket = studentBucket(studentId);
+		return !bucket.isEmpty() && bucket.get(0).getStudent().hasSuccessfulApplication();
 	}
 }
\ No newline at end of file
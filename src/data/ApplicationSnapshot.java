@@ -0,0 +1,132 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+import enums.ApplicationStatus;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * An immutable copy of an application's stored fields, taken when a repository publishes it.
+ * The student and internship are referred to by ID. See {@link InternshipSnapshot} for why
+ * write-behind buffers hold snapshots.
+ */
+public final class ApplicationSnapshot {
+
+    private final String applicationId;
+    private final String studentId;
+    private final String internshipId;
+    private final LocalDate applicationDate;
+    private final ApplicationStatus status;
+    private final boolean withdrawalRequested;
+    private final boolean withdrawn;
+    private final boolean accepted;
+
+    /**
+     * Creates a snapshot from stored values, for example when reading a store.
+     *
+     * @param applicationId       The application's ID.
+     * @param studentId           The ID of the student who applied.
+     * @param internshipId        The ID of the internship applied for.
+     * @param applicationDate     The date the application was made.
+     * @param status              The status.
+     * @param withdrawalRequested Whether a withdrawal is pending.
+     * @param withdrawn           Whether the application is withdrawn.
+     * @param accepted            Whether this is the placement the student accepted.
+     */
+    public ApplicationSnapshot(String applicationId, String studentId, String internshipId,
+                               LocalDate applicationDate, ApplicationStatus status,
+                               boolean withdrawalRequested, boolean withdrawn, boolean accepted) {
+        this.applicationId = applicationId;
+        this.studentId = studentId;
+        this.internshipId = internshipId;
+        this.applicationDate = applicationDate;
+        this.status = status;
+        this.withdrawalRequested = withdrawalRequested;
+        this.withdrawn = withdrawn;
+        this.accepted = accepted;
+    }
+
+    /**
+     * Copies the current state of an application.
+     * Applications change state under their student's lock, which is held while copying,
+     * so the status, flags and accepted placement are read consistently.
+     *
+     * @param application The application.
+     * @return The snapshot.
+     */
+    public static ApplicationSnapshot of(Application application) {
+        Student student = application.getStudent();
+        synchronized (student) {
+            return new ApplicationSnapshot(application.getApplicationID(), student.getUserId(),
+                    application.getInternship().getId(), application.getApplicationDate(),
+                    application.getStatus(), application.isWithdrawalRequested(), application.isWithdrawn(),
+                    student.getAcceptedApplication() == application);
+        }
+    }
+
+    /**
+     * Recreates the application with its original ID and attaches it to its student.
+     *
+     * @param students    Looks up a student by user ID, returning {@code null} if unknown.
+     * @param internships Looks up an internship by ID, returning {@code null} if unknown.
+     * @return The restored application, or {@code null} if its student or internship is unknown.
+     */
+    public Application restore(Function<String, Student> students, Function<String, Internship> internships) {
+        Student student = students.apply(studentId);
+        Internship internship = internships.apply(internshipId);
+        if (student == null || internship == null) return null;
+        return Application.restore(applicationId, student, internship, applicationDate, status,
+                withdrawalRequested, withdrawn, accepted);
+    }
+
+    /**
+     * Gets the application's ID.
+     * @return The ID.
+     */
+    public String getApplicationId() { return applicationId; }
+
+    /**
+     * Gets the ID of the student who applied.
+     * @return The student ID.
+     */
+    public String getStudentId() { return studentId; }
+
+    /**
+     * Gets the ID of the internship applied for.
+     * @return The internship ID.
+     */
+    public String getInternshipId() { return internshipId; }
+
+    /**
+     * Gets the date the application was made.
+     * @return The application date.
+     */
+    public LocalDate getApplicationDate() { return applicationDate; }
+
+    /**
+     * Gets the status.
+     * @return The status.
+     */
+    public ApplicationStatus getStatus() { return status; }
+
+    /**
+     * Checks whether a withdrawal is pending.
+     * @return true if a withdrawal was requested.
+     */
+    public boolean isWithdrawalRequested() { return withdrawalRequested; }
+
+    /**
+     * Checks whether the application is withdrawn.
+     * @return true if withdrawn.
+     */
+    public boolean isWithdrawn() { return withdrawn; }
+
+    /**
+     * Checks whether this is the placement the student accepted.
+     * @return true if accepted.
+     */
+    public boolean isAccepted() { return accepted; }
+}
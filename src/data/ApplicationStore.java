@@ -0,0 +1,26 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Durable storage for applications, keyed by application ID.
+ * Used behind {@link ApplicationRepository} in the same way as {@link InternshipStore}.
+ */
+public interface ApplicationStore extends BatchWriter<String, ApplicationSnapshot>, Closeable {
+
+    /**
+     * Reads every stored application.
+     * Records whose student or internship can no longer be resolved are skipped.
+     *
+     * @param students    Looks up a student by user ID, returning {@code null} if unknown.
+     * @param internships Looks up an internship by ID, returning {@code null} if unknown.
+     * @return The applications, restored with their original IDs and attached to their students.
+     */
+    List<Application> loadAll(Function<String, Student> students, Function<String, Internship> internships);
+}
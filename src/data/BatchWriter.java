@@ -0,0 +1,22 @@
+package data;
+
+import java.util.Map;
+
+/**
+ * A durable store that accepts writes in batches, as fed by a {@link WriteBehindBuffer}.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public interface BatchWriter<K, V> {
+
+    /**
+     * Writes the latest value of each key in the batch.
+     * A {@code null} value means the key was deleted.
+     *
+     * @param batch The keys and their latest values, in the order the keys were first written.
+     * @throws RuntimeException If the batch could not be written; the buffer then retries its keys
+     *                          one at a time, so a store should not leave a batch partly written.
+     */
+    void writeBatch(Map<K, V> batch);
+}
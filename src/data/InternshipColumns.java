@@ -0,0 +1,305 @@
+package data;
+
+import entity.Internship;
+import enums.InternshipStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A column-oriented (struct-of-arrays) copy of the fields that filters and reports read.
+ * <p>
+ * Row {@code r} describes the {@code r}-th internship of the snapshot it was built from.
+ * Dates are stored as epoch days, enums as ordinals, and major/company as dictionary codes,
+ * so scans run over primitive arrays instead of following references into each entity.
+ * Instances are immutable; {@link InternshipRepository#columns()} rebuilds one after writes.
+ * </p>
+ * <p>
+ * The {@code mask...} methods evaluate one predicate over a whole column and return a
+ * {@link RowMask} bitmask. They are written as straight, branch-free loops over primitive
+ * arrays so the JIT can unroll and vectorize them. Date-window masks are answered from an
+ * {@link InternshipDateIndex} built on first use instead, so they only visit matching rows.
+ * </p>
+ */
+public final class InternshipColumns {
+
+    /** Epoch day stored for a missing open date; sorts before every real date. */
+    public static final int NO_OPEN_DAY = Integer.MIN_VALUE;
+    /** Epoch day stored for a missing close date; sorts after every real date. */
+    public static final int NO_CLOSE_DAY = Integer.MAX_VALUE;
+
+    private final List<Internship> rows;
+    private final int[] openDay;
+    private final int[] closeDay;
+    private final byte[] level;
+    private final byte[] status;
+    private final boolean[] visible;
+    private final int[] companyCode;
+    private final int[] majorCode;
+    private final int[] slots;
+    private final int[] filledSlots;
+    private volatile InternshipDateIndex dates;
+
+    /**
+     * Builds the columns for a snapshot of internships.
+     *
+     * @param rows The internships, in row order. The list must not change afterwards.
+     */
+    public InternshipColumns(List<Internship> rows) {
+        int n = rows.size();
+        this.rows = rows;
+        this.openDay = new int[n];
+        this.closeDay = new int[n];
+        this.level = new byte[n];
+        this.status = new byte[n];
+        this.visible = new boolean[n];
+        this.companyCode = new int[n];
+        this.majorCode = new int[n];
+        this.slots = new int[n];
+        this.filledSlots = new int[n];
+
+        for (int r = 0; r < n; r++) {
+            Internship i = rows.get(r);
+            openDay[r] = i.getOpenDate() == null ? NO_OPEN_DAY : (int) i.getOpenDate().toEpochDay();
+            closeDay[r] = i.getClosingDate() == null ? NO_CLOSE_DAY : (int) i.getClosingDate().toEpochDay();
+            level[r] = i.getLevel() == null ? -1 : (byte) i.getLevel().ordinal();
+            status[r] = i.getStatus() == null ? -1 : (byte) i.getStatus().ordinal();
+            visible[r] = i.isVisible();
+            companyCode[r] = i.getCompanyCode();
+            majorCode[r] = i.getPreferredMajorCode();
+            slots[r] = i.getSlots();
+            filledSlots[r] = i.getFilledSlots();
+        }
+    }
+
+    /**
+     * Gets the number of rows.
+     * @return The row count.
+     */
+    public int size() { return rows.size(); }
+
+    /**
+     * Gets the internship entity a row was built from.
+     * @param row The row index.
+     * @return The internship.
+     */
+    public Internship internship(int row) { return rows.get(row); }
+
+    /**
+     * Gets the open date of a row as an epoch day.
+     * @param row The row index.
+     * @return The epoch day, or {@link #NO_OPEN_DAY}.
+     */
+    public int openDay(int row) { return openDay[row]; }
+
+    /**
+     * Gets the close date of a row as an epoch day.
+     * @param row The row index.
+     * @return The epoch day, or {@link #NO_CLOSE_DAY}.
+     */
+    public int closeDay(int row) { return closeDay[row]; }
+
+    /**
+     * Gets the level ordinal of a row.
+     * @param row The row index.
+     * @return The {@link enums.InternshipLevel} ordinal, or -1 if unset.
+     */
+    public byte level(int row) { return level[row]; }
+
+    /**
+     * Gets the status ordinal of a row.
+     * @param row The row index.
+     * @return The {@link InternshipStatus} ordinal, or -1 if unset.
+     */
+    public byte status(int row) { return status[row]; }
+
+    /**
+     * Checks whether a row is visible to students.
+     * @param row The row index.
+     * @return true if visible.
+     */
+    public boolean isVisible(int row) { return visible[row]; }
+
+    /**
+     * Gets the company dictionary code of a row.
+     * @param row The row index.
+     * @return The company code.
+     */
+    public int companyCode(int row) { return companyCode[row]; }
+
+    /**
+     * Gets the preferred-major dictionary code of a row.
+     * @param row The row index.
+     * @return The major code.
+     */
+    public int majorCode(int row) { return majorCode[row]; }
+
+    /**
+     * Gets the total slots of a row.
+     * @param row The row index.
+     * @return The slot count.
+     */
+    public int slots(int row) { return slots[row]; }
+
+    /**
+     * Gets the filled slots of a row.
+     * @param row The row index.
+     * @return The filled slot count.
+     */
+    public int filledSlots(int row) { return filledSlots[row]; }
+
+    /**
+     * Gets the interval index over the open and close days of this snapshot, building it on first use.
+     *
+     * @return The date index.
+     */
+    public InternshipDateIndex dates() {
+        InternshipDateIndex current = dates;
+        if (current == null) {
+            current = new InternshipDateIndex(openDay, closeDay);
+            dates = current;
+        }
+        return current;
+    }
+
+    /**
+     * Converts a date to the epoch-day form used by the date columns.
+     *
+     * @param date The date.
+     * @return The epoch day.
+     */
+    public static int toDay(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * Counts rows per status in a single pass over the status column.
+     *
+     * @return An array indexed by {@link InternshipStatus} ordinal.
+     */
+    public int[] countByStatus() {
+        int[] counts = new int[InternshipStatus.values().length];
+        for (byte s : status) {
+            if (s >= 0) counts[s]++;
+        }
+        return counts;
+    }
+
+    // ========== BULK PREDICATES ==========
+
+    /**
+     * Marks the rows whose status equals the given ordinal.
+     *
+     * @param statusOrdinal The {@link InternshipStatus} ordinal.
+     * @return A row mask.
+     */
+    public long[] maskStatusEquals(int statusOrdinal) {
+        long[] mask = RowMask.none(size());
+        for (int r = 0; r < status.length; r++) {
+            mask[r >>> 6] |= (status[r] == statusOrdinal ? 1L : 0L) << r;
+        }
+        return mask;
+    }
+
+    /**
+     * Marks the rows whose level equals the given ordinal.
+     *
+     * @param levelOrdinal The {@link enums.InternshipLevel} ordinal.
+     * @return A row mask.
+     */
+    public long[] maskLevelEquals(int levelOrdinal) {
+        long[] mask = RowMask.none(size());
+        for (int r = 0; r < level.length; r++) {
+            mask[r >>> 6] |= (level[r] == levelOrdinal ? 1L : 0L) << r;
+        }
+        return mask;
+    }
+
+    /**
+     * Marks the rows whose level is set and does not exceed the given ordinal.
+     *
+     * @param maxLevelOrdinal The highest {@link enums.InternshipLevel} ordinal to accept.
+     * @return A row mask.
+     */
+    public long[] maskLevelAtMost(int maxLevelOrdinal) {
+        long[] mask = RowMask.none(size());
+        for (int r = 0; r < level.length; r++) {
+            int l = level[r];
+            mask[r >>> 6] |= (l >= 0 & l <= maxLevelOrdinal ? 1L : 0L) << r;
+        }
+        return mask;
+    }
+
+    /**
+     * Marks the visible rows.
+     *
+     * @return A row mask.
+     */
+    public long[] maskVisible() {
+        long[] mask = RowMask.none(size());
+        for (int r = 0; r < visible.length; r++) {
+            mask[r >>> 6] |= (visible[r] ? 1L : 0L) << r;
+        }
+        return mask;
+    }
+
+    /**
+     * Marks the rows whose major code equals the given code.
+     *
+     * @param code A {@link entity.NameDictionary#MAJORS} code.
+     * @return A row mask.
+     */
+    public long[] maskMajorEquals(int code) {
+        return maskEquals(majorCode, code);
+    }
+
+    /**
+     * Marks the rows whose company code equals the given code.
+     *
+     * @param code A {@link entity.NameDictionary#COMPANIES} code.
+     * @return A row mask.
+     */
+    public long[] maskCompanyEquals(int code) {
+        return maskEquals(companyCode, code);
+    }
+
+    /**
+     * Marks the rows whose open day lies in {@code [from, to]}.
+     *
+     * @param from The first epoch day (inclusive).
+     * @param to   The last epoch day (inclusive).
+     * @return A row mask.
+     */
+    public long[] maskOpenBetween(int from, int to) {
+        return dates().maskOpenBetween(from, to);
+    }
+
+    /**
+     * Marks the rows whose close day lies in {@code [from, to]}.
+     *
+     * @param from The first epoch day (inclusive).
+     * @param to   The last epoch day (inclusive).
+     * @return A row mask.
+     */
+    public long[] maskCloseBetween(int from, int to) {
+        return dates().maskCloseBetween(from, to);
+    }
+
+    /**
+     * Marks the rows that are open on a given day (open day &le; day &le; close day).
+     *
+     * @param day The epoch day.
+     * @return A row mask.
+     */
+    public long[] maskOpenOn(int day) {
+        return dates().maskOpenOn(day);
+    }
+
+    private long[] maskEquals(int[] column, int value) {
+        long[] mask = RowMask.none(size());
+        for (int r = 0; r < column.length; r++) {
+            mask[r >>> 6] |= (column[r] == value ? 1L : 0L) << r;
+        }
+        return mask;
+    }
+}
\ No newline at end of file
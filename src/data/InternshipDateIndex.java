@@ -0,0 +1,137 @@
+package data;
+
+import java.util.Arrays;
+
+/**
+ * An index over the {@code [openDate, closeDate]} interval of every row of an {@link InternshipColumns}
+ * snapshot, answering date-window queries without visiting rows that do not match.
+ * <p>
+ * Rows are kept sorted by open day and, separately, by close day, so "opens within range" and
+ * "closes within range" are two binary searches followed by the matching run of rows. For
+ * "open on day D" a max-tree over the open-day order records the latest close day under each
+ * node; among rows opening on or before D, only subtrees holding a close day of at least D are
+ * descended into. All three queries cost O(log n + k) for k matches (the last up to a log factor).
+ * </p>
+ * <p>
+ * Instances are immutable and belong to one snapshot; see {@link InternshipColumns#dates()}.
+ * </p>
+ */
+public final class InternshipDateIndex {
+
+    private final int rows;
+    private final int[] openSorted;
+    private final int[] openRows;
+    private final int[] closeSorted;
+    private final int[] closeRows;
+    // max-tree over close days in open-day order: leaves at [leaves, 2 * leaves)
+    private final int[] maxClose;
+    private final int leaves;
+
+    InternshipDateIndex(int[] openDay, int[] closeDay) {
+        this.rows = openDay.length;
+        long[] byOpen = sortedByDay(openDay);
+        long[] byClose = sortedByDay(closeDay);
+        this.openSorted = new int[rows];
+        this.openRows = new int[rows];
+        this.closeSorted = new int[rows];
+        this.closeRows = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            openSorted[i] = (int) (byOpen[i] >> 32);
+            openRows[i] = (int) byOpen[i];
+            closeSorted[i] = (int) (byClose[i] >> 32);
+            closeRows[i] = (int) byClose[i];
+        }
+
+        int n = 1;
+        while (n < rows) n <<= 1;
+        this.leaves = n;
+        this.maxClose = new int[2 * n];
+        Arrays.fill(maxClose, Integer.MIN_VALUE);
+        for (int i = 0; i < rows; i++) {
+            maxClose[n + i] = closeDay[openRows[i]];
+        }
+        for (int node = n - 1; node >= 1; node--) {
+            maxClose[node] = Math.max(maxClose[2 * node], maxClose[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Marks the rows whose open day lies in {@code [from, to]}.
+     *
+     * @param from The first epoch day (inclusive).
+     * @param to   The last epoch day (inclusive).
+     * @return A {@link RowMask} bitmask.
+     */
+    public long[] maskOpenBetween(int from, int to) {
+        return maskRun(openSorted, openRows, from, to);
+    }
+
+    /**
+     * Marks the rows whose close day lies in {@code [from, to]}.
+     *
+     * @param from The first epoch day (inclusive).
+     * @param to   The last epoch day (inclusive).
+     * @return A {@link RowMask} bitmask.
+     */
+    public long[] maskCloseBetween(int from, int to) {
+        return maskRun(closeSorted, closeRows, from, to);
+    }
+
+    /**
+     * Marks the rows that are open on a given day (open day &le; day &le; close day).
+     *
+     * @param day The epoch day.
+     * @return A {@link RowMask} bitmask.
+     */
+    public long[] maskOpenOn(int day) {
+        long[] mask = RowMask.none(rows);
+        int end = firstAfter(openSorted, day);
+        if (end > 0) collectOpen(1, 0, leaves, end, day, mask);
+        return mask;
+    }
+
+    // Sets the rows of positions in [lo, hi) of the subtree at node whose close day is >= day,
+    // restricted to positions below end.
+    private void collectOpen(int node, int lo, int hi, int end, int day, long[] mask) {
+        if (lo >= end || maxClose[node] < day) return;
+        if (hi - lo == 1) {
+            int r = openRows[lo];
+            mask[r >>> 6] |= 1L << r;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        collectOpen(2 * node, lo, mid, end, day, mask);
+        collectOpen(2 * node + 1, mid, hi, end, day, mask);
+    }
+
+    private long[] maskRun(int[] sorted, int[] rowOf, int from, int to) {
+        long[] mask = RowMask.none(rows);
+        if (from > to) return mask;
+        int end = firstAfter(sorted, to);
+        for (int i = firstAfter(sorted, from - 1L); i < end; i++) {
+            int r = rowOf[i];
+            mask[r >>> 6] |= 1L << r;
+        }
+        return mask;
+    }
+
+    // Index of the first element strictly greater than day.
+    private static int firstAfter(int[] sorted, long day) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= day) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // Packs (day, row) pairs into longs and sorts them by day, then row.
+    private static long[] sortedByDay(int[] day) {
+        long[] packed = new long[day.length];
+        for (int r = 0; r < day.length; r++) {
+            packed[r] = ((long) day[r] << 32) | r;
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+}
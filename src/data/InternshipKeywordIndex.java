@@ -0,0 +1,358 @@
+package data;
+
+import entity.HandleRegistry;
+import entity.Internship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An inverted index over the title and description of each internship, used for keyword search.
+ * <p>
+ * Every indexed internship is given an internal document number. Numbers are handed out in
+ * increasing order, so each term's posting list is stored as delta-encoded variable-length ints.
+ * Edits that change the title or description re-index the internship under a fresh document
+ * number, and removals only mark the old number as deleted; deleted numbers are skipped when
+ * posting lists are read. Edits that leave both texts unchanged (a visibility or status change,
+ * for example) keep the current document. Once more than half of at least
+ * {@value #COMPACT_MIN_DELETED} document numbers are deleted, the index is compacted: live
+ * documents are renumbered densely and deleted numbers are dropped from every posting list.
+ * Document numbers are mapped to and from internship {@link Internship#getHandle() handles}
+ * through plain int arrays.
+ * </p>
+ */
+public class InternshipKeywordIndex {
+
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int[] docByHandle = new int[0];
+    private int[] handleByDoc = new int[64];
+    // the indexed text of each document, to recognise edits that leave it unchanged
+    private String[] titleByDoc = new String[64];
+    private String[] descriptionByDoc = new String[64];
+    private int docCount;
+    private BitSet deleted = new BitSet();
+    private int deletedCount;
+    private long version;
+
+    /**
+     * Constructs a new, empty InternshipKeywordIndex.
+     */
+    public InternshipKeywordIndex() {
+        // Default constructor
+    }
+
+    /**
+     * Indexes an internship's title and description.
+     * If the internship was already indexed, its previous entry is replaced, unless its title and
+     * description are unchanged, in which case nothing happens.
+     *
+     * @param internship The internship to index.
+     * @throws IllegalArgumentException If the internship is null.
+     */
+    public synchronized void add(Internship internship) {
+        if (internship == null) throw new IllegalArgumentException("Internship cannot be null");
+        int handle = internship.getHandle();
+        String title = internship.getTitle();
+        String description = internship.getDescription();
+        int current = docOf(handle);
+        if (current >= 0 && Objects.equals(titleByDoc[current], title)
+                && Objects.equals(descriptionByDoc[current], description)) {
+            return;
+        }
+        removeDoc(handle);
+
+        int doc = docCount++;
+        if (doc == handleByDoc.length) {
+            handleByDoc = Arrays.copyOf(handleByDoc, doc * 2);
+            titleByDoc = Arrays.copyOf(titleByDoc, doc * 2);
+            descriptionByDoc = Arrays.copyOf(descriptionByDoc, doc * 2);
+        }
+        handleByDoc[doc] = handle;
+        titleByDoc[doc] = title;
+        descriptionByDoc[doc] = description;
+        if (handle >= docByHandle.length) {
+            int old = docByHandle.length;
+            docByHandle = Arrays.copyOf(docByHandle, Math.max(handle + 1, old * 2));
+            Arrays.fill(docByHandle, old, docByHandle.length, -1);
+        }
+        docByHandle[handle] = doc;
+
+        Set<String> terms = new HashSet<>();
+        terms.addAll(tokenize(title));
+        terms.addAll(tokenize(description));
+        for (String term : terms) {
+            postings.computeIfAbsent(term, t -> new Postings()).append(doc);
+        }
+        version++;
+        compactIfSparse();
+    }
+
+    /**
+     * Re-indexes an internship after it was edited.
+     * Does nothing if its title and description are unchanged.
+     *
+     * @param internship The edited internship.
+     */
+    public void update(Internship internship) {
+        add(internship);
+    }
+
+    /**
+     * Removes an internship from the index.
+     *
+     * @param id The unique ID of the internship.
+     * @return {@code true} if the internship was indexed; {@code false} otherwise.
+     */
+    public boolean remove(String id) {
+        return remove(HandleRegistry.INTERNSHIPS.handleOf(id));
+    }
+
+    /**
+     * Removes an internship from the index, even after its ID was released by the repository.
+     *
+     * @param internship The internship.
+     * @return {@code true} if the internship was indexed; {@code false} otherwise.
+     */
+    public boolean remove(Internship internship) {
+        return remove(internship.getHandle());
+    }
+
+    private synchronized boolean remove(int handle) {
+        boolean removed = removeDoc(handle);
+        if (removed) {
+            version++;
+            compactIfSparse();
+        }
+        return removed;
+    }
+
+    /**
+     * Finds the internships whose title or description contains <b>every</b> keyword in the query.
+     *
+     * @param query Free text; split into keywords the same way indexed text is.
+     * @return The IDs of the matching internships. Empty if the query has no keywords.
+     */
+    public synchronized Set<String> search(String query) {
+        BitSet docs = searchDocs(query);
+        Set<String> result = new HashSet<>();
+        for (int d = docs.nextSetBit(0); d >= 0; d = docs.nextSetBit(d + 1)) {
+            result.add(HandleRegistry.INTERNSHIPS.idOf(handleByDoc[d]));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the internal document numbers of internships containing every keyword in the query.
+     * This avoids materializing ID strings; use {@link #contains(BitSet, String)} to test membership.
+     * Document numbers change when the index is compacted, so a result is only valid while
+     * {@link #getVersion()} is unchanged.
+     *
+     * @param query Free text; split into keywords the same way indexed text is.
+     * @return A bit set of matching, non-deleted document numbers.
+     */
+    public synchronized BitSet searchDocs(String query) {
+        BitSet result = new BitSet();
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return result;
+
+        // intersect starting from the rarest term so the working set stays small
+        List<Postings> lists = new ArrayList<>();
+        for (String term : new HashSet<>(terms)) {
+            Postings p = postings.get(term);
+            if (p == null) return result;
+            lists.add(p);
+        }
+        lists.sort((a, b) -> Integer.compare(a.count, b.count));
+
+        int[] docs = lists.get(0).decode();
+        int size = docs.length;
+        for (int k = 1; k < lists.size() && size > 0; k++) {
+            size = intersect(docs, size, lists.get(k).decode());
+        }
+        for (int n = 0; n < size; n++) {
+            result.set(docs[n]);
+        }
+        result.andNot(deleted);
+        return result;
+    }
+
+    /**
+     * Finds the handles of internships containing every keyword in the query.
+     * The result can be tested with {@link BitSet#get(int)} and an {@link Internship#getHandle() internship handle}
+     * without consulting the index again, so it is safe to share between threads once computed.
+     *
+     * @param query Free text; split into keywords the same way indexed text is.
+     * @return A bit set of matching internship handles.
+     */
+    public synchronized BitSet searchHandles(String query) {
+        BitSet docs = searchDocs(query);
+        BitSet handles = new BitSet();
+        for (int d = docs.nextSetBit(0); d >= 0; d = docs.nextSetBit(d + 1)) {
+            handles.set(handleByDoc[d]);
+        }
+        return handles;
+    }
+
+    /**
+     * Checks whether an internship's current document is in a result from {@link #searchDocs(String)}.
+     *
+     * @param docs The search result.
+     * @param id   The unique ID of the internship.
+     * @return {@code true} if the internship is in the result; {@code false} otherwise.
+     */
+    public boolean contains(BitSet docs, String id) {
+        return contains(docs, HandleRegistry.INTERNSHIPS.handleOf(id));
+    }
+
+    /**
+     * Checks whether an internship's current document is in a result from {@link #searchDocs(String)}.
+     *
+     * @param docs   The search result.
+     * @param handle The handle of the internship.
+     * @return {@code true} if the internship is in the result; {@code false} otherwise.
+     */
+    public synchronized boolean contains(BitSet docs, int handle) {
+        int doc = docOf(handle);
+        return doc >= 0 && docs.get(doc);
+    }
+
+    /**
+     * Gets a counter that changes every time the index content changes.
+     * Callers can cache search results and reuse them while the version is unchanged.
+     *
+     * @return The current index version.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Splits text into lower-case alphanumeric keywords.
+     *
+     * @param text The text to tokenize (may be null).
+     * @return The keywords in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null) return out;
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+            if (!token.isEmpty()) out.add(token);
+        }
+        return out;
+    }
+
+    // Marks the current document of an internship as deleted, if any.
+    private boolean removeDoc(int handle) {
+        int doc = docOf(handle);
+        if (doc < 0) return false;
+        docByHandle[handle] = -1;
+        deleted.set(doc);
+        titleByDoc[doc] = null;
+        descriptionByDoc[doc] = null;
+        deletedCount++;
+        return true;
+    }
+
+    // Renumbers the live documents densely once deleted numbers dominate; the version already changed.
+    private void compactIfSparse() {
+        if (deletedCount < COMPACT_MIN_DELETED || deletedCount * 2 <= docCount) return;
+        int[] newDoc = new int[docCount];
+        int live = 0;
+        for (int d = 0; d < docCount; d++) {
+            newDoc[d] = deleted.get(d) ? -1 : live++;
+        }
+        int[] handles = new int[Math.max(64, live)];
+        String[] titles = new String[handles.length];
+        String[] descriptions = new String[handles.length];
+        for (int d = 0; d < docCount; d++) {
+            int n = newDoc[d];
+            if (n < 0) continue;
+            handles[n] = handleByDoc[d];
+            titles[n] = titleByDoc[d];
+            descriptions[n] = descriptionByDoc[d];
+            docByHandle[handleByDoc[d]] = n;
+        }
+        for (Iterator<Map.Entry<String, Postings>> it = postings.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Postings> e = it.next();
+            Postings kept = new Postings();
+            for (int d : e.getValue().decode()) {
+                if (newDoc[d] >= 0) kept.append(newDoc[d]);
+            }
+            if (kept.count == 0) {
+                it.remove();
+            } else {
+                e.setValue(kept);
+            }
+        }
+        handleByDoc = handles;
+        titleByDoc = titles;
+        descriptionByDoc = descriptions;
+        docCount = live;
+        deleted = new BitSet();
+        deletedCount = 0;
+    }
+
+    private int docOf(int handle) {
+        return handle >= 0 && handle < docByHandle.length ? docByHandle[handle] : -1;
+    }
+
+    // Keeps the docs[0..size) that also appear in other; both inputs are sorted ascending.
+    private static int intersect(int[] docs, int size, int[] other) {
+        int out = 0, j = 0;
+        for (int i = 0; i < size && j < other.length; i++) {
+            while (j < other.length && other[j] < docs[i]) j++;
+            if (j < other.length && other[j] == docs[i]) docs[out++] = docs[i];
+        }
+        return out;
+    }
+
+    /**
+     * A posting list of ascending document numbers stored as varint-encoded gaps.
+     */
+    private static final class Postings {
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int count;
+        private int last = -1;
+
+        void append(int doc) {
+            int gap = doc - last;
+            last = doc;
+            count++;
+            if (length + 5 > bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            while ((gap & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+        }
+
+        int[] decode() {
+            int[] docs = new int[count];
+            int pos = 0, doc = -1;
+            for (int n = 0; n < count; n++) {
+                int gap = 0, shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += gap;
+                docs[n] = doc;
+            }
+            return docs;
+        }
+    }
+}
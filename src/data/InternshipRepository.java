@@ -1,20 +1,63 @@
 package data;
 
+import entity.HandleRegistry;
 import entity.Internship;
+import enums.InternshipStatus;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Repository class responsible for managing the storage and retrieval of Internship entities.
  * This class acts as an in-memory database for internship listings, supporting CRUD operations.
+ * <p>
+ * Storage is copy-on-write: every write publishes a new immutable snapshot, so readers
+ * receive the current snapshot directly without copying and it never changes under them.
+ * A columnar copy of the snapshot ({@link InternshipColumns}) is built on demand for scans and
+ * discarded on every write.
+ * </p>
+ * <p>
+ * Lookups by ID go through an array indexed by each internship's {@link Internship#getHandle() handle}.
+ * A copy of the snapshot sorted by ID is also built on demand; with time-ordered IDs
+ * (see {@link entity.SnowflakeIdGenerator}) it serves range scans and cursor pagination in creation order.
+ * </p>
+ * <p>
+ * Updates of an internship with no {@link Internship#isDirty() unpublished changes} are skipped,
+ * leaving the snapshot, its derived views and the version untouched.
+ * </p>
+ * <p>
+ * Optionally, every published change is also handed to a {@link WriteBehindBuffer} keyed by internship ID,
+ * which coalesces it into batched writes to a durable store.
+ * </p>
+ * <p>
+ * Internships awaiting staff approval are also kept in a {@link PendingQueue} ordered by closing date,
+ * updated on every write.
+ * </p>
+ * <p>
+ * Changes that read and then modify stored internships over several steps, such as a
+ * {@link UnitOfWork} or the deadline scheduler, hold {@link #changeLock()} throughout, so one
+ * cannot interleave with (or be rolled back over) the other.
+ * </p>
  */
 public class InternshipRepository {
     
-    private final List<Internship> internships = new ArrayList<>();
+    private volatile List<Internship> internships = List.of();
+    private volatile InternshipColumns columns;
+    private volatile Internship[] byHandle = new Internship[64];
+    private volatile Internship[] idOrder;
+    private volatile long version;
+    private volatile WriteBehindBuffer<String, InternshipSnapshot> writeBehind;
+    private final PendingQueue<Internship> pendingApproval =
+            PendingQueue.byPriority(Internship::getId, Internship::getClosingDate);
+    private final ReentrantLock changeLock = new ReentrantLock();
 
     /**
      * Constructs a new InternshipRepository.
-     * Initializes an empty list for storage.
+     * Initializes an empty snapshot for storage.
      */
     public InternshipRepository() {
         // Default constructor
@@ -26,9 +69,20 @@ public class InternshipRepository {
      * @param internship The internship object to add.
      * @throws IllegalArgumentException If the provided internship is null.
      */
-    public void add(Internship internship) throws IllegalArgumentException {
+    public synchronized void add(Internship internship) throws IllegalArgumentException {
         if (internship == null) throw new IllegalArgumentException("Internship cannot be null");
-        internships.add(internship);
+        HandleRegistry.INTERNSHIPS.rebind(internship.getId(), internship.getHandle());
+        List<Internship> next = new ArrayList<>(internships.size() + 1);
+        next.addAll(internships);
+        next.add(internship);
+        internships = List.copyOf(next);
+        columns = null;
+        idOrder = null;
+        version++;
+        setHandle(internship.getHandle(), internship);
+        syncPending(internship);
+        internship.markClean();
+        mirror(internship);
     }
 
     /**
@@ -37,17 +91,235 @@ public class InternshipRepository {
      * @param id The unique ID of the internship to remove.
      * @return {@code true} if an internship was found and removed; {@code false} otherwise.
      */
-    public boolean remove(String id) {
-        return internships.removeIf(i -> i.getId().equals(id)); 
+    public synchronized boolean remove(String id) {
+        Internship existing = findById(id);
+        if (existing == null) return false;
+        List<Internship> next = new ArrayList<>(internships);
+        next.remove(existing);
+        internships = List.copyOf(next);
+        columns = null;
+        idOrder = null;
+        version++;
+        setHandle(existing.getHandle(), null);
+        pendingApproval.remove(existing.getId());
+        WriteBehindBuffer<String, InternshipSnapshot> wb = writeBehind;
+        if (wb != null) wb.delete(existing.getId());
+        HandleRegistry.INTERNSHIPS.release(existing.getId());
+        return true;
     }
 
     /**
      * Retrieves all internships currently stored in the repository.
+     * The returned list is an immutable snapshot; later writes do not affect it.
      *
-     * @return A new list containing all internships (read-only copy).
+     * @return An unmodifiable list containing all internships.
      */
     public List<Internship> all() {
-        return new ArrayList<>(internships);
+        return internships;
+    }
+
+    /**
+     * Gets a counter that changes on every write to the repository.
+     * Callers can keep results derived from the catalog and reuse them while the version is unchanged.
+     *
+     * @return The current catalog version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the current snapshot in columnar form, building it if a write invalidated it.
+     * Row {@code r} corresponds to element {@code r} of {@link #all()} at the same point in time.
+     *
+     * @return The columnar view of all internships.
+     */
+    public InternshipColumns columns() {
+        InternshipColumns current = columns;
+        if (current == null) {
+            synchronized (this) {
+                current = columns;
+                if (current == null) {
+                    current = new InternshipColumns(internships);
+                    columns = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Retrieves the interval index over the open and close dates of the current snapshot.
+     * It is built together with {@link #columns()} and discarded with it on every write.
+     *
+     * @return The date index, whose row numbers refer to {@link #columns()}.
+     */
+    public InternshipDateIndex dateIndex() {
+        return columns().dates();
+    }
+
+    /**
+     * Retrieves a page of internships in ID order, starting after a cursor.
+     * Pass the ID of the last internship of one page to get the next page.
+     *
+     * @param afterId The cursor ID, or {@code null} to start from the first internship.
+     * @param limit   The maximum number of internships to return.
+     * @return Up to {@code limit} internships whose IDs sort after {@code afterId}.
+     * @throws IllegalArgumentException If the limit is negative.
+     */
+    public List<Internship> findPageAfter(String afterId, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative");
+        Internship[] sorted = idOrder();
+        int from = afterId == null ? 0 : upperBound(sorted, afterId);
+        int to = (int) Math.min(sorted.length, (long) from + limit);
+        return List.of(Arrays.copyOfRange(sorted, from, to));
+    }
+
+    /**
+     * Retrieves the internships whose IDs lie in a half-open range, in ID order.
+     *
+     * @param fromId The lowest ID to include.
+     * @param toId   The ID to stop before.
+     * @return The internships with {@code fromId <= id < toId}.
+     */
+    public List<Internship> findIdRange(String fromId, String toId) {
+        Internship[] sorted = idOrder();
+        int from = lowerBound(sorted, fromId);
+        int to = Math.max(from, lowerBound(sorted, toId));
+        return List.of(Arrays.copyOfRange(sorted, from, to));
+    }
+
+    // Returns the snapshot sorted by ID, building it if a write invalidated it.
+    private Internship[] idOrder() {
+        Internship[] current = idOrder;
+        if (current == null) {
+            synchronized (this) {
+                current = idOrder;
+                if (current == null) {
+                    current = internships.toArray(new Internship[0]);
+                    Arrays.sort(current, Comparator.comparing(Internship::getId));
+                    idOrder = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Index of the first internship whose ID is >= id.
+    private static int lowerBound(Internship[] sorted, String id) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].getId().compareTo(id) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // Index of the first internship whose ID is > id.
+    private static int upperBound(Internship[] sorted, String id) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].getId().compareTo(id) <= 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Publishes changes made directly to several stored internships in one step,
+     * so the columnar and sorted views are rebuilt once rather than once per internship.
+     * Does nothing if none of them has unpublished changes.
+     *
+     * @param changed The internships whose fields were modified in place.
+     * @throws IllegalArgumentException If any of them is not stored in this repository.
+     */
+    public synchronized void updateAll(Collection<Internship> changed) {
+        boolean dirty = false;
+        for (Internship i : changed) {
+            if (findByHandle(i.getHandle()) != i) {
+                throw new IllegalArgumentException("Internship not found: " + i.getId());
+            }
+            dirty |= i.isDirty();
+        }
+        if (!dirty) return;
+        columns = null;
+        idOrder = null;
+        version++;
+        for (Internship i : changed) {
+            syncPending(i);
+            if (i.isDirty()) mirror(i);
+            i.markClean();
+        }
+    }
+
+    /**
+     * Gets the lock held by multi-step changes to stored internships: a {@link UnitOfWork} from
+     * its first tracked internship until it commits or rolls back, and the deadline scheduler
+     * while it applies the events due on a day. The lock is reentrant.
+     *
+     * @return The change lock.
+     */
+    public Lock changeLock() {
+        return changeLock;
+    }
+
+    /**
+     * Publishes internships put back after a failed change, whether or not they look dirty, so the
+     * derived views and the durable store drop any state published before the failure.
+     * Internships no longer stored are skipped.
+     *
+     * @param restored The internships whose fields were restored in place.
+     */
+    public synchronized void republish(Collection<Internship> restored) {
+        columns = null;
+        idOrder = null;
+        version++;
+        for (Internship i : restored) {
+            if (findByHandle(i.getHandle()) != i) continue;
+            syncPending(i);
+            i.markClean();
+            mirror(i);
+        }
+    }
+
+    /**
+     * Retrieves the internships awaiting staff approval, earliest closing date first.
+     *
+     * @return A new list of pending internships.
+     */
+    public List<Internship> findPendingApproval() {
+        return pendingApproval.toList();
+    }
+
+    /**
+     * Counts the internships awaiting staff approval.
+     *
+     * @return The number of pending internships.
+     */
+    public int countPendingApproval() {
+        return pendingApproval.size();
+    }
+
+    /**
+     * Sends every change published from now on to a write-behind buffer in front of a durable store.
+     * Internships already stored are queued once so the store starts complete.
+     *
+     * @param buffer The buffer, or {@code null} to stop mirroring.
+     */
+    public synchronized void setWriteBehind(WriteBehindBuffer<String, InternshipSnapshot> buffer) {
+        this.writeBehind = buffer;
+        if (buffer != null) {
+            for (Internship i : internships) buffer.put(i.getId(), InternshipSnapshot.of(i));
+        }
+    }
+
+    private void mirror(Internship internship) {
+        WriteBehindBuffer<String, InternshipSnapshot> wb = writeBehind;
+        if (wb != null) wb.put(internship.getId(), InternshipSnapshot.of(internship));
+    }
+
+    private void syncPending(Internship internship) {
+        pendingApproval.sync(internship, internship.getStatus() == InternshipStatus.PENDING);
     }
 
     /**
@@ -57,26 +329,52 @@ public class InternshipRepository {
      * @return The {@link Internship} object if found; {@code null} otherwise.
      */
     public Internship findById(String id) {
-        return internships.stream()
-                .filter(i -> i.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return findByHandle(HandleRegistry.INTERNSHIPS.handleOf(id));
+    }
+
+    /**
+     * Finds a specific internship by its handle.
+     *
+     * @param handle The internship's handle.
+     * @return The {@link Internship} object if stored here; {@code null} otherwise.
+     */
+    public Internship findByHandle(int handle) {
+        Internship[] current = byHandle;
+        return handle >= 0 && handle < current.length ? current[handle] : null;
+    }
+
+    // Stores (or clears) the slot for a handle, growing the array if needed.
+    private void setHandle(int handle, Internship internship) {
+        Internship[] current = byHandle;
+        if (handle >= current.length) {
+            current = Arrays.copyOf(current, Math.max(handle + 1, current.length * 2));
+        }
+        current[handle] = internship;
+        byHandle = current;
     }
 
     /**
      * Updates an existing internship in the repository by replacing its fields.
      * Finds the existing record by ID and applies changes from the provided object.
+     * If that leaves the stored internship unchanged, nothing is republished.
      *
      * @param updated The internship object containing updated data (must have a valid ID).
      * @return The updated {@link Internship} object (useful for UI updates).
      * @throws IllegalArgumentException If the internship does not exist in the repository.
      */
-    public Internship update(Internship updated) throws IllegalArgumentException {
+    public synchronized Internship update(Internship updated) throws IllegalArgumentException {
         Internship existing = findById(updated.getId());
         if (existing == null) {
             throw new IllegalArgumentException("Internship not found: " + updated.getId());
         }
         existing.updateFrom(updated);
+        if (!existing.isDirty()) return existing;
+        columns = null;
+        idOrder = null;
+        version++;
+        syncPending(existing);
+        existing.markClean();
+        mirror(existing);
         return existing; 
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package data;
+
+import entity.Internship;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.LocalDate;
+
+/**
+ * An immutable copy of an internship's stored fields, taken when a repository publishes it.
+ * <p>
+ * Write-behind buffers hold snapshots rather than live entities, so a store writes exactly the
+ * state that was published, even if the entity changes again (or is rolled back by a
+ * {@link UnitOfWork}) before the buffer is flushed, and the flush thread never reads an entity
+ * that another thread is modifying.
+ * </p>
+ */
+public final class InternshipSnapshot {
+
+    private final String id;
+    private final String title;
+    private final String description;
+    private final InternshipLevel level;
+    private final String preferredMajor;
+    private final LocalDate openDate;
+    private final LocalDate closeDate;
+    private final String company;
+    private final int slots;
+    private final int filledSlots;
+    private final InternshipStatus status;
+    private final boolean visible;
+
+    private InternshipSnapshot(Internship i) {
+        this.id = i.getId();
+        this.title = i.getTitle();
+        this.description = i.getDescription();
+        this.level = i.getLevel();
+        this.preferredMajor = i.getPreferredMajor();
+        this.openDate = i.getOpenDate();
+        this.closeDate = i.getClosingDate();
+        this.company = i.getCompany();
+        this.slots = i.getSlots();
+        this.filledSlots = i.getFilledSlots();
+        this.status = i.getStatus();
+        this.visible = i.isVisible();
+    }
+
+    /**
+     * Copies the current state of an internship.
+     *
+     * @param internship The internship.
+     * @return The snapshot.
+     */
+    public static InternshipSnapshot of(Internship internship) {
+        return new InternshipSnapshot(internship);
+    }
+
+    /**
+     * Recreates an internship from this snapshot with its original ID.
+     *
+     * @return A new internship instance with no unpublished changes.
+     */
+    public Internship restore() {
+        return Internship.restore(id, title, description, level, preferredMajor, openDate, closeDate,
+                company, slots, filledSlots, status, visible);
+    }
+
+    /**
+     * Gets the internship's ID.
+     * @return The ID.
+     */
+    public String getId() { return id; }
+
+    /**
+     * Gets the job title.
+     * @return The title.
+     */
+    public String getTitle() { return title; }
+
+    /**
+     * Gets the job description.
+     * @return The description.
+     */
+    public String getDescription() { return description; }
+
+    /**
+     * Gets the seniority level.
+     * @return The level.
+     */
+    public InternshipLevel getLevel() { return level; }
+
+    /**
+     * Gets the preferred major.
+     * @return The major.
+     */
+    public String getPreferredMajor() { return preferredMajor; }
+
+    /**
+     * Gets the date applications open.
+     * @return The open date.
+     */
+    public LocalDate getOpenDate() { return openDate; }
+
+    /**
+     * Gets the date applications close.
+     * @return The closing date.
+     */
+    public LocalDate getClosingDate() { return closeDate; }
+
+    /**
+     * Gets the company name.
+     * @return The company.
+     */
+    public String getCompany() { return company; }
+
+    /**
+     * Gets the total number of positions.
+     * @return The slot count.
+     */
+    public int getSlots() { return slots; }
+
+    /**
+     * Gets the number of positions filled.
+     * @return The filled-slot count.
+     */
+    public int getFilledSlots() { return filledSlots; }
+
+    /**
+     * Gets the administrative status.
+     * @return The status.
+     */
+    public InternshipStatus getStatus() { return status; }
+
+    /**
+     * Checks whether the listing is visible to students.
+     * @return true if visible.
+     */
+    public boolean isVisible() { return visible; }
+}
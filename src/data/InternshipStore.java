@@ -0,0 +1,24 @@
+package data;
+
+import entity.Internship;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * Durable storage for internships, keyed by internship ID.
+ * <p>
+ * The in-memory {@link InternshipRepository} stays the working set that queries run against;
+ * a store is loaded into it at startup and kept up to date through a {@link WriteBehindBuffer}
+ * of {@link InternshipSnapshot snapshots} (see {@link InternshipRepository#setWriteBehind(WriteBehindBuffer)}).
+ * </p>
+ */
+public interface InternshipStore extends BatchWriter<String, InternshipSnapshot>, Closeable {
+
+    /**
+     * Reads every stored internship.
+     *
+     * @return The internships, restored with their original IDs.
+     */
+    List<Internship> loadAll();
+}
@@ -0,0 +1,198 @@
+package data;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An append-only file of keyed records, the storage format of {@link LogStorageBackend}.
+ * <p>
+ * Each record is an operation byte (put or delete), the key, and for puts a length-prefixed
+ * payload. A batch of records is appended with a single write followed by a sync, so a batch is
+ * the unit of durability. Opening the file replays it, keeping the latest payload per key; a
+ * torn record at the end (from a crash during a write) is cut off, while a complete record that
+ * cannot be read (an unknown operation or a negative length) fails the open rather than silently
+ * dropping everything after it. When most records are superseded, the file is rewritten with one
+ * record per live key.
+ * </p>
+ * <p>
+ * Thread-safe.
+ * </p>
+ */
+final class LogFile implements AutoCloseable {
+
+    private static final int MAGIC = 0x494D534C; // "IMSL"
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private Map<String, byte[]> loaded;
+
+    private LogFile(Path file, FileChannel channel, Map<String, byte[]> loaded) {
+        this.file = file;
+        this.channel = channel;
+        this.loaded = loaded;
+    }
+
+    /**
+     * Opens (or creates) a log file and replays it.
+     *
+     * @param file The file.
+     * @return The opened log.
+     * @throws IOException If the file cannot be read, is not a log file, or holds a corrupt record.
+     */
+    static LogFile open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Map<String, byte[]> live = new LinkedHashMap<>();
+        long records = 0;
+        long goodBytes = 4;
+        if (Files.exists(file) && Files.size(file) > 0) {
+            byte[] bytes = Files.readAllBytes(file);
+            DataInputStream in = reader(bytes);
+            if (bytes.length < 4 || in.readInt() != MAGIC) throw new IOException("Not a log file: " + file);
+            try {
+                while (in.available() > 0) {
+                    readRecord(in, live);
+                    goodBytes = bytes.length - in.available();
+                    records++;
+                }
+            } catch (EOFException torn) {
+                // a crash cut the last record short; it is dropped below
+            } catch (IOException corrupt) {
+                throw new IOException("Corrupt record at byte " + goodBytes + " of " + file, corrupt);
+            }
+        } else {
+            Files.write(file, ByteBuffer.allocate(4).putInt(MAGIC).array());
+        }
+        if (records >= COMPACT_MIN_RECORDS && records > 2L * live.size()) {
+            rewrite(file, live);
+        } else if (Files.size(file) > goodBytes) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ch.truncate(goodBytes);
+            }
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new LogFile(file, channel, live);
+    }
+
+    /**
+     * Returns the latest payload of every live key as read when the file was opened.
+     * The map is handed over once; later calls return an empty map.
+     *
+     * @return The live records, in the order of each key's latest write.
+     */
+    synchronized Map<String, byte[]> takeLoaded() {
+        Map<String, byte[]> out = loaded;
+        loaded = new LinkedHashMap<>();
+        return out;
+    }
+
+    /**
+     * Appends a batch of records with one write and syncs it to disk.
+     *
+     * @param batch The payload per key; {@code null} deletes the key.
+     * @throws UncheckedIOException If the write fails.
+     */
+    synchronized void append(Map<String, byte[]> batch) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Map.Entry<String, byte[]> e : batch.entrySet()) {
+                writeRecord(out, e.getKey(), e.getValue());
+            }
+            out.flush();
+            ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to " + file, e);
+        }
+    }
+
+    /**
+     * Drops every record, leaving an empty log, and syncs it to disk.
+     *
+     * @throws UncheckedIOException If the file cannot be truncated.
+     */
+    synchronized void clear() {
+        try {
+            channel.truncate(4);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static void writeRecord(DataOutputStream out, String key, byte[] payload) throws IOException {
+        out.writeByte(payload == null ? DELETE : PUT);
+        out.writeUTF(key);
+        if (payload != null) {
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+    }
+
+    // Writes a new file holding one record per live key and swaps it in.
+    private static void rewrite(Path file, Map<String, byte[]> live) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".compact");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            for (Map.Entry<String, byte[]> e : live.entrySet()) {
+                writeRecord(out, e.getKey(), e.getValue());
+            }
+        }
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void readRecord(DataInputStream in, Map<String, byte[]> live) throws IOException {
+        int op = in.readByte();
+        String key = in.readUTF();
+        if (op == PUT) {
+            int len = in.readInt();
+            if (len < 0) throw new IOException("Negative record length " + len);
+            if (len > in.available()) throw new EOFException("Torn record");
+            byte[] payload = new byte[len];
+            in.readFully(payload);
+            live.remove(key);
+            live.put(key, payload);
+        } else if (op == DELETE) {
+            live.remove(key);
+        } else {
+            throw new IOException("Unknown record type " + op);
+        }
+    }
+
+    /**
+     * Opens a payload for reading.
+     *
+     * @param payload The payload bytes.
+     * @return A data input over them.
+     */
+    static DataInputStream reader(byte[] payload) {
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+}
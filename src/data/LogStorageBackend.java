@@ -0,0 +1,351 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link StorageBackend} that keeps each store in an append-only {@link LogFile}
+ * ({@code "log"}): {@code internships.log} and {@code applications.log} in the data directory.
+ * <p>
+ * Every batch from the {@link WriteBehindBuffer} becomes one sequential write and one sync, and
+ * loading replays the file once. Entities are encoded field by field; applications refer to
+ * their student and internship by ID and are re-linked on load.
+ * </p>
+ * <p>
+ * Committed units of work go to {@code transactions.log}, one record per transaction keyed by its
+ * ID; an abort deletes that key. Opening the transaction log compares each committed change with
+ * the stores: a key still holding the transaction's before state gets its after state appended,
+ * and any other key is left alone, because a later write already reached it. The log is then
+ * cleared.
+ * </p>
+ */
+public final class LogStorageBackend implements StorageBackend {
+
+    private static final String INTERNSHIPS_FILE = "internships.log";
+    private static final String APPLICATIONS_FILE = "applications.log";
+    private static final String TRANSACTIONS_FILE = "transactions.log";
+
+    /**
+     * Constructs the backend. Called by {@link java.util.ServiceLoader}.
+     */
+    public LogStorageBackend() {
+        // Default constructor
+    }
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public TransactionLog openTransactionLog(Path directory) throws IOException {
+        LogFile log = LogFile.open(directory.resolve(TRANSACTIONS_FILE));
+        try {
+            Collection<byte[]> committed = log.takeLoaded().values();
+            if (!committed.isEmpty()) complete(directory, committed);
+            log.clear();
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        return new Transactions(log);
+    }
+
+    @Override
+    public InternshipStore openInternshipStore(Path directory) throws IOException {
+        return new Internships(LogFile.open(directory.resolve(INTERNSHIPS_FILE)));
+    }
+
+    @Override
+    public ApplicationStore openApplicationStore(Path directory) throws IOException {
+        return new Applications(LogFile.open(directory.resolve(APPLICATIONS_FILE)));
+    }
+
+    // Writes the changes of committed transactions that did not reach the stores, in commit order.
+    private static void complete(Path directory, Collection<byte[]> committed) throws IOException {
+        try (LogFile internships = LogFile.open(directory.resolve(INTERNSHIPS_FILE));
+             LogFile applications = LogFile.open(directory.resolve(APPLICATIONS_FILE))) {
+            Map<String, byte[]> internshipState = internships.takeLoaded();
+            Map<String, byte[]> applicationState = applications.takeLoaded();
+            Map<String, byte[]> internshipRedo = new LinkedHashMap<>();
+            Map<String, byte[]> applicationRedo = new LinkedHashMap<>();
+            for (byte[] record : committed) {
+                DataInputStream in = LogFile.reader(record);
+                redo(in, internshipState, internshipRedo);
+                redo(in, applicationState, applicationRedo);
+            }
+            if (!internshipRedo.isEmpty()) internships.append(internshipRedo);
+            if (!applicationRedo.isEmpty()) applications.append(applicationRedo);
+        }
+    }
+
+    // Applies each change of one transaction to the keys still holding its before state.
+    private static void redo(DataInputStream in, Map<String, byte[]> state, Map<String, byte[]> redo) throws IOException {
+        int count = in.readInt();
+        for (int n = 0; n < count; n++) {
+            String key = in.readUTF();
+            byte[] before = readBytes(in);
+            byte[] after = readBytes(in);
+            if (!Arrays.equals(state.get(key), before)) continue;
+            state.put(key, after);
+            redo.put(key, after);
+        }
+    }
+
+    // ========== STORES ==========
+
+    private static final class Transactions implements TransactionLog {
+        private final LogFile log;
+        private long lastId;
+
+        Transactions(LogFile log) {
+            this.log = log;
+        }
+
+        @Override
+        public synchronized long append(List<Change<InternshipSnapshot>> internships,
+                                        List<Change<ApplicationSnapshot>> applications) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(internships.size());
+                for (Change<InternshipSnapshot> c : internships) {
+                    out.writeUTF(c.getKey());
+                    writeBytes(out, c.getBefore() == null ? null : encode(c.getBefore()));
+                    writeBytes(out, c.getAfter() == null ? null : encode(c.getAfter()));
+                }
+                out.writeInt(applications.size());
+                for (Change<ApplicationSnapshot> c : applications) {
+                    out.writeUTF(c.getKey());
+                    writeBytes(out, c.getBefore() == null ? null : encode(c.getBefore()));
+                    writeBytes(out, c.getAfter() == null ? null : encode(c.getAfter()));
+                }
+                out.flush();
+                long id = lastId + 1;
+                Map<String, byte[]> record = new LinkedHashMap<>();
+                record.put(Long.toString(id), bytes.toByteArray());
+                log.append(record);
+                lastId = id;
+                return id;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void abort(long transactionId) {
+            Map<String, byte[]> record = new LinkedHashMap<>();
+            record.put(Long.toString(transactionId), null);
+            log.append(record);
+        }
+
+        @Override
+        public void checkpoint() {
+            log.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            log.close();
+        }
+    }
+
+    private static final class Internships implements InternshipStore {
+        private final LogFile log;
+
+        Internships(LogFile log) {
+            this.log = log;
+        }
+
+        @Override
+        public void writeBatch(Map<String, InternshipSnapshot> batch) {
+            Map<String, byte[]> records = new LinkedHashMap<>();
+            for (Map.Entry<String, InternshipSnapshot> e : batch.entrySet()) {
+                records.put(e.getKey(), e.getValue() == null ? null : encode(e.getValue()));
+            }
+            log.append(records);
+        }
+
+        @Override
+        public List<Internship> loadAll() {
+            List<Internship> out = new ArrayList<>();
+            for (byte[] payload : log.takeLoaded().values()) {
+                out.add(decodeInternship(payload));
+            }
+            return out;
+        }
+
+        @Override
+        public void close() throws IOException {
+            log.close();
+        }
+    }
+
+    private static final class Applications implements ApplicationStore {
+        private final LogFile log;
+
+        Applications(LogFile log) {
+            this.log = log;
+        }
+
+        @Override
+        public void writeBatch(Map<String, ApplicationSnapshot> batch) {
+            Map<String, byte[]> records = new LinkedHashMap<>();
+            for (Map.Entry<String, ApplicationSnapshot> e : batch.entrySet()) {
+                records.put(e.getKey(), e.getValue() == null ? null : encode(e.getValue()));
+            }
+            log.append(records);
+        }
+
+        @Override
+        public List<Application> loadAll(Function<String, Student> students,
+                                         Function<String, Internship> internships) {
+            List<Application> out = new ArrayList<>();
+            for (Map.Entry<String, byte[]> e : log.takeLoaded().entrySet()) {
+                Application app = decodeApplication(e.getKey(), e.getValue()).restore(students, internships);
+                if (app != null) out.add(app);
+            }
+            return out;
+        }
+
+        @Override
+        public void close() throws IOException {
+            log.close();
+        }
+    }
+
+    // ========== CODEC ==========
+
+    static byte[] encode(InternshipSnapshot i) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(i.getId());
+            writeString(out, i.getTitle());
+            writeString(out, i.getDescription());
+            writeString(out, i.getLevel() == null ? null : i.getLevel().name());
+            writeString(out, i.getPreferredMajor());
+            writeDate(out, i.getOpenDate());
+            writeDate(out, i.getClosingDate());
+            writeString(out, i.getCompany());
+            out.writeInt(i.getSlots());
+            out.writeInt(i.getFilledSlots());
+            writeString(out, i.getStatus() == null ? null : i.getStatus().name());
+            out.writeBoolean(i.isVisible());
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Internship decodeInternship(byte[] payload) {
+        try {
+            DataInputStream in = LogFile.reader(payload);
+            String id = in.readUTF();
+            String title = readString(in);
+            String description = readString(in);
+            String level = readString(in);
+            String major = readString(in);
+            LocalDate open = readDate(in);
+            LocalDate close = readDate(in);
+            String company = readString(in);
+            int slots = in.readInt();
+            int filled = in.readInt();
+            String status = readString(in);
+            boolean visible = in.readBoolean();
+            return Internship.restore(id, title, description,
+                    level == null ? null : InternshipLevel.valueOf(level),
+                    major, open, close, company, slots, filled,
+                    status == null ? null : InternshipStatus.valueOf(status), visible);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt internship record", e);
+        }
+    }
+
+    static byte[] encode(ApplicationSnapshot a) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(a.getStudentId());
+            out.writeUTF(a.getInternshipId());
+            writeDate(out, a.getApplicationDate());
+            writeString(out, a.getStatus() == null ? null : a.getStatus().name());
+            out.writeBoolean(a.isWithdrawalRequested());
+            out.writeBoolean(a.isWithdrawn());
+            out.writeBoolean(a.isAccepted());
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ApplicationSnapshot decodeApplication(String applicationId, byte[] payload) {
+        try {
+            DataInputStream in = LogFile.reader(payload);
+            String studentId = in.readUTF();
+            String internshipId = in.readUTF();
+            LocalDate date = readDate(in);
+            String status = readString(in);
+            boolean withdrawalRequested = in.readBoolean();
+            boolean withdrawn = in.readBoolean();
+            boolean accepted = in.readBoolean();
+            return new ApplicationSnapshot(applicationId, studentId, internshipId, date,
+                    status == null ? null : ApplicationStatus.valueOf(status),
+                    withdrawalRequested, withdrawn, accepted);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt application record", e);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] b) throws IOException {
+        out.writeInt(b == null ? -1 : b.length);
+        if (b != null) out.write(b);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return b;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) out.writeUTF(s);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeLong(date == null ? Long.MIN_VALUE : date.toEpochDay());
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        long day = in.readLong();
+        return day == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(day);
+    }
+}
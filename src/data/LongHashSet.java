@@ -0,0 +1,106 @@
+package data;
+
+/**
+ * A set of {@code long} values using open addressing with linear probing, without boxing.
+ * <p>
+ * Zero is stored out of band so it can mark free slots. Removal shifts later entries of the
+ * probe run back instead of leaving tombstones, so lookups stay short after many removals.
+ * The table doubles when it is more than half full.
+ * </p>
+ * <p>
+ * Not thread-safe; callers synchronize.
+ * </p>
+ */
+final class LongHashSet {
+
+    private long[] table = new long[16];
+    private int size;
+    private boolean hasZero;
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value.
+     * @return {@code true} if the value was not already present.
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            return true;
+        }
+        int mask = table.length - 1;
+        int i = slot(value, mask);
+        while (table[i] != 0) {
+            if (table[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        if (++size * 2 > table.length) grow();
+        return true;
+    }
+
+    /**
+     * Checks whether a value is present.
+     *
+     * @param value The value.
+     * @return {@code true} if present.
+     */
+    boolean contains(long value) {
+        if (value == 0) return hasZero;
+        int mask = table.length - 1;
+        for (int i = slot(value, mask); table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == value) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value The value.
+     * @return {@code true} if the value was present.
+     */
+    boolean remove(long value) {
+        if (value == 0) {
+            boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+        int mask = table.length - 1;
+        int i = slot(value, mask);
+        while (table[i] != value) {
+            if (table[i] == 0) return false;
+            i = (i + 1) & mask;
+        }
+        // shift back later entries whose home slot is not between the hole and their position
+        int hole = i;
+        for (int j = (hole + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int home = slot(table[j], mask);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                table[hole] = table[j];
+                hole = j;
+            }
+        }
+        table[hole] = 0;
+        size--;
+        return true;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long v : old) {
+            if (v == 0) continue;
+            int i = slot(v, mask);
+            while (table[i] != 0) i = (i + 1) & mask;
+            table[i] = v;
+        }
+    }
+
+    private static int slot(long value, int mask) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,102 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link StorageBackend} that keeps stores on the heap only ({@code "memory"}).
+ * Nothing survives a restart; suited to small deployments, demos and testing the other layers.
+ */
+public final class MemoryStorageBackend implements StorageBackend {
+
+    /**
+     * Constructs the backend. Called by {@link java.util.ServiceLoader}.
+     */
+    public MemoryStorageBackend() {
+        // Default constructor
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    @Override
+    public InternshipStore openInternshipStore(Path directory) {
+        return new Internships();
+    }
+
+    @Override
+    public ApplicationStore openApplicationStore(Path directory) {
+        return new Applications();
+    }
+
+    // ========== HELPER TYPES ==========
+
+    private static final class Internships implements InternshipStore {
+        private final Map<String, InternshipSnapshot> byId = new LinkedHashMap<>();
+
+        @Override
+        public synchronized void writeBatch(Map<String, InternshipSnapshot> batch) {
+            apply(byId, batch);
+        }
+
+        @Override
+        public synchronized List<Internship> loadAll() {
+            List<Internship> out = new ArrayList<>(byId.size());
+            for (InternshipSnapshot s : byId.values()) out.add(s.restore());
+            return out;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Applications implements ApplicationStore {
+        private final Map<String, ApplicationSnapshot> byId = new LinkedHashMap<>();
+
+        @Override
+        public synchronized void writeBatch(Map<String, ApplicationSnapshot> batch) {
+            apply(byId, batch);
+        }
+
+        @Override
+        public synchronized List<Application> loadAll(Function<String, Student> students,
+                                                      Function<String, Internship> internships) {
+            List<Application> out = new ArrayList<>(byId.size());
+            for (ApplicationSnapshot s : byId.values()) {
+                Application app = s.restore(students, internships);
+                if (app != null) out.add(app);
+            }
+            return out;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static <V> void apply(Map<String, V> target, Map<String, V> batch) {
+        for (Map.Entry<String, V> e : batch.entrySet()) {
+            if (e.getValue() == null) {
+                target.remove(e.getKey());
+            } else {
+                target.put(e.getKey(), e.getValue());
+            }
+        }
+    }
+}
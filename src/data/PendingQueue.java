@@ -0,0 +1,189 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * A queue of items awaiting a decision, kept up to date by the repository that owns them.
+ * <p>
+ * Items are identified by an ID, so re-offering an item that is already queued does not
+ * duplicate it, and removing one by ID is cheap. A FIFO queue keeps items in the order they
+ * were first offered, with O(1) offer, removal and access to the head. A priority queue orders
+ * items by a key taken when the item is offered (earliest key first, FIFO among equal keys), at
+ * O(log n) per change; re-offering an item whose key has changed moves it.
+ * </p>
+ *
+ * @param <T> The type of queued item.
+ */
+public final class PendingQueue<T> {
+
+    private final Function<? super T, String> idOf;
+    private final Function<? super T, ? extends Comparable<?>> priorityOf;
+    private final Map<String, Node<T>> nodes;
+    private final NavigableSet<Node<T>> order;
+    private long sequence;
+
+    private PendingQueue(Function<? super T, String> idOf, Function<? super T, ? extends Comparable<?>> priorityOf) {
+        this.idOf = idOf;
+        this.priorityOf = priorityOf;
+        if (priorityOf == null) {
+            this.nodes = new LinkedHashMap<>();
+            this.order = null;
+        } else {
+            this.nodes = new HashMap<>();
+            this.order = new TreeSet<>(PendingQueue::compare);
+        }
+    }
+
+    /**
+     * Creates a queue that hands out items in the order they were first offered.
+     *
+     * @param idOf Extracts the ID of an item.
+     * @param <T>  The type of queued item.
+     * @return The new queue.
+     */
+    public static <T> PendingQueue<T> fifo(Function<? super T, String> idOf) {
+        return new PendingQueue<>(idOf, null);
+    }
+
+    /**
+     * Creates a queue that hands out items with the smallest key first.
+     * Items whose key is {@code null} come after all others.
+     *
+     * @param idOf       Extracts the ID of an item.
+     * @param priorityOf Extracts the ordering key of an item.
+     * @param <T>        The type of queued item.
+     * @param <P>        The type of the ordering key.
+     * @return The new queue.
+     */
+    public static <T, P extends Comparable<? super P>> PendingQueue<T> byPriority(
+            Function<? super T, String> idOf, Function<? super T, P> priorityOf) {
+        return new PendingQueue<>(idOf, priorityOf);
+    }
+
+    /**
+     * Adds an item to the queue, or removes it, depending on whether it is still pending.
+     * Repositories call this on every write of an item.
+     *
+     * @param item    The item.
+     * @param pending Whether the item should be in the queue.
+     */
+    public synchronized void sync(T item, boolean pending) {
+        if (pending) {
+            offer(item);
+        } else {
+            remove(idOf.apply(item));
+        }
+    }
+
+    /**
+     * Adds an item to the queue. An item already queued keeps its place unless its key changed;
+     * the stored instance is replaced either way.
+     *
+     * @param item The item.
+     */
+    public synchronized void offer(T item) {
+        String id = idOf.apply(item);
+        Comparable<?> key = priorityOf == null ? null : priorityOf.apply(item);
+        Node<T> existing = nodes.get(id);
+        if (existing != null) {
+            if (order == null || equalKeys(existing.key, key)) {
+                existing.item = item;
+                return;
+            }
+            order.remove(existing);
+        }
+        Node<T> node = new Node<>(item, key, sequence++);
+        nodes.put(id, node);
+        if (order != null) order.add(node);
+    }
+
+    /**
+     * Removes an item from the queue.
+     *
+     * @param id The ID of the item.
+     * @return {@code true} if the item was queued.
+     */
+    public synchronized boolean remove(String id) {
+        Node<T> node = nodes.remove(id);
+        if (node == null) return false;
+        if (order != null) order.remove(node);
+        return true;
+    }
+
+    /**
+     * Checks whether an item is queued.
+     *
+     * @param id The ID of the item.
+     * @return {@code true} if queued.
+     */
+    public synchronized boolean contains(String id) {
+        return nodes.containsKey(id);
+    }
+
+    /**
+     * Gets the item at the head of the queue without removing it.
+     *
+     * @return The next item, or {@code null} if the queue is empty.
+     */
+    public synchronized T peek() {
+        if (nodes.isEmpty()) return null;
+        return order != null ? order.first().item : nodes.values().iterator().next().item;
+    }
+
+    /**
+     * Gets the number of queued items.
+     * @return The backlog size.
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Lists the queued items in the order they will be handed out.
+     *
+     * @return A new list of the queued items.
+     */
+    public synchronized List<T> toList() {
+        List<T> out = new ArrayList<>(nodes.size());
+        for (Node<T> node : order != null ? order : nodes.values()) {
+            out.add(node.item);
+        }
+        return out;
+    }
+
+    // ========== HELPER TYPES ==========
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Node<?> a, Node<?> b) {
+        if (a.key != b.key) {
+            if (a.key == null) return 1;
+            if (b.key == null) return -1;
+            int c = ((Comparable) a.key).compareTo(b.key);
+            if (c != 0) return c;
+        }
+        return Long.compare(a.seq, b.seq);
+    }
+
+    private static boolean equalKeys(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static final class Node<T> {
+        T item;
+        final Comparable<?> key;
+        final long seq;
+
+        Node(T item, Comparable<?> key, long seq) {
+            this.item = item;
+            this.key = key;
+            this.seq = seq;
+        }
+    }
+}
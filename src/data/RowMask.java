@@ -0,0 +1,82 @@
+package data;
+
+/**
+ * Static helpers for row bitmasks over {@link InternshipColumns}.
+ * A mask is a {@code long[]} in which bit {@code r % 64} of word {@code r / 64} is set when row
+ * {@code r} matches. Bits past the last row are always clear.
+ */
+public final class RowMask {
+
+    private RowMask() {
+    }
+
+    /**
+     * Creates a mask with no rows set.
+     *
+     * @param rows The number of rows.
+     * @return An empty mask.
+     */
+    public static long[] none(int rows) {
+        return new long[(rows + 63) >>> 6];
+    }
+
+    /**
+     * Creates a mask with every row set.
+     *
+     * @param rows The number of rows.
+     * @return A full mask.
+     */
+    public static long[] all(int rows) {
+        long[] mask = none(rows);
+        java.util.Arrays.fill(mask, -1L);
+        int tail = rows & 63;
+        if (tail != 0) mask[mask.length - 1] = (1L << tail) - 1;
+        return mask;
+    }
+
+    /**
+     * Intersects {@code other} into {@code target} in place.
+     *
+     * @param target The mask to narrow.
+     * @param other  The mask to intersect with; must cover the same rows.
+     * @return {@code true} if any row is still set in {@code target}.
+     */
+    public static boolean and(long[] target, long[] other) {
+        long any = 0;
+        for (int w = 0; w < target.length; w++) {
+            target[w] &= other[w];
+            any |= target[w];
+        }
+        return any != 0;
+    }
+
+    /**
+     * Counts the rows set in a mask.
+     *
+     * @param mask The mask.
+     * @return The number of set rows.
+     */
+    public static int cardinality(long[] mask) {
+        int n = 0;
+        for (long word : mask) n += Long.bitCount(word);
+        return n;
+    }
+
+    /**
+     * Finds the next set row at or after {@code from}.
+     *
+     * @param mask The mask.
+     * @param from The first row to consider.
+     * @return The row index, or -1 if there is none.
+     */
+    public static int nextSet(long[] mask, int from) {
+        int w = from >>> 6;
+        if (w >= mask.length) return -1;
+        long word = mask[w] & (-1L << (from & 63));
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == mask.length) return -1;
+            word = mask[w];
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * A kind of durable storage for internships and applications, discovered with {@link ServiceLoader}.
+ * <p>
+ * Implementations are declared in {@code module-info.java} (and in
+ * {@code META-INF/services/data.StorageBackend} for class-path runs) and picked by name at startup,
+ * so a deployment chooses its backend without code changes. The built-in backends are
+ * {@code "memory"} ({@link MemoryStorageBackend}) and {@code "log"} ({@link LogStorageBackend}).
+ * </p>
+ * <p>
+ * A backend provides persistence only, through the {@link InternshipStore} and
+ * {@link ApplicationStore} interfaces; it does not replace {@link InternshipRepository} or
+ * {@link ApplicationRepository}. Every query path relies on state those repositories derive in
+ * memory: handle-indexed lookups, the student and internship buckets, the columnar snapshot that
+ * filters and reports scan, the change lock shared with {@link UnitOfWork}, and the version the
+ * keyword index and result caches compare against. A backend that served queries itself would have
+ * to rebuild all of that, or make every one of those paths issue queries. So the repositories stay
+ * the single working set, loaded from the chosen store at startup and written back through a
+ * {@link WriteBehindBuffer}, and backends differ only in how and where that data is kept.
+ * </p>
+ */
+public interface StorageBackend {
+
+    /**
+     * Gets the name this backend is selected by.
+     * @return The backend name.
+     */
+    String name();
+
+    /**
+     * Tells whether a store keeps its contents after it is closed and opened again.
+     * Non-durable stores read back only what was written since they were opened.
+     *
+     * @return {@code true} for backends that write to disk.
+     */
+    default boolean isDurable() {
+        return true;
+    }
+
+    /**
+     * Opens the log of committed transactions kept in a directory, creating it if needed.
+     * Open it before the stores: opening it completes, in the stores, every transaction the
+     * previous run committed but had not yet written to them.
+     *
+     * @param directory The data directory.
+     * @return The opened log, or {@code null} if this backend keeps none.
+     * @throws IOException If the log or the stores it completes cannot be opened.
+     */
+    default TransactionLog openTransactionLog(Path directory) throws IOException {
+        return null;
+    }
+
+    /**
+     * Opens the internship store kept in a directory, creating it if needed.
+     *
+     * @param directory The data directory.
+     * @return The opened store.
+     * @throws IOException If the store cannot be opened.
+     */
+    InternshipStore openInternshipStore(Path directory) throws IOException;
+
+    /**
+     * Opens the application store kept in a directory, creating it if needed.
+     *
+     * @param directory The data directory.
+     * @return The opened store.
+     * @throws IOException If the store cannot be opened.
+     */
+    ApplicationStore openApplicationStore(Path directory) throws IOException;
+
+    /**
+     * Lists the backends available on the module or class path.
+     *
+     * @return The discovered backends.
+     */
+    static List<StorageBackend> available() {
+        List<StorageBackend> out = new ArrayList<>();
+        for (StorageBackend backend : ServiceLoader.load(StorageBackend.class)) {
+            out.add(backend);
+        }
+        return out;
+    }
+
+    /**
+     * Finds a backend by name.
+     *
+     * @param name The backend name, ignoring case.
+     * @return The backend.
+     * @throws IllegalArgumentException If no backend has that name.
+     */
+    static StorageBackend named(String name) {
+        List<String> names = new ArrayList<>();
+        for (StorageBackend backend : available()) {
+            if (backend.name().equalsIgnoreCase(name)) return backend;
+            names.add(backend.name());
+        }
+        throw new IllegalArgumentException("Unknown storage backend: " + name + " (available: " + names + ")");
+    }
+}
@@ -0,0 +1,93 @@
+package data;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * A durable record of committed {@link UnitOfWork units of work}, kept by a storage backend next
+ * to its stores (see {@link StorageBackend#openTransactionLog(java.nio.file.Path)}).
+ * <p>
+ * Stores are written behind and key by key, so a crash can leave a transaction's changes in one
+ * store but not in another. A unit of work therefore appends one record per transaction, once its
+ * entities have been validated and before anything is published, holding the state of every
+ * changed internship and application before and after the transaction. If publishing then fails,
+ * an abort record cancels it. When the backend opens the log again, it completes each committed
+ * transaction in its stores, changing only keys the stores still hold in the state the
+ * transaction started from, so a later write that did reach a store is never rolled back.
+ * </p>
+ * <p>
+ * Users are saved by their repository during the commit and are not part of the record.
+ * </p>
+ */
+public interface TransactionLog extends Closeable {
+
+    /**
+     * Durably records a transaction before its changes are published.
+     *
+     * @param internships  The changed internships.
+     * @param applications The changed applications.
+     * @return The transaction's ID, increasing across transactions.
+     * @throws RuntimeException If the record could not be written; the transaction is then rolled back.
+     */
+    long append(List<Change<InternshipSnapshot>> internships, List<Change<ApplicationSnapshot>> applications);
+
+    /**
+     * Records that a transaction whose publish failed was rolled back, so it is never completed.
+     *
+     * @param transactionId The ID returned by {@link #append(List, List)}.
+     * @throws RuntimeException If the record could not be written.
+     */
+    void abort(long transactionId);
+
+    /**
+     * Drops every record. Call only when no unit of work is running and the stores hold every
+     * change published so far, for example after the write-behind buffers were closed.
+     *
+     * @throws RuntimeException If the log could not be cleared.
+     */
+    void checkpoint();
+
+    // ========== HELPER TYPES ==========
+
+    /**
+     * The state of one entity before and after a transaction.
+     *
+     * @param <S> The snapshot type.
+     */
+    final class Change<S> {
+        private final String key;
+        private final S before;
+        private final S after;
+
+        /**
+         * Creates a change.
+         *
+         * @param key    The entity's ID.
+         * @param before The state when the entity was tracked.
+         * @param after  The state being committed.
+         */
+        public Change(String key, S before, S after) {
+            this.key = key;
+            this.before = before;
+            this.after = after;
+        }
+
+        /**
+         * Gets the entity's ID.
+         * @return The key.
+         */
+        public String getKey() { return key; }
+
+        /**
+         * Gets the state when the entity was tracked.
+         * @return The snapshot before the transaction.
+         */
+        public S getBefore() { return before; }
+
+        /**
+         * Gets the state being committed.
+         * @return The snapshot after the transaction.
+         */
+        public S getAfter() { return after; }
+    }
+}
@@ -0,0 +1,246 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+import entity.User;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Groups the changes of an operation that touches several entities so they are published together.
+ * <p>
+ * Entities are registered with {@code track(...)} <em>before</em> they are modified: this records
+ * their current state and marks them as part of the transaction. {@link #commit()} then checks that
+ * every tracked application and internship is stored, then writes one record to the
+ * {@link TransactionLog} (if one was given), and publishes each repository's changes in a single batched
+ * call. If anything fails, or the unit is closed without committing, every tracked entity is put
+ * back into the state it had when it was tracked; a transaction already logged gets an abort record.
+ * </p>
+ * <pre>{@code
+ * try (UnitOfWork uow = new UnitOfWork(applications, internships, users)) {
+ *     uow.track(application);
+ *     application.markSuccessful();
+ *     uow.commit();
+ * }
+ * }</pre>
+ * <p>
+ * Tracking the first internship takes the internship repository's
+ * {@link InternshipRepository#changeLock() change lock}, which is held until the unit commits or
+ * rolls back, so background changes such as the deadline scheduler's wait for the unit to finish
+ * instead of being overwritten by a rollback. Restored entities keep the dirty mask and version
+ * they had when tracked.
+ * </p>
+ * <p>
+ * A unit of work is used by one thread and for one transaction, and must be closed.
+ * </p>
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final long NOT_LOGGED = -1;
+
+    private final ApplicationRepository applicationRepository;
+    private final InternshipRepository internshipRepository;
+    private final UserWriteRepository userRepository;
+    private final TransactionLog log;
+    private final Map<Application, Runnable> applications = new LinkedHashMap<>();
+    private final Map<Internship, Runnable> internships = new LinkedHashMap<>();
+    private final Map<User, Runnable> users = new LinkedHashMap<>();
+    // states when tracked, kept only for the transaction log
+    private final Map<Application, ApplicationSnapshot> applicationsBefore = new LinkedHashMap<>();
+    private final Map<Internship, InternshipSnapshot> internshipsBefore = new LinkedHashMap<>();
+    private Lock heldLock;
+    private boolean finished;
+
+    /**
+     * Begins a unit of work over the given repositories, without a transaction log.
+     *
+     * @param applicationRepository The application repository, or {@code null} if unused.
+     * @param internshipRepository  The internship repository, or {@code null} if unused.
+     * @param userRepository        The user repository, or {@code null} if unused.
+     */
+    public UnitOfWork(ApplicationRepository applicationRepository, InternshipRepository internshipRepository,
+                      UserWriteRepository userRepository) {
+        this(applicationRepository, internshipRepository, userRepository, null);
+    }
+
+    /**
+     * Begins a unit of work over the given repositories.
+     *
+     * @param applicationRepository The application repository, or {@code null} if unused.
+     * @param internshipRepository  The internship repository, or {@code null} if unused.
+     * @param userRepository        The user repository, or {@code null} if unused.
+     * @param transactionLog        The log receiving a record if the unit commits, or {@code null} for none.
+     */
+    public UnitOfWork(ApplicationRepository applicationRepository, InternshipRepository internshipRepository,
+                      UserWriteRepository userRepository, TransactionLog transactionLog) {
+        this.applicationRepository = applicationRepository;
+        this.internshipRepository = internshipRepository;
+        this.userRepository = userRepository;
+        this.log = transactionLog;
+    }
+
+    /**
+     * Registers an application that is about to be modified.
+     * Tracking the same application again has no effect.
+     *
+     * @param application The application.
+     */
+    public void track(Application application) {
+        ensureOpen();
+        if (applications.containsKey(application)) return;
+        if (log != null) applicationsBefore.put(application, ApplicationSnapshot.of(application));
+        applications.put(application, application.checkpoint());
+    }
+
+    /**
+     * Registers an internship that is about to be modified.
+     * Tracking the same internship again has no effect.
+     *
+     * @param internship The internship.
+     */
+    public void track(Internship internship) {
+        ensureOpen();
+        if (heldLock == null && internshipRepository != null) {
+            heldLock = internshipRepository.changeLock();
+            heldLock.lock();
+        }
+        if (internships.containsKey(internship)) return;
+        if (log != null) internshipsBefore.put(internship, InternshipSnapshot.of(internship));
+        internships.put(internship, internship.checkpoint());
+    }
+
+    /**
+     * Registers a student that is about to be modified.
+     * Tracking the same student again has no effect.
+     *
+     * @param student The student.
+     */
+    public void track(Student student) {
+        ensureOpen();
+        users.computeIfAbsent(student, u -> student.checkpoint());
+    }
+
+    /**
+     * Publishes every tracked entity, after recording the transaction in the log (if any).
+     * On failure the tracked entities are restored and the exception is rethrown.
+     *
+     * @throws IllegalStateException    If the unit was already committed or rolled back.
+     * @throws IllegalArgumentException If a tracked application or internship is not stored.
+     */
+    public void commit() {
+        ensureOpen();
+        List<Application> changedApplications = new ArrayList<>(applications.keySet());
+        List<Internship> changedInternships = new ArrayList<>(internships.keySet());
+        List<User> changedUsers = new ArrayList<>(users.keySet());
+        long transactionId = NOT_LOGGED;
+        boolean published = false;
+        try {
+            for (Application a : changedApplications) {
+                if (applicationRepository == null || applicationRepository.findById(a.getApplicationID()) != a) {
+                    throw new IllegalArgumentException("Application not found : " + a.getApplicationID());
+                }
+            }
+            for (Internship i : changedInternships) {
+                if (internshipRepository == null || internshipRepository.findByHandle(i.getHandle()) != i) {
+                    throw new IllegalArgumentException("Internship not found: " + i.getId());
+                }
+            }
+            if (log != null) transactionId = log.append(internshipChanges(), applicationChanges());
+            published = true;
+            if (!changedApplications.isEmpty()) applicationRepository.updateAll(changedApplications);
+            if (!changedInternships.isEmpty()) internshipRepository.updateAll(changedInternships);
+            if (userRepository != null) {
+                for (User u : changedUsers) userRepository.save(u);
+            }
+            finish();
+        } catch (RuntimeException e) {
+            restore();
+            if (published) republish(changedApplications, changedInternships);
+            if (transactionId != NOT_LOGGED) {
+                try {
+                    log.abort(transactionId);
+                } catch (RuntimeException abortFailure) {
+                    e.addSuppressed(abortFailure);
+                }
+            }
+            finish();
+            throw e;
+        }
+    }
+
+    private List<TransactionLog.Change<InternshipSnapshot>> internshipChanges() {
+        List<TransactionLog.Change<InternshipSnapshot>> out = new ArrayList<>(internshipsBefore.size());
+        for (Map.Entry<Internship, InternshipSnapshot> e : internshipsBefore.entrySet()) {
+            out.add(new TransactionLog.Change<>(e.getKey().getId(), e.getValue(), InternshipSnapshot.of(e.getKey())));
+        }
+        return out;
+    }
+
+    private List<TransactionLog.Change<ApplicationSnapshot>> applicationChanges() {
+        List<TransactionLog.Change<ApplicationSnapshot>> out = new ArrayList<>(applicationsBefore.size());
+        for (Map.Entry<Application, ApplicationSnapshot> e : applicationsBefore.entrySet()) {
+            out.add(new TransactionLog.Change<>(e.getKey().getApplicationID(), e.getValue(),
+                    ApplicationSnapshot.of(e.getKey())));
+        }
+        return out;
+    }
+
+    /**
+     * Restores every tracked entity to the state it had when it was tracked.
+     * Does nothing if the unit was already committed or rolled back.
+     */
+    public void rollback() {
+        if (finished) return;
+        restore();
+        finish();
+    }
+
+    /**
+     * Rolls back the unit unless it was committed.
+     */
+    @Override
+    public void close() {
+        rollback();
+    }
+
+    private void finish() {
+        finished = true;
+        if (heldLock != null) {
+            heldLock.unlock();
+            heldLock = null;
+        }
+    }
+
+    // Undoes changes in reverse order of tracking.
+    private void restore() {
+        undo(users);
+        undo(internships);
+        undo(applications);
+    }
+
+    private static void undo(Map<?, Runnable> tracked) {
+        List<Runnable> actions = new ArrayList<>(tracked.values());
+        for (int i = actions.size() - 1; i >= 0; i--) {
+            actions.get(i).run();
+        }
+    }
+
+    // Brings derived repository state back in line with the restored entities after a partial publish.
+    private void republish(List<Application> changedApplications, List<Internship> changedInternships) {
+        try {
+            if (!changedApplications.isEmpty()) applicationRepository.republish(changedApplications);
+            if (!changedInternships.isEmpty()) internshipRepository.republish(changedInternships);
+        } catch (RuntimeException ignored) {
+            // the entities were validated above; nothing further can be restored
+        }
+    }
+
+    private void ensureOpen() {
+        if (finished) throw new IllegalStateException("Unit of work already finished");
+    }
+}
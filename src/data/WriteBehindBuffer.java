@@ -0,0 +1,423 @@
+package data;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Buffers writes in front of a {@link BatchWriter} and hands them over in batches.
+ * <p>
+ * Writes to the same key made before the next flush coalesce: only the latest value is written,
+ * so an entity that changes on every approval costs one store write per flush rather than one per
+ * change. A daemon thread flushes at least once per {@code maxStaleness}, which bounds how far the
+ * store can lag behind; a flush is also started as soon as {@code maxBatch} distinct keys are
+ * pending. {@link #flush()} writes everything synchronously, and {@link #close()} lets any flush
+ * already running finish before doing a last one on the calling thread.
+ * </p>
+ * <p>
+ * When a batch fails, its keys are written one at a time so that one bad value cannot hold back
+ * the rest. If the first {@value #PROBE_KEYS} keys all fail as well, the store is taken to be down
+ * and the whole batch is put back for the next flush. Otherwise a key that failed is put back,
+ * unless a newer value has arrived meanwhile. After {@value #MAX_ATTEMPTS} such failures it is
+ * parked: it is kept but no longer retried until it is written again or
+ * {@link #retryParked()} is called. Every failure is passed to an error handler, which by default
+ * reports it on standard error.
+ * </p>
+ * <p>
+ * At most {@code maxPending} keys may wait at once, parked ones and those being written included. A write of a new key that
+ * finds the buffer full flushes on the caller's thread first, and fails if that cannot make room,
+ * so a store that cannot keep up slows callers down instead of letting the buffer grow without
+ * limit.
+ * </p>
+ * <p>
+ * Values are handed to the store some time after {@link #put(Object, Object)} returns, so they
+ * should be immutable; repositories put {@link InternshipSnapshot} and {@link ApplicationSnapshot}
+ * copies rather than live entities.
+ * </p>
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public final class WriteBehindBuffer<K, V> implements AutoCloseable {
+
+    /** Failed single-key writes after which a key is parked. */
+    public static final int MAX_ATTEMPTS = 3;
+
+    /** Keys written one at a time after a failed batch before the store is taken to be down. */
+    public static final int PROBE_KEYS = 4;
+
+    /** Default number of full batches that may be pending at once. */
+    public static final int DEFAULT_PENDING_BATCHES = 64;
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final BatchWriter<K, V> writer;
+    private final int maxBatch;
+    private final int maxPending;
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private Map<K, V> pending = new LinkedHashMap<>();
+    private final Map<K, V> parked = new LinkedHashMap<>();
+    private final Map<K, Integer> attempts = new HashMap<>();
+    private int inFlight;
+    private Consumer<RuntimeException> errorHandler =
+            e -> System.err.println("Write-behind flush failed: " + e);
+    private long received;
+    private long written;
+    private long batches;
+    private long failures;
+    private boolean closed;
+
+    /**
+     * Creates a buffer holding at most {@value #DEFAULT_PENDING_BATCHES} full batches and starts its flush thread.
+     *
+     * @param writer       The store receiving the batches.
+     * @param maxStaleness The longest a write may wait before it is flushed.
+     * @param maxBatch     The number of pending keys that triggers an early flush.
+     * @throws IllegalArgumentException If the writer is null, the staleness is not positive or the batch size is below 1.
+     */
+    public WriteBehindBuffer(BatchWriter<K, V> writer, Duration maxStaleness, int maxBatch) {
+        this(writer, maxStaleness, maxBatch, maxBatch * DEFAULT_PENDING_BATCHES);
+    }
+
+    /**
+     * Creates a buffer and starts its flush thread.
+     *
+     * @param writer       The store receiving the batches.
+     * @param maxStaleness The longest a write may wait before it is flushed.
+     * @param maxBatch     The number of pending keys that triggers an early flush.
+     * @param maxPending   The most keys that may wait at once, parked ones included.
+     * @throws IllegalArgumentException If the writer is null, the staleness is not positive, the batch size is below 1
+     *                                  or the pending limit is below the batch size.
+     */
+    public WriteBehindBuffer(BatchWriter<K, V> writer, Duration maxStaleness, int maxBatch, int maxPending) {
+        if (writer == null) throw new IllegalArgumentException("Writer cannot be null");
+        if (maxStaleness == null || maxStaleness.isZero() || maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Staleness bound must be positive");
+        }
+        if (maxBatch < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+        if (maxPending < maxBatch) throw new IllegalArgumentException("Pending limit must be at least the batch size");
+        this.writer = writer;
+        this.maxBatch = maxBatch;
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = maxStaleness.toMillis();
+        flusher.scheduleAtFixedRate(this::flushQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the latest value of a key. A parked key is unparked, since the new value may be writable.
+     *
+     * @param key   The key.
+     * @param value The value; it is written as-is later, so it must not change afterwards.
+     * @throws IllegalStateException If the buffer is closed, or it is full and the store cannot take
+     *                               the pending writes; the value is then not recorded.
+     */
+    public void put(K key, V value) {
+        if (offer(key, value)) return;
+        // full: write on the caller's thread to make room
+        RuntimeException failure = null;
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        if (!offer(key, value)) throw new IllegalStateException("Write-behind buffer is full", failure);
+    }
+
+    // Records a write unless it would take the buffer past its limit.
+    private boolean offer(K key, V value) {
+        boolean full;
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("Write-behind buffer is closed");
+            if (!pending.containsKey(key) && !parked.containsKey(key)
+                    && pending.size() + parked.size() + inFlight >= maxPending) {
+                return false;
+            }
+            parked.remove(key);
+            attempts.remove(key);
+            pending.put(key, value);
+            received++;
+            full = pending.size() >= maxBatch;
+        }
+        if (full) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // closing concurrently; close() flushes what is left
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records that a key was deleted.
+     *
+     * @param key The key.
+     * @throws IllegalStateException If the buffer is closed.
+     */
+    public void delete(K key) {
+        put(key, null);
+    }
+
+    /**
+     * Writes every pending key to the store before returning. Parked keys are not retried.
+     *
+     * @throws RuntimeException If some keys could not be written; they stay pending or are parked.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<K, V> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                inFlight = batch.size();
+            }
+            try {
+                writer.writeBatch(batch);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    failures++;
+                }
+                writeEach(batch, e);
+                return;
+            }
+            synchronized (this) {
+                inFlight = 0;
+                written += batch.size();
+                batches++;
+                attempts.keySet().removeAll(batch.keySet());
+            }
+        }
+    }
+
+    // Writes a failed batch key by key, then puts back or parks what still fails and rethrows.
+    private void writeEach(Map<K, V> batch, RuntimeException batchFailure) {
+        Map<K, V> failed = new LinkedHashMap<>();
+        RuntimeException last = batchFailure;
+        int succeeded = 0;
+        for (Iterator<Map.Entry<K, V>> it = batch.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<K, V> entry = it.next();
+            if (succeeded == 0 && failed.size() >= PROBE_KEYS) {
+                // nothing gets through: the store is down, so keep the rest without trying
+                failed.put(entry.getKey(), entry.getValue());
+                while (it.hasNext()) {
+                    Map.Entry<K, V> rest = it.next();
+                    failed.put(rest.getKey(), rest.getValue());
+                }
+                break;
+            }
+            try {
+                writer.writeBatch(Collections.singletonMap(entry.getKey(), entry.getValue()));
+                succeeded++;
+            } catch (RuntimeException e) {
+                failed.put(entry.getKey(), entry.getValue());
+                last = e;
+            }
+        }
+        synchronized (this) {
+            inFlight = 0;
+            written += succeeded;
+            if (succeeded > 0) batches += succeeded;
+            Map<K, V> retry = new LinkedHashMap<>();
+            for (Map.Entry<K, V> entry : failed.entrySet()) {
+                K key = entry.getKey();
+                // a newer write made during the attempt wins over the failed value
+                if (pending.containsKey(key)) continue;
+                // only a key that fails while others get through counts against it
+                int tries = succeeded > 0 ? attempts.merge(key, 1, Integer::sum) : attempts.getOrDefault(key, 0);
+                if (tries >= MAX_ATTEMPTS) {
+                    attempts.remove(key);
+                    parked.put(key, entry.getValue());
+                } else {
+                    retry.put(key, entry.getValue());
+                }
+            }
+            for (K key : batch.keySet()) {
+                if (!failed.containsKey(key)) attempts.remove(key);
+            }
+            retry.putAll(pending);
+            pending = retry;
+        }
+        if (!failed.isEmpty()) {
+            if (last != batchFailure) last.addSuppressed(batchFailure);
+            throw last;
+        }
+    }
+
+    /**
+     * Puts every parked key back in the queue, for instance after the store was repaired, and
+     * writes them on the calling thread.
+     *
+     * @throws RuntimeException If some keys could not be written.
+     */
+    public void retryParked() {
+        synchronized (this) {
+            for (Map.Entry<K, V> entry : parked.entrySet()) pending.putIfAbsent(entry.getKey(), entry.getValue());
+            parked.clear();
+        }
+        flush();
+    }
+
+    /**
+     * Gets the keys that failed too often and are no longer retried, with the values that failed.
+     *
+     * @return A copy of the parked keys and values.
+     */
+    public synchronized Map<K, V> getParked() {
+        return new LinkedHashMap<>(parked);
+    }
+
+    /**
+     * Sets the callback told about each failed background flush, replacing the default that
+     * reports it on standard error.
+     *
+     * @param handler The callback.
+     * @throws IllegalArgumentException If the handler is null.
+     */
+    public synchronized void setErrorHandler(Consumer<RuntimeException> handler) {
+        if (handler == null) throw new IllegalArgumentException("Handler cannot be null");
+        this.errorHandler = handler;
+    }
+
+    /**
+     * Gets a snapshot of the buffer's counters.
+     *
+     * @return The current metrics.
+     */
+    public synchronized Metrics getMetrics() {
+        return new Metrics(received, written, batches, failures, pending.size(), parked.size());
+    }
+
+    /**
+     * Stops the flush thread, waiting for a flush already in progress, then writes everything
+     * still pending on the calling thread.
+     *
+     * @throws RuntimeException      If the final flush fails.
+     * @throws IllegalStateException If keys are left parked; they were never stored.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (this) {
+            if (!parked.isEmpty()) {
+                throw new IllegalStateException(parked.size() + " parked writes were never stored: " + parked.keySet());
+            }
+        }
+    }
+
+    // Flushes on the background thread, which must not die on a failure; the keys stay pending or parked.
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            Consumer<RuntimeException> handler;
+            synchronized (this) {
+                handler = errorHandler;
+            }
+            try {
+                handler.accept(e);
+            } catch (RuntimeException ignored) {
+                // a failing handler must not stop later flushes
+            }
+        }
+    }
+
+    // ========== HELPER TYPES ==========
+
+    /**
+     * A snapshot of a buffer's counters.
+     */
+    public static final class Metrics {
+        private final long received;
+        private final long written;
+        private final long batches;
+        private final long failures;
+        private final int pending;
+        private final int parked;
+
+        Metrics(long received, long written, long batches, long failures, int pending, int parked) {
+            this.received = received;
+            this.written = written;
+            this.batches = batches;
+            this.failures = failures;
+            this.pending = pending;
+            this.parked = parked;
+        }
+
+        /**
+         * Gets the number of writes accepted.
+         * @return The write count.
+         */
+        public long getReceived() { return received; }
+
+        /**
+         * Gets the number of key writes handed to the store.
+         * @return The store write count.
+         */
+        public long getWritten() { return written; }
+
+        /**
+         * Gets the number of batches handed to the store.
+         * @return The batch count.
+         */
+        public long getBatches() { return batches; }
+
+        /**
+         * Gets the number of batches the store failed to write.
+         * @return The failure count.
+         */
+        public long getFailures() { return failures; }
+
+        /**
+         * Gets the number of keys waiting for the next flush.
+         * @return The pending key count.
+         */
+        public int getPending() { return pending; }
+
+        /**
+         * Gets the number of keys parked after failing too often.
+         * @return The parked key count.
+         */
+        public int getParked() { return parked; }
+
+        /**
+         * Gets the average number of accepted writes per store write, counting pending keys as
+         * writes still to come. A value of 1 means nothing was coalesced.
+         * @return The coalescing ratio, or 1 if nothing has been written.
+         */
+        public double getCoalescingRatio() {
+            long slots = written + pending;
+            return slots == 0 ? 1.0 : (double) received / slots;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("received=%d written=%d batches=%d failures=%d pending=%d parked=%d coalescing=%.2f",
+                    received, written, batches, failures, pending, parked, getCoalescingRatio());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package entity;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * The source of "today" for entities, filters, services and controllers.
+ * <p>
+ * Dates are read from a replaceable {@link Clock} (the system clock by default; a
+ * {@link ManualClock} for simulations and replays). A request can capture today's date once with
+ * {@link #snapshot(Clock)}: until the returned snapshot is closed, every {@link #today()} call on
+ * that thread returns the captured date instead of reading the clock again, so a whole filter
+ * evaluation or controller action sees one consistent date. Code that only needs the date pinned
+ * around a call, without reading the snapshot itself, can use {@link #withToday(Clock, Supplier)}.
+ * </p>
+ */
+public final class AppClock {
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+    private static final ThreadLocal<LocalDate> pinned = new ThreadLocal<>();
+
+    private AppClock() {
+    }
+
+    /**
+     * Gets the default clock.
+     * @return The clock used when no other clock is injected.
+     */
+    public static Clock get() {
+        return clock;
+    }
+
+    /**
+     * Replaces the default clock.
+     *
+     * @param newClock The clock to use.
+     * @throws IllegalArgumentException If the clock is null.
+     */
+    public static void set(Clock newClock) {
+        if (newClock == null) throw new IllegalArgumentException("Clock cannot be null");
+        clock = newClock;
+    }
+
+    /**
+     * Gets today's date: the date captured by the current thread's open snapshot, if any,
+     * otherwise the default clock's date.
+     *
+     * @return Today's date.
+     */
+    public static LocalDate today() {
+        LocalDate date = pinned.get();
+        return date != null ? date : LocalDate.now(clock);
+    }
+
+    /**
+     * Captures today's date from a clock for the current thread.
+     * If a snapshot is already open on this thread, its date is kept so nested calls agree.
+     * Use with try-with-resources.
+     *
+     * @param source The clock to read.
+     * @return The snapshot; closing it restores the previous state.
+     */
+    public static Snapshot snapshot(Clock source) {
+        LocalDate previous = pinned.get();
+        LocalDate date = previous != null ? previous : LocalDate.now(source);
+        pinned.set(date);
+        return new Snapshot(date, previous);
+    }
+
+    /**
+     * Pins an already captured date for the current thread, for example to carry a request's
+     * date over to a worker thread evaluating part of that request.
+     * If a snapshot is already open on this thread, its date is kept.
+     *
+     * @param date The date to treat as today.
+     * @return The snapshot; closing it restores the previous state.
+     */
+    public static Snapshot snapshot(LocalDate date) {
+        LocalDate previous = pinned.get();
+        LocalDate effective = previous != null ? previous : date;
+        pinned.set(effective);
+        return new Snapshot(effective, previous);
+    }
+
+    /**
+     * Runs an action with today's date captured once from a clock for the current thread,
+     * exactly as if it ran inside {@link #snapshot(Clock)}.
+     *
+     * @param source The clock to read.
+     * @param action The action.
+     * @param <T>    The action's result type.
+     * @return The action's result.
+     */
+    public static <T> T withToday(Clock source, Supplier<T> action) {
+        return within(snapshot(source), action);
+    }
+
+    /**
+     * Runs an action with an already captured date pinned for the current thread,
+     * exactly as if it ran inside {@link #snapshot(LocalDate)}.
+     *
+     * @param date   The date to treat as today.
+     * @param action The action.
+     * @param <T>    The action's result type.
+     * @return The action's result.
+     */
+    public static <T> T withToday(LocalDate date, Supplier<T> action) {
+        return within(snapshot(date), action);
+    }
+
+    private static <T> T within(Snapshot snapshot, Supplier<T> action) {
+        try {
+            return action.get();
+        } finally {
+            snapshot.close();
+        }
+    }
+
+    /**
+     * A captured date that stays in effect for the current thread until closed.
+     */
+    public static final class Snapshot implements AutoCloseable {
+
+        private final LocalDate date;
+        private final LocalDate previous;
+
+        private Snapshot(LocalDate date, LocalDate previous) {
+            this.date = date;
+            this.previous = previous;
+        }
+
+        /**
+         * Gets the captured date.
+         * @return The date.
+         */
+        public LocalDate today() {
+            return date;
+        }
+
+        /**
+         * Ends the snapshot, restoring the date captured by an enclosing snapshot, if any.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                pinned.remove();
+            } else {
+                pinned.set(previous);
+            }
+        }
+    }
+}
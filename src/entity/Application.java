@@ -1,24 +1,36 @@
 package entity;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicInteger;
 import enums.ApplicationStatus;
 
 /**
  * Represents a formal application made by a Student for a specific Internship.
  * Tracks the unique ID, current status, dates, and withdrawal requests associated with the application.
+ * <p>
+ * Like {@link Internship}, an application records which of its fields changed since a repository
+ * last published it, and a modification version that increases on every change.
+ * </p>
  */
 public class Application {
 	
-	private static AtomicInteger idCounter = new AtomicInteger(1);
+	/** Dirty-mask bit for the status. */
+	public static final int FIELD_STATUS = 1;
+	/** Dirty-mask bit for the withdrawal-requested flag. */
+	public static final int FIELD_WITHDRAWAL_REQUESTED = 1 << 1;
+	/** Dirty-mask bit for the withdrawn flag. */
+	public static final int FIELD_WITHDRAWN = 1 << 2;
+	
 	private String applicationID;
+	private final int handle;
 	private Student student; 
 	private Internship internship;
 	private ApplicationStatus status;
 	private LocalDate applicationDate;
 	private boolean withdrawalRequested; 
 	private boolean withdrawn;
+	boolean tracked; // counted by the student's application counters
+	private int dirtyFields;
+	private long modificationVersion;
 	
 	/**
 	 * Constructs a new Application with a default PENDING status.
@@ -29,10 +41,11 @@ public class Application {
 	 */
 	public Application(Student student, Internship internship) {
 		this.applicationID = generateApplicationID(); 
+		this.handle = HandleRegistry.APPLICATIONS.register(applicationID);
 		this.student = student; 
 		this.internship = internship; 
 		this.status = ApplicationStatus.PENDING;
-		this.applicationDate = LocalDate.now();
+		this.applicationDate = AppClock.today();
 		this.withdrawalRequested = false;
 		this.withdrawn = false;
 	}
@@ -46,25 +59,62 @@ public class Application {
 	 */
 	public Application(Student student, Internship internship, ApplicationStatus status) {
 		this.applicationID = generateApplicationID();
+		this.handle = HandleRegistry.APPLICATIONS.register(applicationID);
 		this.student = student;
 		this.internship = internship;
 		this.status = status;
-		this.applicationDate = LocalDate.now();
+		this.applicationDate = AppClock.today();
 		this.withdrawalRequested = false;
 		this.withdrawn = false;
 	}
 
+	/**
+	 * Recreates a stored application with its original ID and state, for example when loading
+	 * from a durable store. The application is added to the student's list and counters.
+	 *
+	 * @param applicationId       The application's ID.
+	 * @param student             The student who applied.
+	 * @param internship          The internship applied for.
+	 * @param applicationDate     The date the application was made.
+	 * @param status              The status.
+	 * @param withdrawalRequested Whether a withdrawal is pending.
+	 * @param withdrawn           Whether the application is withdrawn.
+	 * @param accepted            Whether this is the placement the student accepted.
+	 * @return The restored application.
+	 * @throws IllegalArgumentException If the ID, student or internship is null.
+	 */
+	public static Application restore(String applicationId, Student student, Internship internship,
+			LocalDate applicationDate, ApplicationStatus status, boolean withdrawalRequested,
+			boolean withdrawn, boolean accepted) {
+		if (applicationId == null || student == null || internship == null) {
+			throw new IllegalArgumentException("Application ID, student and internship are required");
+		}
+		Application app = new Application(applicationId, student, internship, applicationDate, status);
+		app.withdrawalRequested = withdrawalRequested;
+		app.withdrawn = withdrawn;
+		student.restore(app, accepted);
+		return app;
+	}
+
+	private Application(String applicationId, Student student, Internship internship,
+			LocalDate applicationDate, ApplicationStatus status) {
+		this.applicationID = applicationId;
+		this.handle = HandleRegistry.APPLICATIONS.register(applicationId);
+		this.student = student;
+		this.internship = internship;
+		this.status = status;
+		this.applicationDate = applicationDate;
+	}
+
 	/**
 	 * Generates a unique application ID in the format APP-YYYYMMDD-####.
-	 * Uses an atomic counter to ensure uniqueness within the session.
+	 * Numbers come from the shared {@link ApplicationIdSequence}, which never repeats a number
+	 * within a run and, when file-backed, across restarts.
 	 *
 	 * @return A formatted string ID.
 	 */
 	public String generateApplicationID() {
-		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-		String dateStr = LocalDate.now().format(formatter);
-		int id = idCounter.getAndIncrement();
-		return String.format("APP-%s-%04d", dateStr, id);
+		return ApplicationIdSequence.shared().next();
 	}
 	
 	// ========== GETTERS ==========
@@ -75,6 +125,12 @@ public class Application {
 	 */
 	public String getApplicationID() { return applicationID; }
 
+	/**
+	 * Gets the dense integer handle of the application.
+	 * @return The handle from {@link HandleRegistry#APPLICATIONS}.
+	 */
+	public int getHandle() { return handle; }
+
 	/**
 	 * Gets the student who submitted the application.
 	 * @return The Student object.
@@ -119,7 +175,9 @@ public class Application {
 	 * @param withdrawalRequested true to signal a request for withdrawal.
 	 */
 	public void setWithdrawalRequested(boolean withdrawalRequested) {
+		if (this.withdrawalRequested == withdrawalRequested) return;
 		this.withdrawalRequested = withdrawalRequested;
+		touch(FIELD_WITHDRAWAL_REQUESTED);
 	}
 	
 	/**
@@ -129,10 +187,12 @@ public class Application {
 	 * @throws IllegalStateException If the application is not PENDING or has already been withdrawn.
 	 */
 	public void markSuccessful() {
-		if (this.status == ApplicationStatus.PENDING && !this.withdrawn) {
-			this.status = ApplicationStatus.SUCCESSFUL;
-		} else {
-			throw new IllegalStateException("Mark as successful failed; Application must be pending and cannot be withdrawn.");
+		synchronized (lock()) {
+			if (this.status == ApplicationStatus.PENDING && !this.withdrawn) {
+				moveTo(ApplicationStatus.SUCCESSFUL, false);
+			} else {
+				throw new IllegalStateException("Mark as successful failed; Application must be pending and cannot be withdrawn.");
+			}
 		}
 	}
 	
@@ -143,10 +203,12 @@ public class Application {
 	 * @throws IllegalStateException If the application is not PENDING or has already been withdrawn.
 	 */
 	public void markUnsuccessful() {
-		if (this.status == ApplicationStatus.PENDING && !this.withdrawn) {
-			this.status = ApplicationStatus.UNSUCCESSFUL;
-		} else {
-			throw new IllegalStateException("Mark as unsuccessful failed; Application must be pending and cannot be withdrawn.");
+		synchronized (lock()) {
+			if (this.status == ApplicationStatus.PENDING && !this.withdrawn) {
+				moveTo(ApplicationStatus.UNSUCCESSFUL, false);
+			} else {
+				throw new IllegalStateException("Mark as unsuccessful failed; Application must be pending and cannot be withdrawn.");
+			}
 		}
 	}
 	
@@ -179,7 +241,7 @@ public class Application {
 	 */
 	public void requestWithdrawal() {
 		if (canBeWithdrawn()) {
-			this.withdrawalRequested = true;
+			setWithdrawalRequested(true);
 		} else {
 			throw new IllegalStateException("Application cannot be withdrawn in its current state.");
 		}
@@ -191,8 +253,93 @@ public class Application {
 	 * Called by Career Center Staff after approval or automatically upon other placement acceptance.
 	 */
 	public void markWithDrawn() {
-		this.withdrawn = true;
-		this.status = ApplicationStatus.WITHDRAWN;
+		synchronized (lock()) {
+			moveTo(ApplicationStatus.WITHDRAWN, true);
+		}
+	}
+
+	// Changes status and withdrawn flag together and tells the owning student, so its
+	// counters move in the same step. Callers hold lock().
+	private void moveTo(ApplicationStatus newStatus, boolean newWithdrawn) {
+		boolean wasActive = isActive();
+		boolean wasSuccessful = this.status == ApplicationStatus.SUCCESSFUL;
+		if (this.status != newStatus) {
+			this.status = newStatus;
+			touch(FIELD_STATUS);
+		}
+		if (this.withdrawn != newWithdrawn) {
+			this.withdrawn = newWithdrawn;
+			touch(FIELD_WITHDRAWN);
+		}
+		if (tracked) {
+			student.applicationChanged(this, wasActive, wasSuccessful);
+		}
+	}
+
+	/**
+	 * Captures the current status and withdrawal flags of this application.
+	 * Running the returned action puts them back, together with the dirty mask and modification
+	 * version, as if the changes in between never happened, and adjusts the student's counters.
+	 *
+	 * @return An action restoring the captured state.
+	 */
+	public Runnable checkpoint() {
+		synchronized (lock()) {
+			ApplicationStatus savedStatus = this.status;
+			boolean savedWithdrawn = this.withdrawn;
+			boolean savedRequested = this.withdrawalRequested;
+			int savedDirty = this.dirtyFields;
+			long savedVersion = this.modificationVersion;
+			return () -> {
+				synchronized (lock()) {
+					boolean wasActive = isActive();
+					boolean wasSuccessful = this.status == ApplicationStatus.SUCCESSFUL;
+					this.status = savedStatus;
+					this.withdrawn = savedWithdrawn;
+					this.withdrawalRequested = savedRequested;
+					this.dirtyFields = savedDirty;
+					this.modificationVersion = savedVersion;
+					if (tracked) {
+						student.applicationChanged(this, wasActive, wasSuccessful);
+					}
+				}
+			};
+		}
+	}
+
+	// ========== CHANGE TRACKING ==========
+
+	/**
+	 * Gets the fields changed since the application was last published by a repository.
+	 * @return A mask of {@code FIELD_*} bits; 0 if unchanged.
+	 */
+	public int getDirtyFields() { return dirtyFields; }
+
+	/**
+	 * Checks whether any field changed since the application was last published by a repository.
+	 * @return true if there are unpublished changes.
+	 */
+	public boolean isDirty() { return dirtyFields != 0; }
+
+	/**
+	 * Gets the modification version, which increases on every change of a field.
+	 * @return The modification version.
+	 */
+	public long getModificationVersion() { return modificationVersion; }
+
+	/**
+	 * Clears the dirty mask. Called by a repository once it has published the changes.
+	 */
+	public void markClean() { dirtyFields = 0; }
+
+	private void touch(int field) {
+		dirtyFields |= field;
+		modificationVersion++;
+	}
+
+	// Transitions are serialized per student, together with the student's counters.
+	private Object lock() {
+		return student != null ? student : this;
 	}
 
 	/**
@@ -0,0 +1,207 @@
+package entity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+
+/**
+ * Hands out application IDs in the format {@code APP-YYYYMMDD-####}.
+ * <p>
+ * Sequence numbers are reserved in blocks (hi/lo allocation): each thread takes a block of
+ * {@value #BLOCK_SIZE} numbers from a shared counter and then numbers IDs from its own block
+ * without touching shared state. When the sequence is backed by a file, the highest reserved
+ * number is written to disk (ahead of use, {@value #RESERVE_AHEAD} at a time) before any number
+ * below it is handed out, so a restarted sequence continues above everything issued before and
+ * never repeats an ID. Numbers lost in partly used blocks at shutdown are simply skipped.
+ * </p>
+ * <p>
+ * The {@code APP-YYYYMMDD-} prefix is taken from {@link AppClock#today()}, so an ID issued inside a
+ * date snapshot carries the snapshot's date like every other date check in the same operation. The
+ * prefix is cached per date and the number is zero-padded by hand, so formatting an ID costs a single
+ * character buffer copy.
+ * </p>
+ */
+public final class ApplicationIdSequence {
+
+    /** Numbers a thread reserves from the shared counter at a time. */
+    public static final int BLOCK_SIZE = 64;
+
+    /** Numbers reserved on disk at a time by a file-backed sequence. */
+    public static final int RESERVE_AHEAD = 1024;
+
+    private static final int MIN_DIGITS = 4;
+
+    private static volatile ApplicationIdSequence shared = new ApplicationIdSequence(null, 1);
+
+    private final Path file;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private long nextBlockStart;
+    private long reservedUpTo;
+    private volatile DayPrefix prefix;
+
+    private ApplicationIdSequence(Path file, long start) {
+        this.file = file;
+        this.nextBlockStart = start;
+        this.reservedUpTo = start;
+    }
+
+    /**
+     * Creates a sequence held in memory only, starting at 1.
+     *
+     * @return The new sequence.
+     */
+    public static ApplicationIdSequence inMemory() {
+        return new ApplicationIdSequence(null, 1);
+    }
+
+    /**
+     * Opens (or creates) a sequence whose reservations are persisted in a file.
+     * Numbering resumes above the highest number reserved by any previous run.
+     *
+     * @param file The file holding the reservation watermark.
+     * @return The opened sequence.
+     * @throws IOException If the file exists but cannot be read, or is not a sequence file.
+     */
+    public static ApplicationIdSequence open(Path file) throws IOException {
+        long start = 1;
+        if (Files.exists(file)) {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length != Long.BYTES) {
+                throw new IOException("Not an application ID sequence file: " + file);
+            }
+            start = Math.max(1, ByteBuffer.wrap(bytes).getLong());
+        }
+        return new ApplicationIdSequence(file, start);
+    }
+
+    /**
+     * Gets the sequence used by {@link Application#generateApplicationID()}.
+     * @return The shared sequence.
+     */
+    public static ApplicationIdSequence shared() {
+        return shared;
+    }
+
+    /**
+     * Replaces the sequence used by {@link Application#generateApplicationID()},
+     * for example with one opened on a file at startup.
+     *
+     * @param sequence The sequence to use.
+     * @throws IllegalArgumentException If the sequence is null.
+     */
+    public static void install(ApplicationIdSequence sequence) {
+        if (sequence == null) throw new IllegalArgumentException("Sequence cannot be null");
+        shared = sequence;
+    }
+
+    /**
+     * Makes sure every number handed out from now on is above the number in an existing ID,
+     * for example one restored from storage that predates the sequence file. IDs that are not
+     * in the {@code APP-YYYYMMDD-####} format are ignored. Blocks that threads have already
+     * taken are not affected, so call this at startup, before IDs are generated.
+     *
+     * @param applicationId An ID issued earlier.
+     * @throws UncheckedIOException If a file-backed sequence cannot persist the new reservation.
+     */
+    public synchronized void advancePast(String applicationId) {
+        if (applicationId == null) return;
+        int dash = applicationId.lastIndexOf('-');
+        if (!applicationId.startsWith("APP-") || dash < 0 || dash == applicationId.length() - 1) return;
+        long number = 0;
+        for (int at = dash + 1; at < applicationId.length(); at++) {
+            char c = applicationId.charAt(at);
+            if (c < '0' || c > '9' || number > (Long.MAX_VALUE - 9) / 10) return;
+            number = number * 10 + (c - '0');
+        }
+        if (number < nextBlockStart) return;
+        nextBlockStart = number + 1;
+        if (nextBlockStart > reservedUpTo) {
+            long upTo = nextBlockStart + RESERVE_AHEAD;
+            persist(upTo);
+            reservedUpTo = upTo;
+        }
+    }
+
+    /**
+     * Returns the next application ID.
+     *
+     * @return A new, unique ID such as {@code APP-20251118-0042}.
+     * @throws UncheckedIOException If a file-backed sequence cannot persist a new reservation.
+     */
+    public String next() {
+        Block block = blocks.get();
+        if (block.next == block.end) {
+            block.next = reserveBlock();
+            block.end = block.next + BLOCK_SIZE;
+        }
+        return format(block.next++, block.buffer);
+    }
+
+    // Takes the next block from the shared counter, persisting a new watermark first if needed.
+    private synchronized long reserveBlock() {
+        long start = nextBlockStart;
+        nextBlockStart += BLOCK_SIZE;
+        if (nextBlockStart > reservedUpTo) {
+            long upTo = Math.max(nextBlockStart, reservedUpTo + RESERVE_AHEAD);
+            persist(upTo);
+            reservedUpTo = upTo;
+        }
+        return start;
+    }
+
+    private void persist(long upTo) {
+        if (file == null) return;
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, ByteBuffer.allocate(Long.BYTES).putLong(upTo).array());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String format(long number, char[] buffer) {
+        DayPrefix p = prefix;
+        LocalDate today = AppClock.today();
+        if (p == null || !p.day.equals(today)) {
+            p = new DayPrefix(today);
+            prefix = p;
+        }
+        int len = p.chars.length;
+        System.arraycopy(p.chars, 0, buffer, 0, len);
+
+        int digits = 1;
+        for (long n = number / 10; n > 0; n /= 10) digits++;
+        int width = Math.max(digits, MIN_DIGITS);
+        for (int at = len + width - 1; at >= len; at--) {
+            buffer[at] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        return new String(buffer, 0, len + width);
+    }
+
+    // ========== HELPER TYPES ==========
+
+    // The current thread's block [next, end) plus its scratch buffer for formatting.
+    private static final class Block {
+        long next;
+        long end;
+        final char[] buffer = new char[32];
+    }
+
+    // "APP-YYYYMMDD-" for one date.
+    private static final class DayPrefix {
+        final LocalDate day;
+        final char[] chars;
+
+        DayPrefix(LocalDate day) {
+            this.day = day;
+            int ymd = day.getYear() * 10000 + day.getMonthValue() * 100 + day.getDayOfMonth();
+            this.chars = ("APP-" + ymd + "-").toCharArray();
+        }
+    }
+}
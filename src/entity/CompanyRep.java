@@ -10,6 +10,7 @@ import filter.CompanyRepFilter;
 public class CompanyRep extends User {
     private boolean approved;
     private final String company;
+    private final int companyCode;
     private final String department;
     private final String position;
     private int numberOfInternships;
@@ -31,6 +32,7 @@ public class CompanyRep extends User {
                       String company, String department, String position) {
         super(userId, name, password);
         this.company = company;
+        this.companyCode = NameDictionary.COMPANIES.encode(company);
         this.department = department;
         this.position = position;
         this.approved = false; // Default requires admin approval
@@ -59,6 +61,12 @@ public class CompanyRep extends User {
      */
     public String getCompany() { return company; }
 
+    /**
+     * Retrieves the dictionary code of the company name.
+     * @return The code from {@link NameDictionary#COMPANIES}.
+     */
+    public int getCompanyCode() { return companyCode; }
+
     /**
      * Retrieves the department name.
      * @return The department.
@@ -0,0 +1,136 @@
+package entity;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bidirectional registry between external IDs and dense integer handles.
+ * <p>
+ * Every user, internship and application registers its external ID (user ID, internship ID,
+ * "APP-..." ID) when it is constructed and keeps the returned handle. Handles are
+ * assigned 0, 1, 2, ... so repositories and indexes can key arrays by them instead of
+ * hashing strings. External IDs are unchanged and remain what the UI shows.
+ * </p>
+ * <p>
+ * Repositories {@link #release(String) release} the ID of an entity they delete, which drops the
+ * ID string and its map entry. Released handles are not handed out again, so a handle still held
+ * by a deleted entity (or by an index that has not caught up yet) can never refer to a different
+ * entity; the only cost left per deleted entity is one empty array slot.
+ * </p>
+ */
+public final class HandleRegistry {
+
+    /** Handle returned for an ID that has never been registered. */
+    public static final int NONE = -1;
+
+    /** Registry for {@link User#getUserId()}. */
+    public static final HandleRegistry USERS = new HandleRegistry();
+
+    /** Registry for {@link Internship#getId()}. */
+    public static final HandleRegistry INTERNSHIPS = new HandleRegistry();
+
+    /** Registry for {@link Application#getApplicationID()}. */
+    public static final HandleRegistry APPLICATIONS = new HandleRegistry();
+
+    private final Map<String, Integer> handles = new ConcurrentHashMap<>();
+    private volatile String[] ids = new String[64];
+    private int size;
+
+    private HandleRegistry() {
+    }
+
+    /**
+     * Returns the handle for an external ID, assigning the next free handle if it is new.
+     * Registering the same ID again returns the same handle.
+     *
+     * @param externalId The external ID.
+     * @return The handle.
+     * @throws IllegalArgumentException If the ID is null.
+     */
+    public int register(String externalId) {
+        if (externalId == null) throw new IllegalArgumentException("ID cannot be null");
+        Integer existing = handles.get(externalId);
+        if (existing != null) return existing;
+        synchronized (this) {
+            existing = handles.get(externalId);
+            if (existing != null) return existing;
+            int handle = size;
+            String[] current = ids;
+            if (handle == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[handle] = externalId;
+            ids = current;
+            size++;
+            handles.put(externalId, handle);
+            return handle;
+        }
+    }
+
+    /**
+     * Forgets an external ID once the entity holding it is deleted.
+     * {@link #handleOf(String)} and {@link #idOf(int)} no longer find it, and its handle is not reused.
+     *
+     * @param externalId The external ID.
+     * @return {@code true} if the ID was registered.
+     */
+    public synchronized boolean release(String externalId) {
+        if (externalId == null) return false;
+        Integer handle = handles.remove(externalId);
+        if (handle == null) return false;
+        ids[handle] = null;
+        return true;
+    }
+
+    /**
+     * Registers an ID again under the handle it had before it was {@link #release(String) released},
+     * for an entity that is stored again after being deleted. Does nothing if the ID already has
+     * that handle.
+     *
+     * @param externalId The external ID.
+     * @param handle     The handle the entity was created with.
+     * @throws IllegalArgumentException If the ID is null, or the ID or handle is bound to something else.
+     */
+    public synchronized void rebind(String externalId, int handle) {
+        if (externalId == null) throw new IllegalArgumentException("ID cannot be null");
+        Integer current = handles.get(externalId);
+        if (current != null && current == handle) return;
+        if (current != null || handle < 0 || handle >= size || ids[handle] != null) {
+            throw new IllegalArgumentException("Cannot bind " + externalId + " to handle " + handle);
+        }
+        ids[handle] = externalId;
+        handles.put(externalId, handle);
+    }
+
+    /**
+     * Looks up the handle of an external ID without registering it.
+     *
+     * @param externalId The external ID.
+     * @return The handle, or {@link #NONE} if the ID is unknown.
+     */
+    public int handleOf(String externalId) {
+        if (externalId == null) return NONE;
+        Integer handle = handles.get(externalId);
+        return handle == null ? NONE : handle;
+    }
+
+    /**
+     * Looks up the external ID for a handle.
+     *
+     * @param handle A handle returned by {@link #register(String)}.
+     * @return The external ID, or {@code null} if the handle was never assigned.
+     */
+    public String idOf(int handle) {
+        String[] current = ids;
+        return handle >= 0 && handle < current.length ? current[handle] : null;
+    }
+
+    /**
+     * Gets the number of handles assigned so far; every handle is below this value.
+     * @return The handle count.
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
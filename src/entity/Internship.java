@@ -1,33 +1,65 @@
 package entity;
 
 import java.time.LocalDate;
+import java.util.Objects;
 import enums.InternshipLevel;
 import enums.InternshipStatus;
-import java.util.UUID;
 
 /**
  * Represents a specific internship opportunity listed by a company.
  * This entity holds all details regarding the job description, availability dates,
  * vacancy slots, and its current administrative status.
+ * <p>
+ * Every setter that actually changes a value sets the field's bit in a dirty mask and bumps a
+ * modification version. Repositories clear the mask when they publish the internship
+ * ({@link #markClean()}), so updates of an unchanged internship can be skipped and a durable
+ * store can write only the fields in {@link #getDirtyFields()}.
+ * </p>
  */
 public class Internship {
 
+    /** Dirty-mask bit for the title. */
+    public static final int FIELD_TITLE = 1;
+    /** Dirty-mask bit for the description. */
+    public static final int FIELD_DESCRIPTION = 1 << 1;
+    /** Dirty-mask bit for the level. */
+    public static final int FIELD_LEVEL = 1 << 2;
+    /** Dirty-mask bit for the preferred major. */
+    public static final int FIELD_PREFERRED_MAJOR = 1 << 3;
+    /** Dirty-mask bit for the open date. */
+    public static final int FIELD_OPEN_DATE = 1 << 4;
+    /** Dirty-mask bit for the closing date. */
+    public static final int FIELD_CLOSE_DATE = 1 << 5;
+    /** Dirty-mask bit for the status. */
+    public static final int FIELD_STATUS = 1 << 6;
+    /** Dirty-mask bit for the visibility. */
+    public static final int FIELD_VISIBLE = 1 << 7;
+    /** Dirty-mask bit for the filled-slot count. */
+    public static final int FIELD_FILLED_SLOTS = 1 << 8;
+
+    private static volatile InternshipIdStrategy idStrategy = new SnowflakeIdGenerator(0);
+
     private final String id;          
+    private final int handle;
     private String title;
     private String description;
     private InternshipLevel level;
     private String preferredMajor;
+    private int preferredMajorCode;
     private LocalDate openDate;
     private LocalDate closeDate;
     private InternshipStatus status;
     private boolean visible;
     private final String company;
+    private final int companyCode;
     private final int slots;
     private int filledSlots;
+    private int dirtyFields;
+    private long modificationVersion;
 
     /**
      * Constructs a new Internship listing.
-     * Automatically generates a unique UUID, sets the status to PENDING, 
+     * Automatically generates a unique ID from the current {@link InternshipIdStrategy}, sets the status to PENDING, 
      * and visibility to false (hidden) by default.
      *
      * @param title          The job title.
@@ -43,28 +75,97 @@ public class Internship {
                       String preferredMajor, LocalDate openDate,
                       LocalDate closeDate, String company, int slots) {
 
-        this.id = UUID.randomUUID().toString(); 
+        this.id = idStrategy.nextId();
+        this.handle = HandleRegistry.INTERNSHIPS.register(id);
         this.title = title;
         this.description = description;
         this.level = level;
         this.preferredMajor = preferredMajor;
+        this.preferredMajorCode = NameDictionary.MAJORS.encode(preferredMajor);
         this.openDate = openDate;
         this.closeDate = closeDate;
         this.company = company;
+        this.companyCode = NameDictionary.COMPANIES.encode(company);
         this.slots = slots;
         this.filledSlots = 0;
         this.status = InternshipStatus.PENDING;
         this.visible = false;
     }
 
+    /**
+     * Recreates a stored internship with its original ID, for example when loading from a durable store.
+     * The result has no unpublished changes.
+     *
+     * @param id             The internship's ID.
+     * @param title          The job title.
+     * @param description    The job details/description.
+     * @param level          The seniority level.
+     * @param preferredMajor The major preferred for this role.
+     * @param openDate       The date applications open.
+     * @param closeDate      The date applications close.
+     * @param company        The name of the company offering the internship.
+     * @param slots          The total number of positions available.
+     * @param filledSlots    The number of positions already filled.
+     * @param status         The administrative status.
+     * @param visible        Whether the listing is visible to students.
+     * @return The restored internship.
+     * @throws IllegalArgumentException If the ID is null.
+     */
+    public static Internship restore(String id, String title, String description, InternshipLevel level,
+                                     String preferredMajor, LocalDate openDate, LocalDate closeDate,
+                                     String company, int slots, int filledSlots,
+                                     InternshipStatus status, boolean visible) {
+        if (id == null) throw new IllegalArgumentException("ID cannot be null");
+        Internship i = new Internship(id, title, description, level, preferredMajor, openDate, closeDate, company, slots);
+        i.filledSlots = filledSlots;
+        i.status = status;
+        i.visible = visible;
+        return i;
+    }
+
+    private Internship(String id, String title, String description, InternshipLevel level,
+                       String preferredMajor, LocalDate openDate, LocalDate closeDate, String company, int slots) {
+        this.id = id;
+        this.handle = HandleRegistry.INTERNSHIPS.register(id);
+        this.title = title;
+        this.description = description;
+        this.level = level;
+        this.preferredMajor = preferredMajor;
+        this.preferredMajorCode = NameDictionary.MAJORS.encode(preferredMajor);
+        this.openDate = openDate;
+        this.closeDate = closeDate;
+        this.company = company;
+        this.companyCode = NameDictionary.COMPANIES.encode(company);
+        this.slots = slots;
+        this.status = InternshipStatus.PENDING;
+    }
+
+    /**
+     * Sets the strategy used to generate the IDs of internships created from now on.
+     * The default is a time-ordered {@link SnowflakeIdGenerator} for node 0.
+     *
+     * @param strategy The ID strategy.
+     * @throws IllegalArgumentException If the strategy is null.
+     */
+    public static void setIdStrategy(InternshipIdStrategy strategy) {
+        if (strategy == null) throw new IllegalArgumentException("ID strategy cannot be null");
+        idStrategy = strategy;
+    }
+
     // ========== GETTERS ==========
 
     /**
      * Gets the unique ID of the internship.
-     * @return The UUID string.
+     * @return The ID string.
      */
     public String getId() { return id; }
 
+    /**
+     * Gets the dense integer handle of the internship.
+     * @return The handle from {@link HandleRegistry#INTERNSHIPS}.
+     */
+    public int getHandle() { return handle; }
+
     /**
      * Gets the job title.
      * @return The title.
@@ -89,6 +190,12 @@ public class Internship {
      */
     public String getPreferredMajor() { return preferredMajor; }
 
+    /**
+     * Gets the dictionary code of the preferred major.
+     * @return The code from {@link NameDictionary#MAJORS}.
+     */
+    public int getPreferredMajorCode() { return preferredMajorCode; }
+
     /**
      * Gets the date applications open.
      * @return The open date.
@@ -119,6 +226,12 @@ public class Internship {
      */
     public String getCompany() { return company; }
 
+    /**
+     * Gets the dictionary code of the company name.
+     * @return The code from {@link NameDictionary#COMPANIES}.
+     */
+    public int getCompanyCode() { return companyCode; }
+
     /**
      * Gets the total number of slots available.
      * @return The total slots.
@@ -137,25 +250,42 @@ public class Internship {
      * Updates the job title.
      * @param title The new title.
      */
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) {
+        if (Objects.equals(this.title, title)) return;
+        this.title = title;
+        touch(FIELD_TITLE);
+    }
 
     /**
      * Updates the job description.
      * @param description The new description.
      */
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) {
+        if (Objects.equals(this.description, description)) return;
+        this.description = description;
+        touch(FIELD_DESCRIPTION);
+    }
 
     /**
      * Updates the seniority level.
      * @param level The new InternshipLevel.
      */
-    public void setLevel(InternshipLevel level) { this.level = level; }
+    public void setLevel(InternshipLevel level) {
+        if (this.level == level) return;
+        this.level = level;
+        touch(FIELD_LEVEL);
+    }
 
     /**
      * Updates the preferred major.
      * @param major The new major.
      */
-    public void setPreferredMajor(String major) { this.preferredMajor = major; }
+    public void setPreferredMajor(String major) {
+        if (Objects.equals(this.preferredMajor, major)) return;
+        this.preferredMajor = major;
+        this.preferredMajorCode = NameDictionary.MAJORS.encode(major);
+        touch(FIELD_PREFERRED_MAJOR);
+    }
 
     /**
      * Updates the opening date.
@@ -164,7 +294,9 @@ public class Internship {
      */
     public void setOpenDate(LocalDate openDate) {
         if (closeDate != null && !openDate.isBefore(closeDate)) return;
+        if (openDate.equals(this.openDate)) return;
         this.openDate = openDate;
+        touch(FIELD_OPEN_DATE);
     }
 
     /**
@@ -174,26 +306,79 @@ public class Internship {
      */
     public void setCloseDate(LocalDate closeDate) {
         if (openDate != null && !closeDate.isAfter(openDate)) return;
+        if (closeDate.equals(this.closeDate)) return;
         this.closeDate = closeDate;
+        touch(FIELD_CLOSE_DATE);
     }
 
     /**
      * Updates the administrative status.
      * @param status The new status (e.g., APPROVED, FILLED).
      */
-    public void setStatus(InternshipStatus status) { this.status = status; }
+    public void setStatus(InternshipStatus status) {
+        if (this.status == status) return;
+        this.status = status;
+        touch(FIELD_STATUS);
+    }
 
     /**
      * Updates the visibility of the internship.
      * @param visible true to show to students, false to hide.
      */
-    public void setVisible(boolean visible) { this.visible = visible; }
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) return;
+        this.visible = visible;
+        touch(FIELD_VISIBLE);
+    }
 
     /**
      * Updates the number of filled slots.
      * @param filledSlots The new count of filled slots.
      */
-    public void setFilledSlots(int filledSlots) { this.filledSlots = filledSlots; }
+    public void setFilledSlots(int filledSlots) {
+        if (this.filledSlots == filledSlots) return;
+        this.filledSlots = filledSlots;
+        touch(FIELD_FILLED_SLOTS);
+    }
+
+    /**
+     * Closes the listing: sets the status to {@code CLOSED} and hides it from students.
+     * Every path that closes an internship goes through here so the two always agree.
+     */
+    public void close() {
+        setVisible(false);
+        setStatus(InternshipStatus.CLOSED);
+    }
+
+    // ========== CHANGE TRACKING ==========
+
+    /**
+     * Gets the fields changed since the internship was last published by a repository.
+     * @return A mask of {@code FIELD_*} bits; 0 if unchanged.
+     */
+    public int getDirtyFields() { return dirtyFields; }
+
+    /**
+     * Checks whether any field changed since the internship was last published by a repository.
+     * @return true if there are unpublished changes.
+     */
+    public boolean isDirty() { return dirtyFields != 0; }
+
+    /**
+     * Gets the modification version, which increases on every change of a field.
+     * @return The modification version.
+     */
+    public long getModificationVersion() { return modificationVersion; }
+
+    /**
+     * Clears the dirty mask. Called by a repository once it has published the changes.
+     */
+    public void markClean() { dirtyFields = 0; }
+
+    private void touch(int field) {
+        dirtyFields |= field;
+        modificationVersion++;
+    }
 
     // ========== UTILITY METHODS ==========
 
@@ -220,26 +405,85 @@ public class Internship {
      * @param other The source Internship object containing updated data.
      */
     public void updateFrom(Internship other) {
-        this.title = other.title;
-        this.description = other.description;
-        this.level = other.level;
-        this.preferredMajor = other.preferredMajor;
-        this.openDate = other.openDate;
-        this.closeDate = other.closeDate;
-        this.status = other.status;
-        this.visible = other.visible;
-        this.filledSlots = other.filledSlots;
+        if (other == this) return;
+        assign(other.title, other.description, other.level, other.preferredMajor, other.preferredMajorCode,
+                other.openDate, other.closeDate, other.status, other.visible, other.filledSlots);
+    }
+
+    // Sets every editable field, marking the ones whose value changes as dirty.
+    private void assign(String newTitle, String newDescription, InternshipLevel newLevel, String newMajor,
+                        int newMajorCode, LocalDate newOpen, LocalDate newClose, InternshipStatus newStatus,
+                        boolean newVisible, int newFilled) {
+        if (!Objects.equals(title, newTitle)) { title = newTitle; touch(FIELD_TITLE); }
+        if (!Objects.equals(description, newDescription)) { description = newDescription; touch(FIELD_DESCRIPTION); }
+        if (level != newLevel) { level = newLevel; touch(FIELD_LEVEL); }
+        if (!Objects.equals(preferredMajor, newMajor)) {
+            preferredMajor = newMajor;
+            preferredMajorCode = newMajorCode;
+            touch(FIELD_PREFERRED_MAJOR);
+        }
+        if (!Objects.equals(openDate, newOpen)) { openDate = newOpen; touch(FIELD_OPEN_DATE); }
+        if (!Objects.equals(closeDate, newClose)) { closeDate = newClose; touch(FIELD_CLOSE_DATE); }
+        if (status != newStatus) { status = newStatus; touch(FIELD_STATUS); }
+        if (visible != newVisible) { visible = newVisible; touch(FIELD_VISIBLE); }
+        if (filledSlots != newFilled) { filledSlots = newFilled; touch(FIELD_FILLED_SLOTS); }
+    }
+
+    /**
+     * Captures the current values of this internship's editable fields.
+     * Running the returned action puts them back, together with the dirty mask and modification
+     * version, as if the changes in between never happened.
+     *
+     * @return An action restoring the captured state.
+     */
+    public Runnable checkpoint() {
+        String savedTitle = title;
+        String savedDescription = description;
+        InternshipLevel savedLevel = level;
+        String savedMajor = preferredMajor;
+        int savedMajorCode = preferredMajorCode;
+        LocalDate savedOpen = openDate;
+        LocalDate savedClose = closeDate;
+        InternshipStatus savedStatus = status;
+        boolean savedVisible = visible;
+        int savedFilled = filledSlots;
+        int savedDirty = dirtyFields;
+        long savedVersion = modificationVersion;
+        return () -> {
+            title = savedTitle;
+            description = savedDescription;
+            level = savedLevel;
+            preferredMajor = savedMajor;
+            preferredMajorCode = savedMajorCode;
+            openDate = savedOpen;
+            closeDate = savedClose;
+            status = savedStatus;
+            visible = savedVisible;
+            filledSlots = savedFilled;
+            dirtyFields = savedDirty;
+            modificationVersion = savedVersion;
+        };
     }
 
     /**
      * Checks if the application deadline has passed.
-     * Compares the closing date to the current system date.
+     * Compares the closing date to {@link AppClock#today()}.
      *
      * @return true if today is strictly after the closing date.
      */
     public boolean isClosingDatePassed() {
+        return isClosingDatePassed(AppClock.today());
+    }
+
+    /**
+     * Checks if the application deadline has passed as of a given date.
+     *
+     * @param today The date to compare against.
+     * @return true if {@code today} is strictly after the closing date.
+     */
+    public boolean isClosingDatePassed(LocalDate today) {
         if (this.closeDate == null) return false;
-        return java.time.LocalDate.now().isAfter(this.closeDate);
+        return today.isAfter(this.closeDate);
     }
     /**
      * Increments the count of filled slots by one, provided the total slots have not been reached.
@@ -248,6 +492,7 @@ public class Internship {
     public void incrementFilledSlots() {
     	  if (filledSlots < slots) {
     	   filledSlots++;
+    	   touch(FIELD_FILLED_SLOTS);
     	  }
     }
     /**
@@ -257,6 +502,7 @@ public class Internship {
     public void decrementFilledSlots() {
     	if (filledSlots > 0) {
     	filledSlots--;
+    	touch(FIELD_FILLED_SLOTS);
     	}
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package entity;
+
+import java.util.UUID;
+
+/**
+ * Supplies the external ID given to each new {@link Internship}.
+ * The strategy in use is chosen with {@link Internship#setIdStrategy(InternshipIdStrategy)}.
+ */
+public interface InternshipIdStrategy {
+
+    /**
+     * Returns a new, unique internship ID.
+     *
+     * @return The ID text.
+     */
+    String nextId();
+
+    /**
+     * Returns the original strategy of random UUID strings.
+     * These IDs have no ordering and draw on {@code SecureRandom}.
+     *
+     * @return A UUID-based strategy.
+     */
+    static InternshipIdStrategy randomUuid() {
+        return () -> UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,69 @@
+package entity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * A clock that only moves when told to, for simulations, load tests and deterministic replays.
+ */
+public final class ManualClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    /**
+     * Constructs a clock stopped at the start of a date in the system time zone.
+     *
+     * @param date The date to start at.
+     */
+    public ManualClock(LocalDate date) {
+        this(date.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructs a clock stopped at an instant.
+     *
+     * @param instant The instant to start at.
+     * @param zone    The time zone used to convert the instant to dates.
+     */
+    public ManualClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    /**
+     * Moves the clock forward (or backward, for a negative amount).
+     *
+     * @param amount The amount to move by.
+     */
+    public void advance(Duration amount) {
+        instant = instant.plus(amount);
+    }
+
+    /**
+     * Moves the clock to the start of a date.
+     *
+     * @param date The date.
+     */
+    public void setDate(LocalDate date) {
+        instant = date.atStartOfDay(zone).toInstant();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId newZone) {
+        return new ManualClock(instant, newZone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
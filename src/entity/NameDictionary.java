@@ -0,0 +1,165 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dictionary that maps free-text names (majors, company names) to dense integer codes.
+ * <p>
+ * Names are canonicalized before lookup: surrounding whitespace is trimmed, inner runs of
+ * whitespace collapse to one space, and case is folded. So "Acme Corp", " acme  corp" and
+ * "ACME CORP" all receive the same code, and entities and filters can compare ints instead
+ * of strings.
+ * </p>
+ * <p>
+ * Only entities register names ({@link #encode(String)}). Query input such as filter criteria
+ * goes through {@link #codeOf(String)} or a {@link Lookup}, which never add names, so text
+ * typed into a search cannot grow the dictionary.
+ * </p>
+ */
+public final class NameDictionary {
+
+    /**
+     * Code returned for a {@code null} or blank name.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Code of a {@link Lookup} whose name is not (yet) registered; no entity ever has it.
+     */
+    public static final int UNKNOWN = -2;
+
+    /** Shared dictionary for student majors and internship preferred majors. */
+    public static final NameDictionary MAJORS = new NameDictionary();
+
+    /** Shared dictionary for company names of representatives and internships. */
+    public static final NameDictionary COMPANIES = new NameDictionary();
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    private NameDictionary() {
+    }
+
+    /**
+     * Returns the code for a name, assigning the next free code if the name is new.
+     *
+     * @param name The raw name as entered (may be null).
+     * @return The dense code for the canonical form, or {@link #NONE} if the name is null or blank.
+     */
+    public int encode(String name) {
+        String key = canonicalize(name);
+        if (key == null) return NONE;
+        Integer code = codes.get(key);
+        if (code != null) return code;
+        synchronized (this) {
+            return codes.computeIfAbsent(key, k -> {
+                names.add(name.trim());
+                return names.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Returns the code of a registered name without registering it.
+     *
+     * @param name The raw name (may be null).
+     * @return The code for the canonical form, or {@link #NONE} if the name is null, blank or unknown.
+     */
+    public int codeOf(String name) {
+        String key = canonicalize(name);
+        if (key == null) return NONE;
+        Integer code = codes.get(key);
+        return code == null ? NONE : code;
+    }
+
+    /**
+     * Creates a lookup of a query name that resolves its code once the name is registered.
+     *
+     * @param name The raw name (may be null).
+     * @return The lookup.
+     */
+    public Lookup lookup(String name) {
+        return new Lookup(this, name);
+    }
+
+    /**
+     * Returns the display name first registered for a code.
+     *
+     * @param code A code returned by {@link #encode(String)}.
+     * @return The name, or {@code null} for {@link #NONE}.
+     */
+    public synchronized String nameOf(int code) {
+        return code == NONE ? null : names.get(code);
+    }
+
+    /**
+     * Gets the number of distinct names registered.
+     * @return The dictionary size.
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+
+    /**
+     * Builds the canonical form used as the dictionary key.
+     *
+     * @param name The raw name (may be null).
+     * @return The trimmed, whitespace-collapsed, lower-case name, or {@code null} if blank.
+     */
+    public static String canonicalize(String name) {
+        if (name == null) return null;
+        String key = name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+
+    // ========== HELPER TYPES ==========
+
+    /**
+     * The code of a query name, for comparing against entity codes.
+     * A null or blank name has code {@link #NONE}, like an entity without the name. A name no
+     * entity has used yet has code {@link #UNKNOWN}, so it matches nothing, and is looked up again
+     * on later calls until it is registered; from then on the code is cached.
+     * <p>
+     * Thread-safe.
+     * </p>
+     */
+    public static final class Lookup {
+        private final NameDictionary dictionary;
+        private final String name;
+        private final String key;
+        private volatile int code;
+
+        private Lookup(NameDictionary dictionary, String name) {
+            this.dictionary = dictionary;
+            this.name = name;
+            this.key = Objects.toString(canonicalize(name), "");
+            this.code = key.isEmpty() ? NONE : dictionary.codeOf(name);
+        }
+
+        /**
+         * Gets the current code of the name.
+         * @return The code, {@link #NONE} for a blank name, or {@link #UNKNOWN} if not registered.
+         */
+        public int code() {
+            int c = code;
+            if (c != NONE || key.isEmpty()) return c;
+            c = dictionary.codeOf(name);
+            if (c == NONE) return UNKNOWN;
+            code = c;
+            return c;
+        }
+
+        /**
+         * Gets the canonical form of the name, which identifies it independently of registration.
+         * @return The canonical name, or an empty string if blank.
+         */
+        public String key() {
+            return key;
+        }
+    }
+}
@@ -3,11 +3,12 @@ package entity;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import enums.InternshipStatus;
+
 /**
  * Represents a statistical report generated by Career Center Staff.
  * This entity aggregates internship data to provide insights into the system's status
@@ -27,13 +28,14 @@ public class Report {
      * @param generatedBy           The staff member who generated the report.
      * @param generationDate        The date the report was created.
      * @param includedOpportunities The list of internships included in the analysis.
+     *                              Immutable snapshots (e.g. from a repository) are kept without copying.
      */
     public Report(String reportID, CareerCenterStaff generatedBy,
                   LocalDate generationDate, List<Internship> includedOpportunities) {
         this.reportID = reportID;
         this.generatedBy = generatedBy;
         this.generationDate = generationDate;
-        this.includedOpportunities = new ArrayList<>(includedOpportunities);
+        this.includedOpportunities = List.copyOf(includedOpportunities);
     }
 
     /**
@@ -62,10 +64,10 @@ public class Report {
 
     /**
      * Retrieves the list of internships included in this report.
-     * @return A new list containing the internship objects (defensive copy).
+     * @return An unmodifiable list of the internship objects (shared, not copied).
      */
     public List<Internship> getIncludedOpportunities() {
-        return new ArrayList<>(includedOpportunities);
+        return includedOpportunities;
     }
 
     /**
@@ -79,20 +81,23 @@ public class Report {
         System.out.println("Generated on: " + generationDate);
         System.out.println("Total Opportunities: " + includedOpportunities.size());
 
-        long pending = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("PENDING")).count();
-        long approved = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("APPROVED")).count();
-        long rejected = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("REJECTED")).count();
-        long filled = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("FILLED")).count();
+        long[] counts = countByStatus();
+        long pending = counts[InternshipStatus.PENDING.ordinal()];
+        long approved = counts[InternshipStatus.APPROVED.ordinal()];
+        long rejected = counts[InternshipStatus.REJECTED.ordinal()];
+        long filled = counts[InternshipStatus.FILLED.ordinal()];
+        long closed = counts[InternshipStatus.CLOSED.ordinal()];
 
         System.out.println("\nStatus Breakdown:");
         System.out.println("Pending: " + pending);
         System.out.println("Approved: " + approved);
         System.out.println("Rejected: " + rejected);
         System.out.println("Filled: " + filled);
+        System.out.println("Closed: " + closed);
     }
 
     /** * Computes detailed statistics for the included internships.
-     * Calculates counts for each status (PENDING, APPROVED, REJECTED, FILLED)
+     * Calculates counts for each status (PENDING, APPROVED, REJECTED, FILLED, CLOSED)
      * and their respective percentages.
      *
      * @return A map containing statistical keys (Strings) and values (Integers for counts, Doubles for percentages).
@@ -101,26 +106,43 @@ public class Report {
         Map<String, Object> stats = new HashMap<>();
         int total = includedOpportunities.size();
 
-        long pending = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("PENDING")).count();
-        long approved = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("APPROVED")).count();
-        long rejected = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("REJECTED")).count();
-        long filled = includedOpportunities.stream().filter(i -> i.getStatus().name().equals("FILLED")).count();
+        long[] counts = countByStatus();
+        long pending = counts[InternshipStatus.PENDING.ordinal()];
+        long approved = counts[InternshipStatus.APPROVED.ordinal()];
+        long rejected = counts[InternshipStatus.REJECTED.ordinal()];
+        long filled = counts[InternshipStatus.FILLED.ordinal()];
+        long closed = counts[InternshipStatus.CLOSED.ordinal()];
 
         stats.put("Total Opportunities", total);
         stats.put("Pending", pending);
         stats.put("Approved", approved);
         stats.put("Rejected", rejected);
         stats.put("Filled", filled);
+        stats.put("Closed", closed);
 
         if (total > 0) {
             stats.put("Approved %", approved * 100.0 / total);
             stats.put("Rejected %", rejected * 100.0 / total);
             stats.put("Filled %", filled * 100.0 / total);
+            stats.put("Closed %", closed * 100.0 / total);
         }
 
         return stats;
     }
 
+    /**
+     * Counts the included internships per status in a single pass.
+     *
+     * @return An array indexed by {@link InternshipStatus} ordinal.
+     */
+    private long[] countByStatus() {
+        long[] counts = new long[InternshipStatus.values().length];
+        for (Internship i : includedOpportunities) {
+            if (i.getStatus() != null) counts[i.getStatus().ordinal()]++;
+        }
+        return counts;
+    }
+
     /**
      * Exports the full report and statistics to a text file.
      *
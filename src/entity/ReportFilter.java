@@ -2,6 +2,8 @@ package entity;
 
 import java.time.LocalDate;
 
+import data.InternshipColumns;
+import data.RowMask;
 import enums.InternshipStatus;
 import enums.InternshipLevel;
 
@@ -14,8 +16,10 @@ public class ReportFilter {
 
     private InternshipStatus status;
     private String preferredMajor;
+    private NameDictionary.Lookup preferredMajorCode;
     private InternshipLevel level;
     private String companyName;
+    private NameDictionary.Lookup companyCode;
     private LocalDate startDate;
     private LocalDate endDate;
 
@@ -45,9 +49,7 @@ public class ReportFilter {
             matches = false;
         }
         // Major
-        if (preferredMajor != null &&
-                (internship.getPreferredMajor() == null ||
-                 !preferredMajor.equalsIgnoreCase(internship.getPreferredMajor()))) {
+        if (preferredMajor != null && preferredMajorCode.code() != internship.getPreferredMajorCode()) {
             matches = false;
         }
 
@@ -55,9 +57,7 @@ public class ReportFilter {
         if (level != null && level != internship.getLevel()) {
             matches = false;
         }
-        if (companyName != null &&
-                (internship.getCompany() == null ||
-                 !companyName.equalsIgnoreCase(internship.getCompany()))) {
+        if (companyName != null && companyCode.code() != internship.getCompanyCode()) {
             matches = false;
         }
         if (startDate != null) {
@@ -76,6 +76,56 @@ public class ReportFilter {
         return matches;
     }
 
+    /**
+     * Evaluates this filter over every row of a columnar snapshot at once.
+     * Gives the same result as {@link #applyFilter(Internship)} on each row's entity.
+     *
+     * @param columns The columnar snapshot of internships.
+     * @return A {@link RowMask} bitmask of the matching rows.
+     */
+    public long[] applyFilter(InternshipColumns columns) {
+        long[] mask = RowMask.all(columns.size());
+        if (!isValidFilter()) {
+            return mask;
+        }
+        if (status != null) RowMask.and(mask, columns.maskStatusEquals(status.ordinal()));
+        if (preferredMajor != null) RowMask.and(mask, columns.maskMajorEquals(preferredMajorCode.code()));
+        if (level != null) RowMask.and(mask, columns.maskLevelEquals(level.ordinal()));
+        if (companyName != null) RowMask.and(mask, columns.maskCompanyEquals(companyCode.code()));
+        if (startDate != null) {
+            RowMask.and(mask, columns.maskOpenBetween(InternshipColumns.toDay(startDate), InternshipColumns.NO_CLOSE_DAY - 1));
+        }
+        if (endDate != null) {
+            RowMask.and(mask, columns.maskCloseBetween(InternshipColumns.NO_OPEN_DAY + 1, InternshipColumns.toDay(endDate)));
+        }
+        return mask;
+    }
+
+    /**
+     * Checks a single row of a columnar snapshot, reading only its columns.
+     * Gives the same result as {@link #applyFilter(Internship)} on the row's entity; used when
+     * a large snapshot is checked range by range on several threads.
+     *
+     * @param columns The columnar snapshot of internships.
+     * @param row     The row index.
+     * @return {@code true} if the row matches all set criteria; {@code false} otherwise.
+     */
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        if (status != null && columns.status(row) != status.ordinal()) return false;
+        if (preferredMajor != null && columns.majorCode(row) != preferredMajorCode.code()) return false;
+        if (level != null && columns.level(row) != level.ordinal()) return false;
+        if (companyName != null && columns.companyCode(row) != companyCode.code()) return false;
+        if (startDate != null) {
+            int open = columns.openDay(row);
+            if (open == InternshipColumns.NO_OPEN_DAY || open < InternshipColumns.toDay(startDate)) return false;
+        }
+        if (endDate != null) {
+            int close = columns.closeDay(row);
+            if (close == InternshipColumns.NO_CLOSE_DAY || close > InternshipColumns.toDay(endDate)) return false;
+        }
+        return true;
+    }
+
     /**
      * Resets all filtering criteria to null.
      * After calling this, {@link #applyFilter(Internship)} will return true for any internship.
@@ -83,8 +133,10 @@ public class ReportFilter {
     public void clearFilters() {
         this.status = null;
         this.preferredMajor = null;
+        this.preferredMajorCode = NameDictionary.MAJORS.lookup(null);
         this.level = null;
         this.companyName = null;
+        this.companyCode = NameDictionary.COMPANIES.lookup(null);
         this.startDate = null;
         this.endDate = null;
     }
@@ -135,6 +187,7 @@ public class ReportFilter {
      */
     public void setPreferredMajor(String preferredMajor) {
         this.preferredMajor = preferredMajor;
+        this.preferredMajorCode = NameDictionary.MAJORS.lookup(preferredMajor);
     }
 
     /**
@@ -167,6 +220,7 @@ public class ReportFilter {
      */
     public void setCompanyName(String companyName) {
         this.companyName = companyName;
+        this.companyCode = NameDictionary.COMPANIES.lookup(companyName);
     }
 
     /**
@@ -0,0 +1,149 @@
+package entity;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered 64-bit IDs in the snowflake layout and renders them as
+ * fixed-width base-32 text.
+ * <p>
+ * An ID packs, from the most significant bit: a sign bit (always 0), 41 bits of milliseconds
+ * since {@link #EPOCH}, 10 bits of node number and a 12-bit sequence within the millisecond.
+ * Generation is lock-free and never goes backwards: if the clock steps back, or more than 4096
+ * IDs are requested in one millisecond, the generator keeps counting from its last ID.
+ * </p>
+ * <p>
+ * The text form is 13 characters of Crockford base-32, whose alphabet is in ascending ASCII
+ * order, so comparing two ID strings gives the same result as comparing the numbers and
+ * therefore the creation times.
+ * </p>
+ */
+public final class SnowflakeIdGenerator implements InternshipIdStrategy {
+
+    /** Start of the timestamp field: 2024-01-01T00:00:00Z. */
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    /** Highest node number. */
+    public static final int MAX_NODE = (1 << 10) - 1;
+
+    /** Length of the text form. */
+    public static final int TEXT_LENGTH = 13;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long epochMillis = EPOCH.toEpochMilli();
+    private final int node;
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence, of the last ID issued
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * Constructs a generator for one node.
+     * Nodes that generate IDs concurrently must use different numbers.
+     *
+     * @param node The node number, 0 to {@link #MAX_NODE}.
+     * @throws IllegalArgumentException If the node number is out of range.
+     */
+    public SnowflakeIdGenerator(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+    }
+
+    /**
+     * Returns the next ID as a number.
+     *
+     * @return A positive ID greater than every ID this generator issued before.
+     */
+    public long nextLong() {
+        long now = (System.currentTimeMillis() - epochMillis) << SEQUENCE_BITS;
+        long prev, next;
+        do {
+            prev = last.get();
+            next = Math.max(prev + 1, now);
+        } while (!last.compareAndSet(prev, next));
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                | (long) node << SEQUENCE_BITS
+                | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Returns the next ID in text form.
+     *
+     * @return A {@value #TEXT_LENGTH}-character base-32 ID.
+     */
+    @Override
+    public String nextId() {
+        return toText(nextLong());
+    }
+
+    /**
+     * Encodes an ID as fixed-width base-32 text.
+     *
+     * @param id A non-negative ID.
+     * @return The {@value #TEXT_LENGTH}-character text form.
+     */
+    public static String toText(long id) {
+        char[] out = new char[TEXT_LENGTH];
+        for (int i = TEXT_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(out);
+    }
+
+    /**
+     * Decodes the text form of an ID.
+     *
+     * @param text The text produced by {@link #toText(long)}.
+     * @return The ID.
+     * @throws IllegalArgumentException If the text is not a valid ID.
+     */
+    public static long fromText(String text) {
+        if (text == null || text.length() != TEXT_LENGTH) {
+            throw new IllegalArgumentException("Not a snowflake ID: " + text);
+        }
+        long id = 0;
+        for (int i = 0; i < TEXT_LENGTH; i++) {
+            int digit = digitOf(text.charAt(i));
+            if (digit < 0 || (i == 0 && digit > 7)) {
+                throw new IllegalArgumentException("Not a snowflake ID: " + text);
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+
+    /**
+     * Gets the creation time encoded in an ID.
+     *
+     * @param id The ID.
+     * @return The instant, to the millisecond.
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+
+    /**
+     * Gets the lowest possible ID text for a creation time.
+     * Every ID created at or after the instant compares greater than or equal to the result,
+     * which makes it usable as a bound for range scans.
+     *
+     * @param time The instant (not before {@link #EPOCH}).
+     * @return The ID text bound.
+     */
+    public static String lowerBound(Instant time) {
+        long millis = Math.max(0, time.toEpochMilli() - EPOCH.toEpochMilli());
+        return toText(millis << (NODE_BITS + SEQUENCE_BITS));
+    }
+
+    private static int digitOf(char c) {
+        for (int d = 0; d < ALPHABET.length; d++) {
+            if (ALPHABET[d] == c) return d;
+        }
+        return -1;
+    }
+}
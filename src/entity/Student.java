@@ -13,13 +13,22 @@ import filter.StudentFilter;
  * Tracks the student's academic details (Year, Major) and manages their
  * internship applications, including the limit of concurrent applications (Max 3)
  * and eligibility rules based on seniority.
+ * <p>
+ * The number of active applications and of successful ones are kept as counters, updated by each
+ * {@link Application} state change under the student's lock, so eligibility checks are O(1).
+ * They are the single source for both these entity rules and {@code ApplicationController}.
+ * </p>
  */
 public class Student extends User {
     
     private final int yearOfStudy;
     private final String major;
+    private final int majorCode;
     private final List<Application> applications;  // up to 3 concurrent
     private Application acceptedApplication;       // 0..1
+    // maintained on every application transition; see applicationChanged
+    private int activeCount;
+    private int successfulCount;
 
     /**
      * Constructs a new Student user.
@@ -44,6 +53,7 @@ public class Student extends User {
         }
         this.yearOfStudy = yearOfStudy;
         this.major = major;
+        this.majorCode = NameDictionary.MAJORS.encode(major);
         this.applications = new ArrayList<>();
         this.acceptedApplication = null;
         
@@ -67,6 +77,14 @@ public class Student extends User {
         return major;
     }
 
+    /**
+     * Gets the dictionary code of the student's major.
+     * @return The code from {@link NameDictionary#MAJORS}.
+     */
+    public int getMajorCode() {
+        return majorCode;
+    }
+
     /**
      * Retrieves a read-only list of all applications submitted by this student.
      * @return An unmodifiable list of {@link Application} objects.
@@ -79,15 +97,23 @@ public class Student extends User {
      * Checks if the student has successfully accepted an internship placement.
      * @return {@code true} if an application has been accepted.
      */
-    public boolean hasAcceptedPlacement() {
+    public synchronized boolean hasAcceptedPlacement() {
         return acceptedApplication != null;
     }
 
+    /**
+     * Checks if any of the student's applications is currently SUCCESSFUL (offered but not withdrawn).
+     * @return {@code true} if the student holds a successful application.
+     */
+    public synchronized boolean hasSuccessfulApplication() {
+        return successfulCount > 0;
+    }
+
     /**
      * Retrieves the specific application that was accepted by the student.
      * @return The accepted {@link Application}, or {@code null} if none.
      */
-    public Application getAcceptedApplication() {
+    public synchronized Application getAcceptedApplication() {
         return acceptedApplication;
     }
 
@@ -122,23 +148,57 @@ public class Student extends User {
      * @param internship The internship to apply for.
      * @return {@code true} if the application was created successfully; {@code false} if ineligible or quota reached.
      */
-    public boolean applyFor(Internship internship) {
+    public synchronized boolean applyFor(Internship internship) {
         if (internship == null) return false;
-        if (getActiveApplicationCount() >= 3) return false;
+        if (activeCount >= 3) return false;
         if (!canApplyTo(internship)) return false;
 
         Application app = new Application(this, internship, ApplicationStatus.PENDING);
         applications.add(app);
+        app.tracked = true;
+        if (app.isActive()) activeCount++;
+        if (app.getStatus() == ApplicationStatus.SUCCESSFUL) successfulCount++;
+        return true;
+    }
+
+    /**
+     * Removes an application from the student's list, for example when it is deleted.
+     *
+     * @param app The application to remove.
+     * @return {@code true} if the application belonged to this student.
+     */
+    public synchronized boolean discard(Application app) {
+        if (app == null || !applications.remove(app)) return false;
+        app.tracked = false;
+        if (app.isActive()) activeCount--;
+        if (app.getStatus() == ApplicationStatus.SUCCESSFUL) successfulCount--;
+        if (acceptedApplication == app) acceptedApplication = null;
         return true;
     }
 
+    // Adds a restored application of this student to its list and counters.
+    synchronized void restore(Application app, boolean accepted) {
+        applications.add(app);
+        app.tracked = true;
+        if (app.isActive()) activeCount++;
+        if (app.getStatus() == ApplicationStatus.SUCCESSFUL) successfulCount++;
+        if (accepted) acceptedApplication = app;
+    }
+
+    // Called by an application of this student right after its state changed, under this student's lock.
+    synchronized void applicationChanged(Application app, boolean wasActive, boolean wasSuccessful) {
+        if (wasActive != app.isActive()) activeCount += wasActive ? -1 : 1;
+        boolean successful = app.getStatus() == ApplicationStatus.SUCCESSFUL;
+        if (wasSuccessful != successful) successfulCount += wasSuccessful ? -1 : 1;
+    }
+
     /**
      * Requests a withdrawal for a specific application.
      *
      * @param app The application to withdraw.
      * @return {@code true} if the request was sent successfully; {@code false} if the application does not belong to this student.
      */
-    public boolean withdraw(Application app) {
+    public synchronized boolean withdraw(Application app) {
         if (app == null) return false;
         if (!applications.contains(app)) return false;
         app.requestWithdrawal();
@@ -147,19 +207,13 @@ public class Student extends User {
 
     /**
      * Counts the number of currently active applications.
-     * An active application is defined as PENDING and not yet WITHDRAWN.
+     * An active application is one that is PENDING or SUCCESSFUL and not yet withdrawn
+     * (see {@link Application#isActive()}).
      *
      * @return The count of active applications.
      */
-    public int getActiveApplicationCount() {
-        int cnt = 0;
-        for (Application a : applications) {
-            if (a == null) continue;
-            if (a.getStatus() == ApplicationStatus.PENDING && !a.isWithdrawn()) {
-                cnt++;
-            }
-        }
-        return cnt;
+    public synchronized int getActiveApplicationCount() {
+        return activeCount;
     }
 
     /**
@@ -170,7 +224,7 @@ public class Student extends User {
      * @param app The application to accept (must be SUCCESSFUL status).
      * @return {@code true} if the acceptance was processed; {@code false} if the application is invalid or not successful.
      */
-    public boolean accept(Application app) {
+    public synchronized boolean accept(Application app) {
         if (app == null) return false;
 
         // The application must belong to this student
@@ -195,6 +249,22 @@ public class Student extends User {
         return true;
     }
 
+    /**
+     * Captures which application the student has accepted.
+     * Running the returned action puts it back; application states are restored separately
+     * through {@link Application#checkpoint()}.
+     *
+     * @return An action restoring the captured state.
+     */
+    public synchronized Runnable checkpoint() {
+        Application saved = acceptedApplication;
+        return () -> {
+            synchronized (this) {
+                acceptedApplication = saved;
+            }
+        };
+    }
+
     /**
      * Retrieves a list of internships from the student's existing applications that remain eligible.
      *
@@ -10,6 +10,7 @@ import filter.CompositeFilter;
 public abstract class User {
     
     private final String userId;
+    private final int handle;
     private final String name;
     private String password;
     private CompositeFilter<Internship> filter;
@@ -27,6 +28,7 @@ public abstract class User {
             throw new IllegalArgumentException("userId, name, and password must not be null");
         }
         this.userId = userId;
+        this.handle = HandleRegistry.USERS.register(userId);
         this.name = name;
         this.password = password;
         this.filter = null;
@@ -40,6 +42,14 @@ public abstract class User {
         return userId;
     }
 
+    /**
+     * Retrieves the dense integer handle of this user.
+     * @return The handle from {@link HandleRegistry#USERS}.
+     */
+    public int getHandle() {
+        return handle;
+    }
+
     /**
      * Retrieves the user's full name.
      * @return The name.
@@ -18,7 +18,7 @@ public class WithdrawalRequest {
 
     /**
      * Constructs a new WithdrawalRequest.
-     * Initializes the request with the current date and a default PENDING status.
+     * Initializes the request with {@link AppClock#today()} and a default PENDING status.
      *
      * @param requestId    The unique identifier for this request.
      * @param studentId    The ID of the student making the request.
@@ -28,7 +28,7 @@ public class WithdrawalRequest {
         this.requestId = requestId;
         this.studentId = studentId;
         this.internshipId = internshipId;
-        this.requestDate = LocalDate.now();
+        this.requestDate = AppClock.today();
         this.status = WithdrawalStatus.PENDING;
     }
 
@@ -36,13 +36,13 @@ public class WithdrawalRequest {
 
     /**
      * Submits or updates the withdrawal request with a specific reason.
-     * Resets the request date to the current date and ensures status is PENDING.
+     * Resets the request date to {@link AppClock#today()} and ensures status is PENDING.
      *
      * @param reason The textual explanation for why the student wishes to withdraw.
      */
     public void submitRequest(String reason) {
         this.reason = reason;
-        this.requestDate = LocalDate.now();
+        this.requestDate = AppClock.today();
         this.status = WithdrawalStatus.PENDING;
     }
 
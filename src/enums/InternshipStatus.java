@@ -11,5 +11,7 @@ public enum InternshipStatus {
     /** Rejected by the admin. */
     REJECTED,
     /** All slots have been taken; no longer accepting applications. */
-    FILLED
+    FILLED,
+    /** The closing date has passed; no longer accepting applications. */
+    CLOSED
 }
\ No newline at end of file
@@ -1,23 +1,40 @@
 package filter;
+import data.InternshipColumns;
 import entity.Internship;
 import java.time.LocalDate;
 /**
  * A filter that selects internships based on their closing date.
  * It checks if the internship's closing date falls within the specified start and end dates (inclusive).
  */
-public class CloseDateRangeFilter implements Filter<Internship> {
+public class CloseDateRangeFilter implements ColumnarFilter {
     private final LocalDate from, to;
+    private final int fromDay, toDay;
     /**
      * Constructs a new CloseDateRangeFilter.
      *
      * @param from The start date of the range (inclusive). If null, there is no lower bound.
      * @param to   The end date of the range (inclusive). If null, there is no upper bound.
      */
-    public CloseDateRangeFilter(LocalDate from, LocalDate to) { this.from = from; this.to = to; }
+    public CloseDateRangeFilter(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+        this.fromDay = from == null ? Integer.MIN_VALUE : InternshipColumns.toDay(from);
+        this.toDay = to == null ? Integer.MAX_VALUE : InternshipColumns.toDay(to);
+    }
     @Override
     public boolean matches(Internship i) {
         if (from != null && i.getClosingDate().isBefore(from)) return false;
         if (to != null && i.getClosingDate().isAfter(to)) return false;
         return true;
     }
-}
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        int close = columns.closeDay(row);
+        return close >= fromDay && close <= toDay;
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskCloseBetween(fromDay, toDay);
+    }
+}
\ No newline at end of file
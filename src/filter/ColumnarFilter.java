@@ -0,0 +1,156 @@
+package filter;
+
+import data.InternshipColumns;
+import data.RowMask;
+import entity.Internship;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An internship filter that can also be evaluated directly against a row of {@link InternshipColumns}.
+ * Implementations must give the same answer as {@link Filter#matches(Object)} on the row's entity.
+ */
+public interface ColumnarFilter extends Filter<Internship> {
+
+    /**
+     * Determines if the given row matches the filter criteria.
+     *
+     * @param columns The columnar snapshot.
+     * @param row     The row index.
+     * @return {@code true} if the row matches; {@code false} otherwise.
+     */
+    boolean matchesRow(InternshipColumns columns, int row);
+
+    /**
+     * Evaluates the filter over every row at once.
+     * The default implementation calls {@link #matchesRow(InternshipColumns, int)} row by row;
+     * filters backed by a single column override it with a bulk predicate from {@link InternshipColumns}.
+     *
+     * @param columns The columnar snapshot.
+     * @return A {@link RowMask} bitmask of matching rows.
+     */
+    default long[] mask(InternshipColumns columns) {
+        long[] mask = RowMask.none(columns.size());
+        for (int r = 0; r < columns.size(); r++) {
+            if (matchesRow(columns, r)) mask[r >>> 6] |= 1L << r;
+        }
+        return mask;
+    }
+
+    /**
+     * Selects the internships in a columnar snapshot that satisfy a filter, preserving row order.
+     * A {@link CompositeFilter} is expanded into its parts in its current evaluation order, and
+     * the rows each part rejects are added to the composite's stage statistics. Parts implementing
+     * this interface are evaluated column-at-a-time into bitmasks which are intersected; any other
+     * part is then only checked against the entities of rows that survived.
+     * <p>
+     * A snapshot of at least {@link ParallelFilter#PARALLEL_THRESHOLD} rows is instead split into
+     * row ranges on the {@link ParallelFilter} pool. Each range checks its rows part by part, the
+     * columnar parts first via {@link #matchesRow(InternshipColumns, int)}, and the ranges' results
+     * and statistics are merged in row order, so the result is the same as on one thread.
+     * </p>
+     *
+     * @param columns The columnar snapshot to scan.
+     * @param filter  The filter to apply (may be a composite).
+     * @return The matching internships.
+     */
+    static List<Internship> select(InternshipColumns columns, Filter<Internship> filter) {
+        CompositeFilter<Internship> composite = null;
+        List<Filter<Internship>> parts = new ArrayList<>();
+        if (filter instanceof CompositeFilter) {
+            composite = (CompositeFilter<Internship>) filter;
+            if (composite.isUnsatisfiable()) return new ArrayList<>();
+            parts.addAll(composite.getEvaluationOrder());
+        } else {
+            parts.add(filter);
+        }
+
+        if (columns.size() >= ParallelFilter.PARALLEL_THRESHOLD) {
+            return selectInRanges(columns, parts, composite);
+        }
+
+        long[] mask = RowMask.all(columns.size());
+        int remaining = columns.size();
+        List<Filter<Internship>> rowFilters = new ArrayList<>();
+        for (Filter<Internship> f : parts) {
+            if (f instanceof ColumnarFilter) {
+                long start = System.nanoTime();
+                boolean any = RowMask.and(mask, ((ColumnarFilter) f).mask(columns));
+                int survivors = any ? RowMask.cardinality(mask) : 0;
+                if (composite != null) {
+                    composite.recordBatch(f, remaining, remaining - survivors, System.nanoTime() - start);
+                }
+                remaining = survivors;
+                if (!any) return new ArrayList<>();
+            } else {
+                rowFilters.add(f);
+            }
+        }
+
+        long[] seen = new long[rowFilters.size()];
+        long[] rejected = new long[rowFilters.size()];
+        List<Internship> out = new ArrayList<>();
+        rows:
+        for (int r = RowMask.nextSet(mask, 0); r >= 0; r = RowMask.nextSet(mask, r + 1)) {
+            Internship i = columns.internship(r);
+            for (int k = 0; k < rowFilters.size(); k++) {
+                seen[k]++;
+                if (!rowFilters.get(k).matches(i)) {
+                    rejected[k]++;
+                    continue rows;
+                }
+            }
+            out.add(i);
+        }
+        if (composite != null) {
+            for (int k = 0; k < rowFilters.size(); k++) {
+                composite.recordBatch(rowFilters.get(k), seen[k], rejected[k], 0L);
+            }
+        }
+        return out;
+    }
+
+    // Checks each row against every part on the ParallelFilter pool, columnar parts first.
+    private static List<Internship> selectInRanges(InternshipColumns columns, List<Filter<Internship>> parts,
+                                                   CompositeFilter<Internship> composite) {
+        List<Filter<Internship>> ordered = new ArrayList<>(parts.size());
+        for (Filter<Internship> f : parts) if (f instanceof ColumnarFilter) ordered.add(f);
+        for (Filter<Internship> f : parts) if (!(f instanceof ColumnarFilter)) ordered.add(f);
+        int n = ordered.size();
+        AtomicLongArray seen = new AtomicLongArray(n);
+        AtomicLongArray rejected = new AtomicLongArray(n);
+
+        List<Internship> out = ParallelFilter.select(columns.size(), (from, to, chunk) -> {
+            long[] chunkSeen = new long[n];
+            long[] chunkRejected = new long[n];
+            rows:
+            for (int r = from; r < to; r++) {
+                for (int k = 0; k < n; k++) {
+                    Filter<Internship> f = ordered.get(k);
+                    chunkSeen[k]++;
+                    boolean ok = f instanceof ColumnarFilter
+                            ? ((ColumnarFilter) f).matchesRow(columns, r)
+                            : f.matches(columns.internship(r));
+                    if (!ok) {
+                        chunkRejected[k]++;
+                        continue rows;
+                    }
+                }
+                chunk.add(columns.internship(r));
+            }
+            for (int k = 0; k < n; k++) {
+                seen.addAndGet(k, chunkSeen[k]);
+                rejected.addAndGet(k, chunkRejected[k]);
+            }
+        });
+
+        if (composite != null) {
+            for (int k = 0; k < n; k++) {
+                composite.recordBatch(ordered.get(k), seen.get(k), rejected.get(k), 0L);
+            }
+        }
+        return out;
+    }
+}
@@ -1,14 +1,17 @@
 package filter;
 
+import data.InternshipColumns;
 import entity.Internship;
+import entity.NameDictionary;
 
 /**
  * A filter that selects internships based on the company name.
- * It performs a case-insensitive comparison to match the internship's company field.
+ * Company names are compared by their {@link NameDictionary} code, so case and whitespace variants match.
  */
-public class CompanyFilter implements Filter<Internship> {
+public class CompanyFilter implements ColumnarFilter, ExclusiveFilter<Internship> {
     
     private final String company;
+    private final NameDictionary.Lookup companyCode;
 
     /**
      * Constructs a new CompanyFilter.
@@ -17,10 +20,31 @@ public class CompanyFilter implements Filter<Internship> {
      */
     public CompanyFilter(String company) { 
         this.company = company; 
+        this.companyCode = NameDictionary.COMPANIES.lookup(company);
     }
 
     @Override
     public boolean matches(Internship i) { 
-        return i.getCompany().equalsIgnoreCase(company); 
+        return i.getCompanyCode() == companyCode.code(); 
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        return columns.companyCode(row) == companyCode.code();
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskCompanyEquals(companyCode.code());
+    }
+
+    @Override
+    public Object attribute() {
+        return "company";
+    }
+
+    @Override
+    public Object requiredValue() {
+        return companyCode.key();
+    }
+}
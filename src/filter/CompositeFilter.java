@@ -1,22 +1,40 @@
 package filter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * An abstract implementation of the {@link Filter} interface that aggregates multiple filters.
  * This class uses "AND" logic: an item must satisfy <b>all</b> added filters to match.
  * Subclasses should implement {@link #setDefaultFilters()} to define their specific baseline criteria.
+ * <p>
+ * Filters are not necessarily evaluated in the order they were added. Each stage records how
+ * many items it saw and rejected and, for a sample of evaluations, how long it took. Every
+ * {@value #REORDER_INTERVAL} evaluations the stages are re-sorted by expected cost per rejected
+ * item, so cheap and selective filters run first. An {@link ExclusiveFilter} that repeats an
+ * existing one is not added again, and two that require different values of the same attribute
+ * make the composite match nothing without evaluating any stage. The statistics are advisory and
+ * are updated without locking.
+ * </p>
  *
  * @param <T> The type of object being filtered.
  */
 public abstract class CompositeFilter<T> implements Filter<T> {
+
+    private static final int REORDER_INTERVAL = 1024;
+    private static final int TIMING_SAMPLE = 16;
     
     /**
      * The list of active filters that checks are delegated to.
      */
     protected final List<Filter<T>> filters = new ArrayList<>();
 
+    private volatile Plan<T> plan;
+    private long evaluations;
+
     /**
      * Constructs a new CompositeFilter.
      * Initializes an empty list of filters.
@@ -32,7 +50,9 @@ public abstract class CompositeFilter<T> implements Filter<T> {
      * @param f The filter to add.
      */
     public void addFilter(Filter<T> f) {
+        if (isRedundant(f)) return;
         filters.add(f);
+        plan = null;
     }
 
     /**
@@ -42,20 +62,115 @@ public abstract class CompositeFilter<T> implements Filter<T> {
      */
     public void removeFilter(Filter<T> f) {
         filters.remove(f);
+        plan = null;
+    }
+
+    /**
+     * Retrieves the filters currently in the composition, in the order they were added.
+     * The order they are evaluated in is given by {@link #getEvaluationOrder()}.
+     *
+     * @return An unmodifiable view of the filter list.
+     */
+    public List<Filter<T>> getFilters() {
+        return Collections.unmodifiableList(filters);
+    }
+
+    /**
+     * Retrieves the filters in the order they are currently evaluated.
+     *
+     * @return The filters, cheapest and most selective first according to the statistics so far.
+     */
+    public List<Filter<T>> getEvaluationOrder() {
+        Stage<T>[] stages = plan().stages;
+        List<Filter<T>> order = new ArrayList<>(stages.length);
+        for (Stage<T> s : stages) order.add(s.filter);
+        return order;
+    }
+
+    /**
+     * Checks whether two filters require different values of the same attribute,
+     * in which case no item can match.
+     *
+     * @return {@code true} if the composite can never match.
+     */
+    public boolean isUnsatisfiable() {
+        return plan().unsatisfiable;
+    }
+
+    /**
+     * Retrieves the statistics of each stage, in evaluation order.
+     *
+     * @return A snapshot of the per-stage counters.
+     */
+    public List<StageStats> getStageStats() {
+        List<StageStats> out = new ArrayList<>();
+        for (Stage<T> s : plan().stages) {
+            out.add(new StageStats(s.filter.getClass().getSimpleName(), s.evaluated, s.rejected,
+                    s.timed == 0 ? 0 : s.nanos / s.timed));
+        }
+        return out;
     }
 
     /**
      * Checks if the item satisfies <b>all</b> registered filters.
+     * Stops at the first filter that rejects it.
      *
      * @param item The object to check.
      * @return {@code true} if the item matches every filter in the list; {@code false} if it fails any single filter.
      */
     @Override
     public boolean matches(T item) {
-        for (Filter<T> f : filters) {
-            if (!f.matches(item)) return false;
+        Plan<T> current = plan();
+        if (current.unsatisfiable) return false;
+        long n = evaluations++;
+        boolean timed = n % TIMING_SAMPLE == 0;
+        boolean matched = true;
+        for (Stage<T> s : current.stages) {
+            long start = timed ? System.nanoTime() : 0L;
+            boolean ok = s.filter.matches(item);
+            if (timed) {
+                s.nanos += System.nanoTime() - start;
+                s.timed++;
+            }
+            s.evaluated++;
+            if (!ok) {
+                s.rejected++;
+                matched = false;
+                break;
+            }
         }
-        return true;
+        if (n % REORDER_INTERVAL == REORDER_INTERVAL - 1) reorder(current);
+        return matched;
+    }
+
+    /**
+     * Adds the outcome of evaluating one stage over a batch of items to its statistics.
+     * Used by evaluators that run a stage over many items at once.
+     *
+     * @param f        The filter of the stage.
+     * @param seen     How many items the stage evaluated.
+     * @param rejected How many of them it rejected.
+     * @param nanos    The time taken for the batch, or 0 if not measured.
+     */
+    void recordBatch(Filter<T> f, long seen, long rejected, long nanos) {
+        for (Stage<T> s : plan().stages) {
+            if (s.filter == f) {
+                s.evaluated += seen;
+                s.rejected += rejected;
+                if (seen > 0 && nanos > 0) {
+                    s.nanos += nanos;
+                    s.timed += seen;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Re-sorts the stages by their statistics now instead of waiting for the next interval.
+     */
+    public void reorder() {
+        reorder(plan());
     }
 
     /**
@@ -66,6 +181,7 @@ public abstract class CompositeFilter<T> implements Filter<T> {
     public void clear() {
         filters.clear();
         setDefaultFilters();
+        plan = null;
     }
 
     /**
@@ -73,4 +189,131 @@ public abstract class CompositeFilter<T> implements Filter<T> {
      * Subclasses must implement this to ensure the filter starts in a valid state (e.g., restricting a user to their own data).
      */
     protected abstract void setDefaultFilters(); // subclasses define defaults
+
+    // ========== EVALUATION PLAN ==========
+
+    private Plan<T> plan() {
+        Plan<T> current = plan;
+        if (current == null || current.stages.length != filters.size()) {
+            current = buildPlan();
+            plan = current;
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Plan<T> buildPlan() {
+        Stage<T>[] stages = (Stage<T>[]) new Stage<?>[filters.size()];
+        boolean unsatisfiable = false;
+        for (int i = 0; i < stages.length; i++) {
+            Filter<T> f = filters.get(i);
+            stages[i] = new Stage<>(f);
+            for (int j = 0; j < i && !unsatisfiable; j++) {
+                unsatisfiable = conflicts(filters.get(j), f);
+            }
+        }
+        return new Plan<>(stages, unsatisfiable);
+    }
+
+    private void reorder(Plan<T> current) {
+        Stage<T>[] sorted = Arrays.copyOf(current.stages, current.stages.length);
+        Arrays.sort(sorted, Comparator.comparingDouble(Stage::rank));
+        if (plan == current) plan = new Plan<>(sorted, current.unsatisfiable);
+    }
+
+    private boolean isRedundant(Filter<T> f) {
+        for (Filter<T> existing : filters) {
+            if (existing == f) return true;
+            if (existing instanceof ExclusiveFilter && f instanceof ExclusiveFilter) {
+                ExclusiveFilter<T> a = (ExclusiveFilter<T>) existing, b = (ExclusiveFilter<T>) f;
+                if (a.attribute().equals(b.attribute()) && a.requiredValue().equals(b.requiredValue())) return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> boolean conflicts(Filter<T> x, Filter<T> y) {
+        if (!(x instanceof ExclusiveFilter) || !(y instanceof ExclusiveFilter)) return false;
+        ExclusiveFilter<T> a = (ExclusiveFilter<T>) x, b = (ExclusiveFilter<T>) y;
+        return a.attribute().equals(b.attribute()) && !a.requiredValue().equals(b.requiredValue());
+    }
+
+    private static final class Plan<T> {
+        final Stage<T>[] stages;
+        final boolean unsatisfiable;
+
+        Plan(Stage<T>[] stages, boolean unsatisfiable) {
+            this.stages = stages;
+            this.unsatisfiable = unsatisfiable;
+        }
+    }
+
+    // One filter with its running counters.
+    private static final class Stage<T> {
+        final Filter<T> filter;
+        long evaluated;
+        long rejected;
+        long timed;
+        long nanos;
+
+        Stage(Filter<T> filter) {
+            this.filter = filter;
+        }
+
+        // Expected time spent per item rejected; lower runs earlier. Unmeasured stages keep to the back.
+        double rank() {
+            if (evaluated == 0 || timed == 0) return Double.MAX_VALUE;
+            double cost = Math.max(1.0, (double) nanos / timed);
+            double rejectRate = (double) rejected / evaluated;
+            return cost / Math.max(rejectRate, 1e-6);
+        }
+    }
+
+    /**
+     * Read-only statistics of one stage of a composite filter.
+     */
+    public static final class StageStats {
+
+        private final String filterName;
+        private final long evaluated;
+        private final long rejected;
+        private final long averageNanos;
+
+        StageStats(String filterName, long evaluated, long rejected, long averageNanos) {
+            this.filterName = filterName;
+            this.evaluated = evaluated;
+            this.rejected = rejected;
+            this.averageNanos = averageNanos;
+        }
+
+        /**
+         * Gets the simple class name of the stage's filter.
+         * @return The filter name.
+         */
+        public String getFilterName() { return filterName; }
+
+        /**
+         * Gets how many items reached this stage.
+         * @return The evaluated count.
+         */
+        public long getEvaluated() { return evaluated; }
+
+        /**
+         * Gets how many items this stage rejected.
+         * @return The rejected count.
+         */
+        public long getRejected() { return rejected; }
+
+        /**
+         * Gets the average time per evaluated item, from sampled evaluations.
+         * @return The average in nanoseconds, or 0 if not yet measured.
+         */
+        public long getAverageNanos() { return averageNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d evaluated, %d rejected, ~%d ns each",
+                    filterName, evaluated, rejected, averageNanos);
+        }
+    }
 }
\ No newline at end of file
@@ -1,25 +1,57 @@
 package filter;
 
+import data.InternshipColumns;
+import entity.AppClock;
 import entity.Internship;
 import java.time.LocalDate;
 
 /**
  * A filter that selects internships that are currently active.
- * It checks if the current system date falls within the internship's application period 
+ * It checks if today's date falls within the internship's application period 
  * (on or after the Open Date and on or before the Closing Date).
+ * <p>
+ * Unless constructed with a fixed date, "today" is {@link AppClock#today()}, which is read once
+ * per request when the caller holds an {@link AppClock#snapshot(java.time.Clock) AppClock snapshot}.
+ * </p>
  */
-public class CurrentlyOpenFilter implements Filter<Internship> {
+public class CurrentlyOpenFilter implements ColumnarFilter {
+
+    private final LocalDate fixedToday;
 
     /**
-     * Constructs a new CurrentlyOpenFilter.
+     * Constructs a new CurrentlyOpenFilter that evaluates against {@link AppClock#today()}.
      */
     public CurrentlyOpenFilter() {
-        // Default constructor
+        this(null);
+    }
+
+    /**
+     * Constructs a new CurrentlyOpenFilter that evaluates against a fixed date.
+     *
+     * @param today The date to treat as today, or {@code null} to use {@link AppClock#today()}.
+     */
+    public CurrentlyOpenFilter(LocalDate today) {
+        this.fixedToday = today;
     }
 
     @Override
     public boolean matches(Internship i) {
-        LocalDate now = LocalDate.now();
+        LocalDate now = today();
         return !now.isBefore(i.getOpenDate()) && !now.isAfter(i.getClosingDate());
     }
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        int today = InternshipColumns.toDay(today());
+        return columns.openDay(row) <= today && today <= columns.closeDay(row);
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskOpenOn(InternshipColumns.toDay(today()));
+    }
+
+    private LocalDate today() {
+        return fixedToday != null ? fixedToday : AppClock.today();
+    }
 }
\ No newline at end of file
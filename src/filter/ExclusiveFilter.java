@@ -0,0 +1,26 @@
+package filter;
+
+/**
+ * A filter that requires one attribute to have exactly one value.
+ * {@link CompositeFilter} uses this to drop a filter that repeats an existing one and to detect
+ * two filters that demand different values of the same attribute, which no item can satisfy.
+ *
+ * @param <T> The type of object being filtered.
+ */
+public interface ExclusiveFilter<T> extends Filter<T> {
+
+    /**
+     * Identifies the attribute this filter constrains.
+     * Filters constraining the same attribute must return equal keys.
+     *
+     * @return The attribute key.
+     */
+    Object attribute();
+
+    /**
+     * Gets the only value of the attribute that this filter accepts.
+     *
+     * @return The required value.
+     */
+    Object requiredValue();
+}
@@ -0,0 +1,70 @@
+package filter;
+
+import data.InternshipKeywordIndex;
+import entity.Internship;
+
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * A filter that selects internships whose title or description contains every keyword of a query.
+ * Matching is answered from an {@link InternshipKeywordIndex}; the search result is cached
+ * and only recomputed when the index changes.
+ */
+public class KeywordFilter implements Filter<Internship> {
+
+    private final InternshipKeywordIndex index;
+    private final String query;
+    private volatile Cached cached;
+
+    /**
+     * Constructs a new KeywordFilter.
+     *
+     * @param index The keyword index maintained by the internship service.
+     * @param query The keywords to search for (e.g., "backend java").
+     */
+    public KeywordFilter(InternshipKeywordIndex index, String query) {
+        this.index = index;
+        this.query = query;
+    }
+
+    /**
+     * Gets the query this filter searches for.
+     * @return The query string.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Retrieves the IDs of all internships matching the query.
+     * Can be used to narrow a candidate list before other filters are evaluated.
+     *
+     * @return The set of matching internship IDs.
+     */
+    public Set<String> matchingIds() {
+        return index.search(query);
+    }
+
+    @Override
+    public boolean matches(Internship i) {
+        long current = index.getVersion();
+        Cached c = cached;
+        if (c == null || c.version != current) {
+            c = new Cached(current, index.searchHandles(query));
+            cached = c;
+        }
+        return c.handles.get(i.getHandle());
+    }
+
+    // Matching internship handles for one index version; published as a unit so threads never mix them.
+    private static final class Cached {
+        final long version;
+        final BitSet handles;
+
+        Cached(long version, BitSet handles) {
+            this.version = version;
+            this.handles = handles;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package filter;
 
+import data.InternshipColumns;
 import entity.Internship;
 import enums.InternshipLevel;
 
@@ -7,7 +8,7 @@ import enums.InternshipLevel;
  * A filter that selects internships based on their professional level.
  * It matches internships that correspond to a specific level (e.g., PROFESSIONAL, INTERNSHIP).
  */
-public class LevelFilter implements Filter<Internship> {
+public class LevelFilter implements ColumnarFilter, ExclusiveFilter<Internship> {
     
     private final InternshipLevel level;
 
@@ -24,4 +25,24 @@ public class LevelFilter implements Filter<Internship> {
     public boolean matches(Internship i) { 
         return i.getLevel() == level; 
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        return columns.level(row) == level.ordinal();
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskLevelEquals(level.ordinal());
+    }
+
+    @Override
+    public Object attribute() {
+        return "level";
+    }
+
+    @Override
+    public Object requiredValue() {
+        return level;
+    }
+}
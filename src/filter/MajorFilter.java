@@ -1,14 +1,17 @@
 package filter;
 
+import data.InternshipColumns;
 import entity.Internship;
+import entity.NameDictionary;
 
 /**
  * A filter that selects internships based on the preferred major.
- * It performs a case-insensitive comparison to match the internship's preferred major field.
+ * Majors are compared by their {@link NameDictionary} code, so case and whitespace variants match.
  */
-public class MajorFilter implements Filter<Internship> {
+public class MajorFilter implements ColumnarFilter, ExclusiveFilter<Internship> {
     
     private final String major;
+    private final NameDictionary.Lookup majorCode;
 
     /**
      * Constructs a new MajorFilter.
@@ -17,10 +20,31 @@ public class MajorFilter implements Filter<Internship> {
      */
     public MajorFilter(String major) { 
         this.major = major; 
+        this.majorCode = NameDictionary.MAJORS.lookup(major);
     }
 
     @Override
     public boolean matches(Internship i) { 
-        return i.getPreferredMajor().equalsIgnoreCase(major); 
+        return i.getPreferredMajorCode() == majorCode.code(); 
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        return columns.majorCode(row) == majorCode.code();
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskMajorEquals(majorCode.code());
+    }
+
+    @Override
+    public Object attribute() {
+        return "major";
+    }
+
+    @Override
+    public Object requiredValue() {
+        return majorCode.key();
+    }
+}
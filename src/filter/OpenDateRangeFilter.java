@@ -1,5 +1,6 @@
 package filter;
 
+import data.InternshipColumns;
 import entity.Internship;
 import java.time.LocalDate;
 
@@ -7,9 +8,10 @@ import java.time.LocalDate;
  * A filter that selects internships based on their opening date.
  * It checks if the internship's open date falls within the specified start and end dates (inclusive).
  */
-public class OpenDateRangeFilter implements Filter<Internship> {
+public class OpenDateRangeFilter implements ColumnarFilter {
     
     private final LocalDate from, to;
+    private final int fromDay, toDay;
 
     /**
      * Constructs a new OpenDateRangeFilter.
@@ -20,6 +22,8 @@ public class OpenDateRangeFilter implements Filter<Internship> {
     public OpenDateRangeFilter(LocalDate from, LocalDate to) { 
         this.from = from; 
         this.to = to; 
+        this.fromDay = from == null ? Integer.MIN_VALUE : InternshipColumns.toDay(from);
+        this.toDay = to == null ? Integer.MAX_VALUE : InternshipColumns.toDay(to);
     }
 
     @Override
@@ -28,4 +32,15 @@ public class OpenDateRangeFilter implements Filter<Internship> {
         if (to != null && i.getOpenDate().isAfter(to)) return false;
         return true;
     }
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        int open = columns.openDay(row);
+        return open >= fromDay && open <= toDay;
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskOpenBetween(fromDay, toDay);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package filter;
+
+import entity.AppClock;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates a filter over a large list on a dedicated fork/join pool.
+ * <p>
+ * Lists shorter than {@value #PARALLEL_THRESHOLD} items are filtered on the calling thread. Longer
+ * lists are split in halves down to chunks of {@value #LEAF_SIZE} items, the chunks are filtered on
+ * the pool's workers, and the partial results are concatenated left to right, so the output keeps
+ * the input order. The pool is bounded to one fewer thread than there are processors (at least one)
+ * and its daemon threads are never shared with request handling. The caller's
+ * {@link AppClock#today()} is pinned on each worker, so date filters see the same day throughout.
+ * </p>
+ */
+public final class ParallelFilter {
+
+    /** Smallest list filtered in parallel. */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    /** Largest chunk filtered by one task without splitting further. */
+    public static final int LEAF_SIZE = 2048;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("filter-worker-" + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            },
+            null, false);
+
+    private ParallelFilter() {
+    }
+
+    /**
+     * Returns the items that match a filter, in their original order.
+     * Uses the fork/join pool when the list is at least {@value #PARALLEL_THRESHOLD} items long.
+     * The filter must be safe to call from several threads at once.
+     *
+     * @param <T>    The type of item.
+     * @param items  The items to filter.
+     * @param filter The filter to apply.
+     * @return A new list of the matching items.
+     */
+    public static <T> List<T> filter(List<T> items, Filter<T> filter) {
+        return select(items.size(), (from, to, out) -> {
+            for (int i = from; i < to; i++) {
+                T item = items.get(i);
+                if (filter.matches(item)) out.add(item);
+            }
+        });
+    }
+
+    /**
+     * Collects results over the positions {@code [0, size)}, for sources that are not a list of
+     * items, such as the rows of a columnar snapshot. The range is split into chunks as in
+     * {@link #filter(List, Filter)}, each chunk appends its results in position order, and the
+     * chunks' results are concatenated in range order. Below {@value #PARALLEL_THRESHOLD}
+     * positions the whole range is handed to the selector on the calling thread.
+     * Chunk boundaries are multiples of 64, so chunks never share a {@link data.RowMask} word.
+     *
+     * @param <T>      The type of result.
+     * @param size     The number of positions.
+     * @param selector Selects the results of one chunk; must be safe to call from several threads at once.
+     * @return A new list of the results.
+     */
+    public static <T> List<T> select(int size, RangeSelector<T> selector) {
+        if (size < PARALLEL_THRESHOLD || POOL.getParallelism() < 2) {
+            List<T> out = new ArrayList<>();
+            selector.select(0, size, out);
+            return out;
+        }
+        return POOL.invoke(new Chunk<>(selector, 0, size, AppClock.today()));
+    }
+
+    /**
+     * Gets the number of worker threads of the pool.
+     * @return The pool's parallelism.
+     */
+    public static int getParallelism() {
+        return POOL.getParallelism();
+    }
+
+    /**
+     * Selects the results for one chunk of positions.
+     *
+     * @param <T> The type of result.
+     */
+    @FunctionalInterface
+    public interface RangeSelector<T> {
+
+        /**
+         * Appends the results for the positions {@code [from, to)} in position order.
+         *
+         * @param from The first position (inclusive).
+         * @param to   The last position (exclusive).
+         * @param out  The list to append to.
+         */
+        void select(int from, int to, List<T> out);
+    }
+
+    private static final class Chunk<T> extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeSelector<T> selector;
+        private final int from;
+        private final int to;
+        private final LocalDate today;
+
+        Chunk(RangeSelector<T> selector, int from, int to, LocalDate today) {
+            this.selector = selector;
+            this.from = from;
+            this.to = to;
+            this.today = today;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from <= LEAF_SIZE) {
+                return AppClock.withToday(today, () -> {
+                    List<T> out = new ArrayList<>();
+                    selector.select(from, to, out);
+                    return out;
+                });
+            }
+            // split on a multiple of 64 so no two chunks write the same mask word
+            int mid = ((from + to) >>> 1) & ~63;
+            Chunk<T> left = new Chunk<>(selector, from, mid, today);
+            Chunk<T> right = new Chunk<>(selector, mid, to, today);
+            left.fork();
+            List<T> rightResult = right.compute();
+            List<T> result = left.join();
+            result.addAll(rightResult);
+            return result;
+        }
+    }
+}
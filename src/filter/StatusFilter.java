@@ -1,5 +1,6 @@
 package filter;
 
+import data.InternshipColumns;
 import entity.Internship;
 import enums.InternshipStatus;
 
@@ -7,7 +8,7 @@ import enums.InternshipStatus;
  * A filter that selects internships based on their current status.
  * It matches internships that correspond to a specific status (e.g., PENDING, APPROVED, FILLED).
  */
-public class StatusFilter implements Filter<Internship> {
+public class StatusFilter implements ColumnarFilter, ExclusiveFilter<Internship> {
     
     private final InternshipStatus status;
 
@@ -24,4 +25,24 @@ public class StatusFilter implements Filter<Internship> {
     public boolean matches(Internship i) { 
         return i.getStatus() == status; 
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        return columns.status(row) == status.ordinal();
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskStatusEquals(status.ordinal());
+    }
+
+    @Override
+    public Object attribute() {
+        return "status";
+    }
+
+    @Override
+    public Object requiredValue() {
+        return status;
+    }
+}
@@ -1,12 +1,13 @@
 package filter;
 
+import data.InternshipColumns;
 import entity.Internship;
 
 /**
  * A filter that selects internships that are currently marked as visible.
  * This is typically used to hide closed or filled internships from students.
  */
-public class VisibleFilter implements Filter<Internship> {
+public class VisibleFilter implements ColumnarFilter, ExclusiveFilter<Internship> {
 
     /**
      * Constructs a new VisibleFilter.
@@ -19,4 +20,24 @@ public class VisibleFilter implements Filter<Internship> {
     public boolean matches(Internship i) {
         return i.isVisible();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        return columns.isVisible(row);
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        return columns.maskVisible();
+    }
+
+    @Override
+    public Object attribute() {
+        return "visible";
+    }
+
+    @Override
+    public Object requiredValue() {
+        return Boolean.TRUE;
+    }
+}
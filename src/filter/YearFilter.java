@@ -1,13 +1,15 @@
 package filter;
 
+import data.InternshipColumns;
 import entity.Internship;
+import enums.InternshipLevel;
 
 /**
  * A filter that determines if an internship is suitable for a student of a specific year.
  * Instead of a direct equality check, this filter delegates to the internship's eligibility logic 
  * (e.g., mapping the student's year to the required Internship Level).
  */
-public class YearFilter implements Filter<Internship> {
+public class YearFilter implements ColumnarFilter {
     
     private final int year;
 
@@ -23,5 +25,19 @@ public class YearFilter implements Filter<Internship> {
     @Override
     public boolean matches(Internship i) { 
         return i.isStudentYearEligible(year); 
-    } 
+    }
+
+    @Override
+    public boolean matchesRow(InternshipColumns columns, int row) {
+        // mirrors Internship.isStudentYearEligible: BASIC for all, others from year 3
+        int lvl = columns.level(row);
+        if (lvl == InternshipLevel.BASIC.ordinal()) return true;
+        return lvl >= 0 && year >= 3;
+    }
+
+    @Override
+    public long[] mask(InternshipColumns columns) {
+        int maxLevel = year >= 3 ? InternshipLevel.ADVANCED.ordinal() : InternshipLevel.BASIC.ordinal();
+        return columns.maskLevelAtMost(maxLevel);
+    }
 }
\ No newline at end of file
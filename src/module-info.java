@@ -4,4 +4,6 @@
  * including controllers, views, and entity models.
  */
 module LabAssignment {
+    uses data.StorageBackend;
+    provides data.StorageBackend with data.MemoryStorageBackend, data.LogStorageBackend;
 }
\ No newline at end of file
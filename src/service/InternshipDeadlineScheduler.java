@@ -0,0 +1,261 @@
+package service;
+
+import data.InternshipRepository;
+import entity.Internship;
+import enums.InternshipStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Applies the date-driven transitions of approved internships in the background.
+ * <p>
+ * When an approved internship's closing date has passed it is hidden and marked
+ * {@link InternshipStatus#CLOSED}; an internship approved before its open date stays hidden
+ * until that date and is then made visible. Both events are kept in a {@link TimingWheel} keyed
+ * by day, so scheduling and firing cost O(1) per event no matter how many listings exist. All
+ * events due on a day are applied together and published with a single
+ * {@link InternshipRepository#updateAll(java.util.Collection)}, under the repository's
+ * {@link InternshipRepository#changeLock() change lock} so they never interleave with a unit of work.
+ * </p>
+ * <p>
+ * Events are not removed from the wheel when a listing changes; instead each event checks, when it
+ * fires, that the listing is still stored, still approved and still has the date it was scheduled
+ * for. The one exception is an activation the listing's owner withdrew by hiding it again
+ * ({@link #cancelActivation(Internship)}); at most one activation per listing is pending.
+ * </p>
+ * <p>
+ * If publishing a day's changes fails, every internship is put back as it was and the events are
+ * scheduled again, so the next run retries them. A failing run or activation callback is reported
+ * on standard error and does not stop the background thread.
+ * </p>
+ */
+public class InternshipDeadlineScheduler implements AutoCloseable {
+
+    private final InternshipRepository repo;
+    private final Clock clock;
+    private final TimingWheel<Deadline> wheel;
+    private final Map<Integer, Deadline> activations = new HashMap<>();
+    private ScheduledExecutorService executor;
+    private Consumer<Internship> onActivated = i -> { };
+
+    /**
+     * Constructs a scheduler positioned at the clock's current date. Nothing runs until
+     * {@link #start(Duration)} or {@link #advanceTo(LocalDate)} is called.
+     *
+     * @param repo  The repository holding the internships.
+     * @param clock The clock that supplies the current date.
+     */
+    public InternshipDeadlineScheduler(InternshipRepository repo, Clock clock) {
+        this.repo = repo;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(LocalDate.now(clock).toEpochDay());
+    }
+
+    /**
+     * Schedules the open-date activation (if the internship is hidden until a later open date)
+     * and the expiry of an approved internship. Other internships are ignored.
+     *
+     * @param internship The internship.
+     */
+    public synchronized void schedule(Internship internship) {
+        if (internship.getStatus() != InternshipStatus.APPROVED) return;
+        scheduleActivation(internship);
+        LocalDate close = internship.getClosingDate();
+        if (close != null) {
+            Deadline expiry = new Deadline(internship, true, close);
+            wheel.schedule(expiry.day(), expiry);
+        }
+    }
+
+    /**
+     * Schedules an approved internship that is hidden until a later open date to become visible on
+     * that date, replacing any activation already pending for it. Other internships are ignored.
+     *
+     * @param internship The internship.
+     * @return {@code true} if an activation is now pending.
+     */
+    public synchronized boolean scheduleActivation(Internship internship) {
+        cancelActivation(internship);
+        LocalDate open = internship.getOpenDate();
+        if (internship.getStatus() != InternshipStatus.APPROVED || internship.isVisible()
+                || open == null || open.toEpochDay() <= wheel.today()) {
+            return false;
+        }
+        Deadline activation = new Deadline(internship, false, open);
+        activations.put(internship.getHandle(), activation);
+        wheel.schedule(activation.day(), activation);
+        return true;
+    }
+
+    /**
+     * Withdraws the pending open-date activation of an internship, so it stays hidden.
+     *
+     * @param internship The internship.
+     * @return {@code true} if an activation was pending.
+     */
+    public synchronized boolean cancelActivation(Internship internship) {
+        Deadline pending = activations.remove(internship.getHandle());
+        if (pending == null) return false;
+        pending.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Sets a callback told about each internship made visible on its open date,
+     * after the change has been stored.
+     *
+     * @param listener The callback.
+     * @throws IllegalArgumentException If the listener is null.
+     */
+    public synchronized void setActivationListener(Consumer<Internship> listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        this.onActivated = listener;
+    }
+
+    /**
+     * Applies every event due on or before a date.
+     *
+     * @param today The current date.
+     * @return The number of internships that changed.
+     * @throws RuntimeException If the changes could not be published; the internships are then
+     *                          restored and the events stay scheduled.
+     */
+    public synchronized int advanceTo(LocalDate today) {
+        List<Internship> changed = new ArrayList<>();
+        List<Internship> activated = new ArrayList<>();
+        List<Deadline> applied = new ArrayList<>();
+        List<Runnable> undo = new ArrayList<>();
+        Lock lock = repo.changeLock();
+        lock.lock();
+        try {
+            wheel.advanceTo(today.toEpochDay(), d -> {
+                if (!d.expiry) activations.remove(d.internship.getHandle(), d);
+                Runnable checkpoint = d.internship.checkpoint();
+                if (d.apply()) {
+                    changed.add(d.internship);
+                    applied.add(d);
+                    undo.add(checkpoint);
+                    if (!d.expiry) activated.add(d.internship);
+                }
+            });
+            if (!changed.isEmpty()) {
+                try {
+                    repo.updateAll(changed);
+                } catch (RuntimeException e) {
+                    // the entities are live objects the repository still holds: put them back and retry later
+                    for (int n = undo.size() - 1; n >= 0; n--) undo.get(n).run();
+                    try {
+                        repo.republish(changed);
+                    } catch (RuntimeException again) {
+                        e.addSuppressed(again);
+                    }
+                    for (Deadline d : applied) {
+                        if (!d.expiry) activations.putIfAbsent(d.internship.getHandle(), d);
+                        wheel.schedule(d.day(), d);
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Internship i : activated) {
+            if (!i.isVisible()) continue;
+            try {
+                onActivated.accept(i);
+            } catch (RuntimeException e) {
+                System.err.println("Activation callback failed for " + i.getId() + ": " + e);
+            }
+        }
+        return changed.size();
+    }
+
+    /**
+     * Gets the number of scheduled events that have not fired yet.
+     * @return The pending event count.
+     */
+    public synchronized int pending() {
+        return wheel.size();
+    }
+
+    /**
+     * Starts a daemon thread that advances the scheduler to the clock's current date at a fixed period.
+     *
+     * @param period How often to check the date.
+     * @throws IllegalStateException If the scheduler is already running.
+     */
+    public synchronized void start(Duration period) {
+        if (executor != null) throw new IllegalStateException("Deadline scheduler already started");
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "internship-deadlines");
+            t.setDaemon(true);
+            return t;
+        });
+        // an exception escaping a run would silently cancel every later run
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                advanceTo(LocalDate.now(clock));
+            } catch (RuntimeException e) {
+                System.err.println("Internship deadline run failed: " + e);
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread, if running.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private boolean isCurrent(Internship internship) {
+        return repo.findByHandle(internship.getHandle()) == internship
+                && internship.getStatus() == InternshipStatus.APPROVED;
+    }
+
+    // An expiry (close) or activation (open) event for one internship.
+    private final class Deadline {
+        final Internship internship;
+        final boolean expiry;
+        final LocalDate date;
+        boolean cancelled;
+
+        Deadline(Internship internship, boolean expiry, LocalDate date) {
+            this.internship = internship;
+            this.expiry = expiry;
+            this.date = date;
+        }
+
+        // an internship expires the day after its closing date
+        long day() {
+            return expiry ? date.toEpochDay() + 1 : date.toEpochDay();
+        }
+
+        boolean apply() {
+            if (cancelled || !isCurrent(internship)) return false;
+            if (expiry) {
+                if (!date.equals(internship.getClosingDate())) return false;
+                internship.close();
+            } else {
+                if (!date.equals(internship.getOpenDate()) || internship.isVisible()) return false;
+                internship.setVisible(true);
+            }
+            return true;
+        }
+    }
+}
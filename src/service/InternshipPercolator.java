@@ -0,0 +1,166 @@
+package service;
+
+import entity.Internship;
+import entity.NameDictionary;
+import filter.CompositeFilter;
+import filter.ExclusiveFilter;
+import filter.Filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Matches newly visible internships against students' saved filters (a reverse, or "percolator", index).
+ * <p>
+ * A subscription is a copy of a user's filter parts at the time it was saved. Each subscription is
+ * indexed under a single term taken from one of its {@link ExclusiveFilter} parts, preferring the
+ * most selective attribute (major, then company, level, status, visibility); subscriptions without
+ * such a part are kept in a match-all list. To percolate an internship, the terms describing it are
+ * looked up, and only the subscriptions found there (plus the match-all ones) have their remaining
+ * parts evaluated. Matches are posted to the subscriber's {@link NotificationInbox}.
+ * </p>
+ * <p>
+ * Subscriptions are not persisted: they live only as long as this object, so users must
+ * subscribe again after a restart.
+ * </p>
+ */
+public class InternshipPercolator {
+
+    private static final List<String> TERM_PRIORITY = Arrays.asList("major", "company", "level", "status", "visible");
+
+    private final NotificationInbox inbox;
+    private final Map<String, Subscription> byUser = new HashMap<>();
+    private final Map<List<Object>, List<Subscription>> byTerm = new HashMap<>();
+    private final List<Subscription> matchAll = new ArrayList<>();
+
+    /**
+     * Constructs a new InternshipPercolator.
+     *
+     * @param inbox The inbox that receives match notifications.
+     */
+    public InternshipPercolator(NotificationInbox inbox) {
+        this.inbox = inbox;
+    }
+
+    /**
+     * Saves a copy of a filter as a user's standing subscription, replacing any earlier one.
+     * Later changes to the filter do not affect the subscription.
+     *
+     * @param userId The ID of the subscriber.
+     * @param filter The filter to save.
+     * @throws IllegalArgumentException If the user ID or filter is null.
+     */
+    public synchronized void subscribe(String userId, CompositeFilter<Internship> filter) {
+        if (userId == null || filter == null) throw new IllegalArgumentException("User and filter are required");
+        unsubscribe(userId);
+        Subscription s = new Subscription(userId, new ArrayList<>(filter.getFilters()));
+        byUser.put(userId, s);
+        if (s.term == null) {
+            matchAll.add(s);
+        } else {
+            byTerm.computeIfAbsent(s.term, t -> new ArrayList<>()).add(s);
+        }
+    }
+
+    /**
+     * Removes a user's subscription, if any.
+     *
+     * @param userId The ID of the subscriber.
+     * @return {@code true} if a subscription was removed.
+     */
+    public synchronized boolean unsubscribe(String userId) {
+        Subscription s = byUser.remove(userId);
+        if (s == null) return false;
+        if (s.term == null) {
+            matchAll.remove(s);
+        } else {
+            List<Subscription> list = byTerm.get(s.term);
+            list.remove(s);
+            if (list.isEmpty()) byTerm.remove(s.term);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a user has a standing subscription.
+     *
+     * @param userId The ID of the user.
+     * @return {@code true} if subscribed.
+     */
+    public synchronized boolean isSubscribed(String userId) {
+        return byUser.containsKey(userId);
+    }
+
+    /**
+     * Notifies every subscriber whose saved filter the internship satisfies.
+     * Date-based filter parts read {@link entity.AppClock#today()}, so callers pin the date first.
+     *
+     * @param internship The internship that just became visible.
+     * @return The number of subscribers notified.
+     */
+    public synchronized int percolate(Internship internship) {
+        List<Subscription> candidates = new ArrayList<>(matchAll);
+        for (List<Object> term : termsOf(internship)) {
+            List<Subscription> list = byTerm.get(term);
+            if (list != null) candidates.addAll(list);
+        }
+        int notified = 0;
+        for (Subscription s : candidates) {
+            if (s.matches(internship)) {
+                inbox.post(s.userId, "New internship matching your saved filter: "
+                        + internship.getTitle() + " (" + internship.getCompany() + ")");
+                notified++;
+            }
+        }
+        return notified;
+    }
+
+    // The index terms an internship can be found under; must agree with ExclusiveFilter.requiredValue().
+    private static List<List<Object>> termsOf(Internship i) {
+        List<List<Object>> terms = new ArrayList<>(5);
+        terms.add(List.of("major", Objects.toString(NameDictionary.canonicalize(i.getPreferredMajor()), "")));
+        terms.add(List.of("company", Objects.toString(NameDictionary.canonicalize(i.getCompany()), "")));
+        if (i.getLevel() != null) terms.add(List.of("level", i.getLevel()));
+        if (i.getStatus() != null) terms.add(List.of("status", i.getStatus()));
+        if (i.isVisible()) terms.add(List.of("visible", Boolean.TRUE));
+        return terms;
+    }
+
+    private static final class Subscription {
+        final String userId;
+        final List<Filter<Internship>> parts;
+        final List<Object> term;
+
+        Subscription(String userId, List<Filter<Internship>> parts) {
+            this.userId = userId;
+            this.parts = parts;
+            this.term = chooseTerm(parts);
+        }
+
+        boolean matches(Internship i) {
+            for (Filter<Internship> f : parts) {
+                if (!f.matches(i)) return false;
+            }
+            return true;
+        }
+
+        private static List<Object> chooseTerm(List<Filter<Internship>> parts) {
+            List<Object> best = null;
+            int bestRank = Integer.MAX_VALUE;
+            for (Filter<Internship> f : parts) {
+                if (!(f instanceof ExclusiveFilter)) continue;
+                ExclusiveFilter<Internship> e = (ExclusiveFilter<Internship>) f;
+                int rank = TERM_PRIORITY.indexOf(e.attribute());
+                if (rank >= 0 && rank < bestRank) {
+                    bestRank = rank;
+                    best = List.of(e.attribute(), e.requiredValue());
+                }
+            }
+            return best;
+        }
+    }
+}
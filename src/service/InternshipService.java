@@ -1,17 +1,31 @@
 package service;
 
+import data.InternshipColumns;
 import data.InternshipRepository;
+import data.RowMask;
+import data.InternshipKeywordIndex;
 import data.ApplicationRepository;
+import entity.AppClock;
+import entity.CareerCenterStaff;
 import entity.Internship;
+import entity.Report;
+import entity.ReportFilter;
 import entity.User;
 import entity.CompanyRep;
+import entity.NameDictionary;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import enums.InternshipLevel;
 import enums.InternshipStatus;
+import filter.ColumnarFilter;
+import filter.Filter;
+import filter.ParallelFilter;
+import filter.KeywordFilter;
 
 /**
  * Service class responsible for managing Internship entities.
@@ -21,36 +35,168 @@ import enums.InternshipStatus;
 public class InternshipService {
 
     private final InternshipRepository repo;
+    private final InternshipKeywordIndex keywordIndex = new InternshipKeywordIndex();
+    private final InternshipDeadlineScheduler deadlines;
+    private final NotificationInbox inbox = new NotificationInbox();
+    private final InternshipPercolator percolator = new InternshipPercolator(inbox);
+    private final Clock clock;
     /**
-     * Constructs a new InternshipService.
+     * Constructs a new InternshipService that reads dates from {@link AppClock#get()}.
      *
      * @param repo The repository used for data access to Internship objects.
      */
     public InternshipService(InternshipRepository repo) {
+        this(repo, AppClock.get());
+    }
+
+    /**
+     * Constructs a new InternshipService.
+     * Any internships already in the repository are added to the keyword index,
+     * and the open/close dates of approved ones are handed to the deadline scheduler.
+     *
+     * @param repo  The repository used for data access to Internship objects.
+     * @param clock The clock that supplies today's date.
+     */
+    public InternshipService(InternshipRepository repo, Clock clock) {
         this.repo = repo;
+        this.clock = clock;
+        this.deadlines = new InternshipDeadlineScheduler(repo, clock);
+        this.deadlines.setActivationListener(this::percolate);
+        for (Internship i : repo.all()) {
+            keywordIndex.add(i);
+            deadlines.schedule(i);
+        }
+    }
+
+    /**
+     * Gets the scheduler that closes expired internships and activates them on their open date.
+     * Call {@link InternshipDeadlineScheduler#start(java.time.Duration)} to run it in the background.
+     *
+     * @return The deadline scheduler.
+     */
+    public InternshipDeadlineScheduler getDeadlineScheduler() {
+        return deadlines;
+    }
+
+    /**
+     * Saves a user's current filter settings as a standing subscription, replacing any earlier one.
+     * From then on, each internship that becomes visible and matches them is announced in the
+     * user's inbox (see {@link #getNotifications(User)}). Subscriptions and notifications are held
+     * in memory only and are lost when the application restarts.
+     *
+     * @param user The subscribing user.
+     */
+    public void subscribe(User user) {
+        percolator.subscribe(user.getUserId(), user.getFilter());
+    }
+
+    /**
+     * Cancels a user's standing subscription.
+     *
+     * @param user The user.
+     * @return {@code true} if the user had a subscription.
+     */
+    public boolean unsubscribe(User user) {
+        return percolator.unsubscribe(user.getUserId());
+    }
+
+    /**
+     * Checks whether a user has a standing subscription.
+     *
+     * @param user The user.
+     * @return {@code true} if subscribed.
+     */
+    public boolean isSubscribed(User user) {
+        return percolator.isSubscribed(user.getUserId());
+    }
+
+    /**
+     * Gets the number of unread notifications of a user.
+     *
+     * @param user The user.
+     * @return The unread count.
+     */
+    public int getUnreadNotificationCount(User user) {
+        return inbox.unreadCount(user.getUserId());
+    }
+
+    /**
+     * Retrieves and clears a user's unread notifications.
+     *
+     * @param user The user.
+     * @return The messages, oldest first.
+     */
+    public List<String> getNotifications(User user) {
+        return inbox.takeAll(user.getUserId());
+    }
+
+    /**
+     * Creates a filter that matches internships containing all of the given keywords
+     * in their title or description.
+     *
+     * @param query The keywords to search for.
+     * @return A {@link KeywordFilter} backed by this service's keyword index.
+     */
+    public KeywordFilter keywordFilter(String query) {
+        return new KeywordFilter(keywordIndex, query);
     }
 
     /**
      * Retrieves a list of internships filtered by the user's specific preferences.
+     * The scan runs over the repository's columnar snapshot, with today's date captured once
+     * for the whole evaluation.
      *
      * @param user The user whose filter settings should be applied.
      * @return A list of {@link Internship} objects matching the user's criteria.
      */
     public List<Internship> getInternshipsFor(User user) {
-        return repo.all().stream()
-                .filter(i -> user.getFilter().matches(i))
-                .collect(Collectors.toList());
+        return AppClock.withToday(clock, () -> ColumnarFilter.select(repo.columns(), user.getFilter()));
+    }
+
+    /**
+     * Narrows an earlier result by one more filter, without rescanning the catalog.
+     * Large results are filtered in parallel on the {@link ParallelFilter} pool.
+     * Valid only while {@link #getCatalogVersion()} is unchanged since the earlier result was computed.
+     *
+     * @param previous The earlier result.
+     * @param added    The filter being added.
+     * @return The internships of {@code previous} that also match {@code added}, in the same order.
+     */
+    public List<Internship> refine(List<Internship> previous, Filter<Internship> added) {
+        return AppClock.withToday(clock, () -> ParallelFilter.filter(previous, added));
+    }
+
+    /**
+     * Gets a stamp identifying the current state of the catalog.
+     * It changes whenever an internship is added, removed or updated.
+     *
+     * @return The catalog version.
+     */
+    public long getCatalogVersion() {
+        return repo.getVersion();
+    }
+
+    /**
+     * Gets today's date according to this service's clock.
+     * Results involving date filters are only reusable while this stays the same.
+     *
+     * @return Today's date.
+     */
+    public LocalDate today() {
+        return LocalDate.now(clock);
     }
 
     /**
      * Retrieves all internships posted by a specific company.
+     * Company names are matched by their {@link NameDictionary} code, ignoring case and spacing.
      *
      * @param company The name of the company to filter by.
      * @return A list of {@link Internship} objects belonging to that company.
      */
     public List<Internship> getInternshipsFor(String company) {
+        int companyCode = NameDictionary.COMPANIES.lookup(company).code();
         return repo.all().stream()
-                .filter(i -> i.getCompany().equals(company))
+                .filter(i -> i.getCompanyCode() == companyCode)
                 .collect(Collectors.toList());
     }
 
@@ -83,6 +229,7 @@ public class InternshipService {
 
         Internship internship = new Internship(title, description, level, preferredMajor, openDate, closeDate, rep.getCompany(), slots);
         repo.add(internship);
+        keywordIndex.add(internship);
         rep.incrementInternships();
         return internship;
     }
@@ -132,7 +279,9 @@ public class InternshipService {
 
         if (visibility != null) existing.setVisible(visibility);
 
-        return repo.update(existing);
+        Internship saved = repo.update(existing);
+        keywordIndex.update(saved);
+        return saved;
     }
 
     /**
@@ -148,7 +297,7 @@ public class InternshipService {
         Internship existing = repo.findById(id);
         if (existing == null) throw new IllegalArgumentException("Internship not found: " + id);
         if (existing.getStatus() != null && existing.getStatus().name().equals("PENDING")) {
-            repo.update(updated);
+            keywordIndex.update(repo.update(updated));
         } else {
             throw new IllegalStateException("Cannot edit internship unless status is PENDING");
         }
@@ -166,7 +315,7 @@ public class InternshipService {
     public void deleteInternship(CompanyRep rep, String id) {
         Internship existing = repo.findById(id);
         if (existing == null) throw new IllegalArgumentException("Internship not found: " + id);
-        if (!existing.getCompany().equals(rep.getCompany())) {
+        if (existing.getCompanyCode() != rep.getCompanyCode()) {
             throw new IllegalStateException("Not authorized to delete this internship.");
         }
         if (existing.getStatus() != null && existing.getStatus() != InternshipStatus.PENDING) {
@@ -174,21 +323,36 @@ public class InternshipService {
         }
         boolean removed = repo.remove(id);
         if (!removed) throw new IllegalStateException("Failed to delete internship: " + id);
+        keywordIndex.remove(existing);
         rep.decrementInternships();
     }
 
     /**
      * Toggles the visibility of a specific internship.
+     * An approved internship made visible before its open date stays hidden until the deadline
+     * scheduler activates it on that date, exactly as after approval; hiding it withdraws that
+     * activation. Subscribers whose saved filters match are notified when an approved internship
+     * becomes visible.
      *
      * @param id      The unique ID of the internship.
      * @param visible {@code true} to make it visible, {@code false} to hide it.
+     * @return {@code true} if the internship is visible now.
      * @throws IllegalArgumentException If the internship is not found.
      */
-    public void setVisibility(String id, boolean visible) {
+    public boolean setVisibility(String id, boolean visible) {
         Internship existing = repo.findById(id);
         if (existing == null) throw new IllegalArgumentException("Internship not found: " + id);
-        existing.setVisible(visible);
-        repo.update(existing);
+        if (visible && existing.getStatus() == InternshipStatus.APPROVED) {
+            boolean wasListed = existing.isVisible();
+            showWhenOpen(existing);
+            deadlines.scheduleActivation(existing);
+            if (!wasListed && existing.isVisible()) percolate(existing);
+        } else {
+            if (!visible) deadlines.cancelActivation(existing);
+            existing.setVisible(visible);
+            repo.update(existing);
+        }
+        return existing.isVisible();
     }
 
     /**
@@ -201,6 +365,7 @@ public class InternshipService {
         if (internship.getFilledSlots() >= internship.getSlots()) {
             internship.setVisible(false);
             internship.setStatus(InternshipStatus.FILLED);
+            repo.update(internship);
         }
     }
 
@@ -214,9 +379,59 @@ public class InternshipService {
     public java.util.List<Internship> getAllInternships() {
         return repo.all();
     }
+    /**
+     * Generates a report over the internships selected by a report filter.
+     * The selection scans the repository's columnar snapshot; catalogs of at least
+     * {@link ParallelFilter#PARALLEL_THRESHOLD} internships are scanned range by range on the
+     * {@link ParallelFilter} pool, smaller ones with the filter's column masks.
+     *
+     * @param reportId    The ID of the new report.
+     * @param generatedBy The staff member generating the report.
+     * @param filter      The criteria selecting the internships to include.
+     * @return The report, dated today by this service's clock.
+     */
+    public Report generateReport(String reportId, CareerCenterStaff generatedBy, ReportFilter filter) {
+        InternshipColumns columns = repo.columns();
+        List<Internship> included;
+        if (columns.size() >= ParallelFilter.PARALLEL_THRESHOLD) {
+            included = ParallelFilter.select(columns.size(), (from, to, out) -> {
+                for (int r = from; r < to; r++) {
+                    if (filter.matchesRow(columns, r)) out.add(columns.internship(r));
+                }
+            });
+        } else {
+            long[] mask = filter.applyFilter(columns);
+            included = new ArrayList<>();
+            for (int r = RowMask.nextSet(mask, 0); r >= 0; r = RowMask.nextSet(mask, r + 1)) {
+                included.add(columns.internship(r));
+            }
+        }
+        return new Report(reportId, generatedBy, LocalDate.now(clock), included);
+    }
+
+    /**
+     * Retrieves the internships awaiting approval, earliest closing date first.
+     *
+     * @return A list of pending {@link Internship} objects.
+     */
+    public List<Internship> getPendingInternships() {
+        return repo.findPendingApproval();
+    }
+
+    /**
+     * Counts the internships awaiting approval.
+     *
+     * @return The number of pending internships.
+     */
+    public int countPendingInternships() {
+        return repo.countPendingApproval();
+    }
+
     /**
      * Approves an internship listing.
-     * Sets the status to {@code APPROVED} and ensures it is visible.
+     * Sets the status to {@code APPROVED} and makes it visible, or, if its open date is still
+     * in the future, keeps it hidden until the deadline scheduler activates it on that date.
+     * Subscribers whose saved filters match are notified once the listing becomes visible.
      *
      * @param id The unique ID of the internship to approve.
      * @throws IllegalArgumentException If the internship is not found.
@@ -224,10 +439,25 @@ public class InternshipService {
     public void approveInternship(String id) {
         Internship existing = repo.findById(id);
         if (existing == null) throw new IllegalArgumentException("Internship not found: " + id);
+        boolean wasListed = existing.isVisible() && existing.getStatus() == InternshipStatus.APPROVED;
         existing.setStatus(InternshipStatus.APPROVED);
-        existing.setVisible(true);
-        repo.update(existing);
+        showWhenOpen(existing);
+        deadlines.schedule(existing);
+        if (!wasListed && existing.isVisible()) percolate(existing);
+    }
+
+    // Makes an approved internship visible if its open date has come and hides it otherwise;
+    // the caller schedules the activation of a hidden one.
+    private void showWhenOpen(Internship internship) {
+        LocalDate open = internship.getOpenDate();
+        internship.setVisible(open == null || !open.isAfter(LocalDate.now(clock)));
+        repo.update(internship);
     }
+    // Notifies the subscribers whose saved filters match a newly visible internship.
+    private void percolate(Internship internship) {
+        AppClock.withToday(clock, () -> percolator.percolate(internship));
+    }
+
     /**
      * Rejects an internship listing.
      * Sets the status to {@code REJECTED} and hides it from view.
@@ -0,0 +1,66 @@
+package service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds unread notification messages per user, oldest first.
+ */
+public class NotificationInbox {
+
+    private final Map<String, Deque<String>> inboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new, empty NotificationInbox.
+     */
+    public NotificationInbox() {
+        // Default constructor
+    }
+
+    /**
+     * Adds a message to a user's inbox.
+     *
+     * @param userId  The ID of the recipient.
+     * @param message The message text.
+     */
+    public void post(String userId, String message) {
+        Deque<String> inbox = inboxes.computeIfAbsent(userId, k -> new ArrayDeque<>());
+        synchronized (inbox) {
+            inbox.addLast(message);
+        }
+    }
+
+    /**
+     * Gets the number of unread messages of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The unread count.
+     */
+    public int unreadCount(String userId) {
+        Deque<String> inbox = inboxes.get(userId);
+        if (inbox == null) return 0;
+        synchronized (inbox) {
+            return inbox.size();
+        }
+    }
+
+    /**
+     * Removes and returns all unread messages of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The messages, oldest first; empty if there are none.
+     */
+    public List<String> takeAll(String userId) {
+        Deque<String> inbox = inboxes.get(userId);
+        if (inbox == null) return new ArrayList<>();
+        synchronized (inbox) {
+            List<String> out = new ArrayList<>(inbox);
+            inbox.clear();
+            return out;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel with a granularity of one day.
+ * <p>
+ * Level {@code L} has {@value #SLOTS} slots, each spanning {@code 64^L} days. An entry is placed
+ * on the lowest level whose higher digits (base 64) of the due day agree with the current day, in
+ * the slot given by its own digit at that level. Advancing one day fires the level-0 slot of the
+ * new day; when a digit rolls over, the matching slot one level up is emptied and its entries are
+ * placed again, now on a lower level. Scheduling and firing are O(1) per entry, and each entry is
+ * moved at most once per level. Entries beyond the top level wait in an overflow list.
+ * </p>
+ * <p>
+ * Not thread-safe; callers synchronize.
+ * </p>
+ *
+ * @param <T> The type of scheduled item.
+ */
+final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int LEVELS = 4;
+
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<Entry<T>> late = new ArrayList<>();
+    private long now;
+    private int size;
+
+    /**
+     * Constructs an empty wheel positioned at a day.
+     *
+     * @param today The current epoch day.
+     */
+    TimingWheel(long today) {
+        this.now = today;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(null);
+        }
+    }
+
+    /**
+     * Schedules an item for a day. Items for the current day or earlier fire on the next advance.
+     *
+     * @param day  The epoch day the item is due.
+     * @param item The item.
+     */
+    void schedule(long day, T item) {
+        Entry<T> entry = new Entry<>(day, item);
+        if (day <= now) {
+            late.add(entry);
+        } else {
+            place(entry);
+        }
+        size++;
+    }
+
+    /**
+     * Advances to a day, handing every item due on or before it to a consumer.
+     * Does nothing if the day is not after the current one, apart from firing late items.
+     *
+     * @param day  The new current epoch day.
+     * @param fire Receives each due item.
+     */
+    void advanceTo(long day, Consumer<? super T> fire) {
+        drain(late, fire);
+        while (now < day) {
+            now++;
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((now & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            if ((now & ((1L << (BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+                List<Entry<T>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                for (Entry<T> e : waiting) place(e);
+            }
+            List<Entry<T>> due = slots.get(index(0, now));
+            if (due != null) {
+                slots.set(index(0, now), null);
+                drain(due, fire);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of scheduled items not yet fired.
+     * @return The pending item count.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the current day of the wheel.
+     * @return The epoch day.
+     */
+    long today() {
+        return now;
+    }
+
+    private void cascade(int level) {
+        int at = index(level, now);
+        List<Entry<T>> moving = slots.get(at);
+        if (moving == null) return;
+        slots.set(at, null);
+        for (Entry<T> e : moving) place(e);
+    }
+
+    private void place(Entry<T> entry) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * (level + 1);
+            if ((entry.day >>> shift) == (now >>> shift)) {
+                int at = index(level, entry.day);
+                List<Entry<T>> slot = slots.get(at);
+                if (slot == null) {
+                    slot = new ArrayList<>();
+                    slots.set(at, slot);
+                }
+                slot.add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private void drain(List<Entry<T>> entries, Consumer<? super T> fire) {
+        if (entries.isEmpty()) return;
+        List<Entry<T>> batch = new ArrayList<>(entries);
+        entries.clear();
+        size -= batch.size();
+        for (Entry<T> e : batch) fire.accept(e.item);
+    }
+
+    private static int index(int level, long day) {
+        return level * SLOTS + (int) ((day >>> (BITS * level)) & (SLOTS - 1));
+    }
+
+    private static final class Entry<T> {
+        final long day;
+        final T item;
+
+        Entry(long day, T item) {
+            this.day = day;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package data;
+
+import entity.Internship;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Checks that {@link InternshipKeywordIndex} keeps a document when an edit leaves the indexed
+ * text unchanged, and that searches give the same answers before and after compaction.
+ * <p>
+ * Run with {@code java -cp <classes> data.InternshipKeywordIndexTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class InternshipKeywordIndexTest {
+
+    private InternshipKeywordIndexTest() {
+    }
+
+    public static void main(String[] args) {
+        unchangedTextIsNotReindexed();
+        searchesSurviveCompaction();
+        System.out.println("InternshipKeywordIndexTest: all passed");
+    }
+
+    static void unchangedTextIsNotReindexed() {
+        InternshipKeywordIndex index = new InternshipKeywordIndex();
+        Internship i = internship("KW-1", "Backend engineer", "Java services");
+        index.add(i);
+        long version = index.getVersion();
+
+        i.setVisible(false);
+        index.update(i);
+        check(index.getVersion() == version, "visibility-only edit re-indexed the internship");
+
+        i.setTitle("Frontend engineer");
+        index.update(i);
+        check(index.getVersion() != version, "title edit was not re-indexed");
+        check(index.search("frontend").equals(Set.of("KW-1")), "new title not searchable");
+        check(index.search("backend").isEmpty(), "old title still searchable");
+    }
+
+    static void searchesSurviveCompaction() {
+        InternshipKeywordIndex index = new InternshipKeywordIndex();
+        Internship stable = internship("KW-STABLE", "Data analyst", "Python and SQL");
+        Internship edited = internship("KW-EDITED", "Intern 0", "rotating team");
+        index.add(stable);
+        index.add(edited);
+        // thousands of retitles leave thousands of deleted documents behind and force compaction
+        for (int n = 1; n <= 5000; n++) {
+            edited.setTitle("Intern " + n);
+            index.update(edited);
+        }
+        Internship removed = internship("KW-REMOVED", "Data engineer", "pipelines");
+        index.add(removed);
+        index.remove("KW-REMOVED");
+
+        check(index.search("data").equals(Set.of("KW-STABLE")), "stable internship lost: " + index.search("data"));
+        check(index.search("intern 5000").equals(Set.of("KW-EDITED")), "latest title not found");
+        check(index.search("intern 4999").isEmpty(), "superseded title still found");
+        check(index.search("rotating").equals(Set.of("KW-EDITED")), "description of edited internship lost");
+        check(index.contains(index.searchDocs("sql"), stable.getHandle()), "document lookup broken after compaction");
+    }
+
+    private static Internship internship(String id, String title, String description) {
+        return Internship.restore(id, title, description, InternshipLevel.BASIC, "Computer Science",
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), "Acme", 3, 0,
+                InternshipStatus.APPROVED, true);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,93 @@
+package data;
+
+import entity.Internship;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Times every discovered {@link StorageBackend}: writing internships through a
+ * {@link WriteBehindBuffer}, with every internship updated a few times so writes coalesce, and,
+ * for durable backends, reopening the store and loading it back.
+ * <p>
+ * Run with {@code java -cp <classes> data.StorageBackendBenchmark [internships]}; the default is 20000.
+ * Numbers are indicative only: there is no warm-up beyond one untimed round.
+ * </p>
+ */
+public final class StorageBackendBenchmark {
+
+    private static final int UPDATES_PER_INTERNSHIP = 4;
+
+    private StorageBackendBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        for (StorageBackend backend : StorageBackend.available()) {
+            run(backend, Math.min(count, 1000), false); // warm-up
+            run(backend, count, true);
+        }
+    }
+
+    private static void run(StorageBackend backend, int count, boolean report) throws IOException {
+        Path directory = Files.createTempDirectory("ims-benchmark-" + backend.name());
+        try {
+            Internship[] internships = new Internship[count];
+            for (int n = 0; n < count; n++) {
+                internships[n] = Internship.restore(String.format("BM-%07d", n), "Role " + n, "Description " + n,
+                        InternshipLevel.BASIC, "Computer Science", LocalDate.of(2026, 1, 1),
+                        LocalDate.of(2026, 12, 31), "Acme", UPDATES_PER_INTERNSHIP + 1, 0,
+                        InternshipStatus.APPROVED, true);
+            }
+
+            long start = System.nanoTime();
+            WriteBehindBuffer.Metrics metrics;
+            try (InternshipStore store = backend.openInternshipStore(directory)) {
+                WriteBehindBuffer<String, InternshipSnapshot> buffer =
+                        new WriteBehindBuffer<>(store, Duration.ofMillis(100), 256);
+                for (int round = 1; round <= UPDATES_PER_INTERNSHIP; round++) {
+                    for (Internship i : internships) {
+                        i.setFilledSlots(round);
+                        buffer.put(i.getId(), InternshipSnapshot.of(i));
+                    }
+                }
+                buffer.close();
+                metrics = buffer.getMetrics();
+            }
+            long writeNanos = System.nanoTime() - start;
+
+            long loadNanos = -1;
+            int loaded = -1;
+            if (backend.isDurable()) {
+                start = System.nanoTime();
+                try (InternshipStore store = backend.openInternshipStore(directory)) {
+                    loaded = store.loadAll().size();
+                }
+                loadNanos = System.nanoTime() - start;
+            }
+
+            if (report) {
+                long puts = (long) count * UPDATES_PER_INTERNSHIP;
+                System.out.printf("%-8s %d puts in %d ms (%.0f puts/s), %s%n", backend.name(), puts,
+                        writeNanos / 1_000_000, puts * 1e9 / writeNanos, metrics);
+                if (loadNanos >= 0) {
+                    System.out.printf("%-8s reopened and loaded %d internships in %d ms%n",
+                            backend.name(), loaded, loadNanos / 1_000_000);
+                }
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Runs the same contract against every {@link StorageBackend} found by {@link StorageBackend#available()}:
+ * put, overwrite and delete through {@link BatchWriter#writeBatch(Map)} and, for durable backends,
+ * reopening the store and reopening it after a crash tore the last write (every file in the data
+ * directory cut short by a few bytes). Internship and application stores are both checked.
+ * <p>
+ * Run with {@code java -cp <classes> data.StorageBackendConformanceTest}; a failure throws an {@link AssertionError}.
+ * The class path must include {@code META-INF/services} for the backends to be found.
+ * </p>
+ */
+public final class StorageBackendConformanceTest {
+
+    private static final LocalDate OPEN = LocalDate.of(2026, 1, 1);
+    private static final LocalDate CLOSE = LocalDate.of(2026, 12, 31);
+    private static final int TORN_BYTES = 3;
+
+    private StorageBackendConformanceTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<StorageBackend> backends = StorageBackend.available();
+        Set<String> names = new HashSet<>();
+        for (StorageBackend b : backends) names.add(b.name());
+        check(names.contains("memory") && names.contains("log"), "built-in backends not discovered: " + names);
+
+        for (StorageBackend backend : backends) {
+            Path directory = Files.createTempDirectory("ims-conformance-" + backend.name());
+            try {
+                internshipStoreContract(backend, directory.resolve("internships"));
+                applicationStoreContract(backend, directory.resolve("applications"));
+            } finally {
+                deleteRecursively(directory);
+            }
+        }
+        System.out.println("StorageBackendConformanceTest: all passed (" + names + ")");
+    }
+
+    static void internshipStoreContract(StorageBackend backend, Path directory) throws IOException {
+        String name = backend.name() + " internships";
+        Map<String, String> expected = new TreeMap<>();
+        InternshipStore store = backend.openInternshipStore(directory);
+        try {
+            check(store.loadAll().isEmpty(), name + ": new store not empty");
+            if (backend.isDurable()) store = reopen(backend, directory, store);
+
+            Internship a = internship("CF-A", "Analyst", 0);
+            Internship b = internship("CF-B", "Engineer", 1);
+            write(store, expected, a, b);
+            store = reopen(backend, directory, store);
+            checkInternships(store, expected, name + " put");
+
+            Internship renamed = internship("CF-A", "Senior analyst", 2);
+            write(store, expected, renamed);
+            store = reopen(backend, directory, store);
+            checkInternships(store, expected, name + " overwrite");
+
+            store.writeBatch(deletion("CF-B"));
+            expected.remove("CF-B");
+            store = reopen(backend, directory, store);
+            checkInternships(store, expected, name + " delete");
+
+            if (!backend.isDurable()) return;
+            store = reopen(backend, directory, reopen(backend, directory, store));
+            checkInternships(store, expected, name + " reload");
+
+            // the last write is torn by a crash: everything before it must survive
+            store.writeBatch(snapshots(internship("CF-C", "Torn", 0)));
+            store.close();
+            tearTail(directory);
+            store = backend.openInternshipStore(directory);
+            checkInternships(store, expected, name + " torn tail");
+            write(store, expected, internship("CF-D", "After crash", 0));
+            store = reopen(backend, directory, store);
+            checkInternships(store, expected, name + " write after torn tail");
+        } finally {
+            store.close();
+        }
+    }
+
+    static void applicationStoreContract(StorageBackend backend, Path directory) throws IOException {
+        String name = backend.name() + " applications";
+        Map<String, String> expected = new TreeMap<>();
+        ApplicationStore store = backend.openApplicationStore(directory);
+        try {
+            check(loadApplications(store).isEmpty(), name + ": new store not empty");
+            if (backend.isDurable()) store = reopen(backend, directory, store);
+
+            write(store, expected,
+                    application("APP-CF-1", "CF-S1", ApplicationStatus.PENDING),
+                    application("APP-CF-2", "CF-S2", ApplicationStatus.PENDING));
+            store = reopen(backend, directory, store);
+            checkApplications(store, expected, name + " put");
+
+            write(store, expected, application("APP-CF-1", "CF-S1", ApplicationStatus.SUCCESSFUL));
+            store = reopen(backend, directory, store);
+            checkApplications(store, expected, name + " overwrite");
+
+            store.writeBatch(deletion("APP-CF-2"));
+            expected.remove("APP-CF-2");
+            store = reopen(backend, directory, store);
+            checkApplications(store, expected, name + " delete");
+
+            if (!backend.isDurable()) return;
+            store = reopen(backend, directory, reopen(backend, directory, store));
+            checkApplications(store, expected, name + " reload");
+
+            Map<String, ApplicationSnapshot> torn = new LinkedHashMap<>();
+            torn.put("APP-CF-3", application("APP-CF-3", "CF-S2", ApplicationStatus.PENDING));
+            store.writeBatch(torn);
+            store.close();
+            tearTail(directory);
+            store = backend.openApplicationStore(directory);
+            checkApplications(store, expected, name + " torn tail");
+        } finally {
+            store.close();
+        }
+    }
+
+    // ========== HELPERS ==========
+
+    // A durable store is closed and opened again so reads come from disk; a heap store is kept.
+    private static InternshipStore reopen(StorageBackend backend, Path directory, InternshipStore store) throws IOException {
+        if (!backend.isDurable()) return store;
+        store.close();
+        return backend.openInternshipStore(directory);
+    }
+
+    private static ApplicationStore reopen(StorageBackend backend, Path directory, ApplicationStore store) throws IOException {
+        if (!backend.isDurable()) return store;
+        store.close();
+        return backend.openApplicationStore(directory);
+    }
+
+    private static void write(InternshipStore store, Map<String, String> expected, Internship... internships) {
+        store.writeBatch(snapshots(internships));
+        for (Internship i : internships) expected.put(i.getId(), describe(i));
+    }
+
+    private static void write(ApplicationStore store, Map<String, String> expected, ApplicationSnapshot... applications) {
+        Map<String, ApplicationSnapshot> batch = new LinkedHashMap<>();
+        for (ApplicationSnapshot s : applications) {
+            batch.put(s.getApplicationId(), s);
+            expected.put(s.getApplicationId(), s.getStudentId() + "|" + s.getInternshipId() + "|" + s.getStatus());
+        }
+        store.writeBatch(batch);
+    }
+
+    private static Map<String, InternshipSnapshot> snapshots(Internship... internships) {
+        Map<String, InternshipSnapshot> batch = new LinkedHashMap<>();
+        for (Internship i : internships) batch.put(i.getId(), InternshipSnapshot.of(i));
+        return batch;
+    }
+
+    private static <V> Map<String, V> deletion(String key) {
+        Map<String, V> batch = new LinkedHashMap<>();
+        batch.put(key, null);
+        return batch;
+    }
+
+    private static void checkInternships(InternshipStore store, Map<String, String> expected, String step) {
+        Map<String, String> actual = new TreeMap<>();
+        for (Internship i : store.loadAll()) actual.put(i.getId(), describe(i));
+        check(actual.equals(expected), step + ": stored " + actual + ", expected " + expected);
+    }
+
+    private static void checkApplications(ApplicationStore store, Map<String, String> expected, String step) {
+        Map<String, String> actual = new TreeMap<>();
+        for (Application a : loadApplications(store)) {
+            actual.put(a.getApplicationID(),
+                    a.getStudent().getUserId() + "|" + a.getInternship().getId() + "|" + a.getStatus());
+        }
+        check(actual.equals(expected), step + ": stored " + actual + ", expected " + expected);
+    }
+
+    // Fresh students on every load, so restored applications do not pile up on one student.
+    private static List<Application> loadApplications(ApplicationStore store) {
+        Internship internship = internship("CF-I", "Analyst", 0);
+        return store.loadAll(id -> new Student(id, "Student " + id, "password", 2, "Computer Science"),
+                id -> id.equals(internship.getId()) ? internship : null);
+    }
+
+    private static String describe(Internship i) {
+        return i.getTitle() + "|" + i.getFilledSlots() + "|" + i.getStatus() + "|" + i.isVisible();
+    }
+
+    private static Internship internship(String id, String title, int filled) {
+        return Internship.restore(id, title, "Data work", InternshipLevel.BASIC, "Computer Science",
+                OPEN, CLOSE, "Acme", 5, filled, InternshipStatus.APPROVED, true);
+    }
+
+    private static ApplicationSnapshot application(String id, String studentId, ApplicationStatus status) {
+        return new ApplicationSnapshot(id, studentId, "CF-I", OPEN, status, false, false, false);
+    }
+
+    // Cuts the end off every file, as a crash in the middle of the last write would.
+    private static void tearTail(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile).forEach(files::add);
+        }
+        check(!files.isEmpty(), "durable backend wrote no files under " + directory);
+        for (Path file : files) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                if (ch.size() > TORN_BYTES) ch.truncate(ch.size() - TORN_BYTES);
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,156 @@
+package data;
+
+import entity.Application;
+import entity.ApplicationIdSequence;
+import entity.Internship;
+import entity.Student;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Checks that applications survive a restart on the {@code "log"} backend and that application
+ * IDs issued after the restart never repeat a stored one, both with the sequence file of the
+ * previous run and without it (data that predates the file).
+ * <p>
+ * Run with {@code java -cp <classes> data.StorageRestartTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class StorageRestartTest {
+
+    private static final String SEQUENCE_FILE = "application-ids.seq";
+    private static final int APPLICATIONS = 40;
+
+    private StorageRestartTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("ims-restart");
+        try {
+            Set<String> issued = firstRun(directory);
+            restartContinuesAboveStoredIds(directory, issued, false);
+            restartContinuesAboveStoredIds(directory, issued, true);
+        } finally {
+            ApplicationIdSequence.install(ApplicationIdSequence.inMemory());
+            deleteRecursively(directory);
+        }
+        System.out.println("StorageRestartTest: all passed");
+    }
+
+    // Creates applications with a file-backed sequence and writes them through the buffers.
+    private static Set<String> firstRun(Path directory) throws IOException {
+        ApplicationIdSequence.install(ApplicationIdSequence.open(directory.resolve(SEQUENCE_FILE)));
+        StorageBackend backend = new LogStorageBackend();
+        InternshipStore internshipStore = backend.openInternshipStore(directory);
+        ApplicationStore applicationStore = backend.openApplicationStore(directory);
+        InternshipRepository internships = new InternshipRepository();
+        ApplicationRepository applications = new ApplicationRepository();
+        WriteBehindBuffer<String, InternshipSnapshot> internshipWrites =
+                new WriteBehindBuffer<>(internshipStore, Duration.ofSeconds(1), 16);
+        WriteBehindBuffer<String, ApplicationSnapshot> applicationWrites =
+                new WriteBehindBuffer<>(applicationStore, Duration.ofSeconds(1), 16);
+        internships.setWriteBehind(internshipWrites);
+        applications.setWriteBehind(applicationWrites);
+
+        Set<String> issued = new HashSet<>();
+        Internship internship = internship("INT-1");
+        internships.add(internship);
+        for (int n = 0; n < APPLICATIONS; n++) {
+            Student s = student(n);
+            check(s.applyFor(internship), "setup: application rejected");
+            Application app = s.getAppliedInternships().get(0);
+            applications.save(app);
+            check(issued.add(app.getApplicationID()), "duplicate ID within one run: " + app.getApplicationID());
+        }
+
+        internshipWrites.close();
+        applicationWrites.close();
+        internshipStore.close();
+        applicationStore.close();
+        return issued;
+    }
+
+    private static void restartContinuesAboveStoredIds(Path directory, Set<String> issued, boolean withoutSequenceFile)
+            throws IOException {
+        String name = withoutSequenceFile ? "restart without sequence file" : "restart";
+        if (withoutSequenceFile) Files.deleteIfExists(directory.resolve(SEQUENCE_FILE));
+
+        StorageBackend backend = new LogStorageBackend();
+        InternshipRepository internships = new InternshipRepository();
+        ApplicationRepository applications = new ApplicationRepository();
+        Map<String, Student> students = new HashMap<>();
+        for (int n = 0; n < APPLICATIONS; n++) students.put(student(n).getUserId(), student(n));
+        ApplicationIdSequence ids = ApplicationIdSequence.open(directory.resolve(SEQUENCE_FILE));
+        try (InternshipStore internshipStore = backend.openInternshipStore(directory);
+             ApplicationStore applicationStore = backend.openApplicationStore(directory)) {
+            for (Internship i : internshipStore.loadAll()) internships.add(i);
+            List<Application> restored = applicationStore.loadAll(students::get, internships::findById);
+            for (Application a : restored) {
+                applications.save(a);
+                ids.advancePast(a.getApplicationID());
+            }
+        }
+        ApplicationIdSequence.install(ids);
+
+        Set<String> restoredIds = new HashSet<>();
+        for (Application a : applications.findAll()) {
+            restoredIds.add(a.getApplicationID());
+            check(a.getStatus() == ApplicationStatus.PENDING, name + ": status of " + a.getApplicationID() + " changed");
+        }
+        check(restoredIds.equals(issued), name + ": restored " + restoredIds.size() + " of " + issued.size() + " IDs");
+
+        long highest = issued.stream().mapToLong(StorageRestartTest::numberOf).max().orElse(0);
+        for (int n = 0; n < 2 * ApplicationIdSequence.BLOCK_SIZE; n++) {
+            String next = ApplicationIdSequence.shared().next();
+            check(!issued.contains(next), name + ": reissued stored ID " + next);
+            check(numberOf(next) > highest, name + ": " + next + " is not above the highest stored number " + highest);
+        }
+
+        Application duplicate = applications.findAll().get(0);
+        try {
+            applications.save(duplicate);
+            throw new AssertionError(name + ": saving a stored ID twice was accepted");
+        } catch (IllegalArgumentException expected) {
+            // already stored
+        }
+    }
+
+    private static long numberOf(String applicationId) {
+        return Long.parseLong(applicationId.substring(applicationId.lastIndexOf('-') + 1));
+    }
+
+    private static Internship internship(String id) {
+        return Internship.restore(id, "Analyst", "Data work", InternshipLevel.BASIC, "Computer Science",
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), "Acme", APPLICATIONS, 0,
+                InternshipStatus.APPROVED, true);
+    }
+
+    private static Student student(int n) {
+        return new Student(String.format("U%04d", n), "Student " + n, "password", 2, "Computer Science");
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
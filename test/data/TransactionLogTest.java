@@ -0,0 +1,315 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Checks that a {@link UnitOfWork} writes one {@link TransactionLog} record per commit, only after
+ * validation, and an abort record when publishing fails; and that the {@code "log"} backend
+ * completes a committed transaction the stores missed without undoing a later write.
+ * <p>
+ * Run with {@code java -cp <classes> data.TransactionLogTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class TransactionLogTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private TransactionLogTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        invalidCommitWritesNothing();
+        commitWritesOneRecord();
+        failedPublishIsAborted();
+        Path directory = Files.createTempDirectory("ims-transactions");
+        try {
+            committedTransactionIsCompletedAfterCrash(directory.resolve("crash"));
+            laterWriteIsNotRolledBack(directory.resolve("later"));
+            abortedTransactionIsNotCompleted(directory.resolve("aborted"));
+        } finally {
+            deleteRecursively(directory);
+        }
+        System.out.println("TransactionLogTest: all passed");
+    }
+
+    static void invalidCommitWritesNothing() {
+        RecordingLog log = new RecordingLog();
+        InternshipRepository internships = new InternshipRepository();
+        Internship i = internship("TX-1");
+        internships.add(i);
+        Application unsaved = apply(student("TX-S1"), i);
+        UnitOfWork uow = new UnitOfWork(new ApplicationRepository(), internships, null, log);
+        uow.track(i);
+        uow.track(unsaved);
+        i.setFilledSlots(1);
+        try {
+            uow.commit();
+            throw new AssertionError("commit of an unsaved application succeeded");
+        } catch (IllegalArgumentException expected) {
+            // the application was never saved
+        }
+        check(log.records.isEmpty(), "a transaction that failed validation was logged");
+    }
+
+    static void commitWritesOneRecord() {
+        RecordingLog log = new RecordingLog();
+        InternshipRepository internships = new InternshipRepository();
+        ApplicationRepository applications = new ApplicationRepository();
+        Internship i = internship("TX-2");
+        internships.add(i);
+        Application app = apply(student("TX-S2"), i);
+        applications.save(app);
+
+        try (UnitOfWork uow = new UnitOfWork(applications, internships, null, log)) {
+            uow.track(app);
+            uow.track(i);
+            app.markSuccessful();
+            i.setFilledSlots(1);
+            uow.commit();
+        }
+
+        check(log.records.size() == 1, "expected one record, got " + log.records.size());
+        Record r = log.records.get(0);
+        check(r.internships.size() == 1 && r.applications.size() == 1, "record does not hold both entities");
+        TransactionLog.Change<InternshipSnapshot> ic = r.internships.get(0);
+        check(ic.getBefore().getFilledSlots() == 0 && ic.getAfter().getFilledSlots() == 1, "internship before/after wrong");
+        TransactionLog.Change<ApplicationSnapshot> ac = r.applications.get(0);
+        check(ac.getBefore().getStatus() == ApplicationStatus.PENDING
+                && ac.getAfter().getStatus() == ApplicationStatus.SUCCESSFUL, "application before/after wrong");
+        check(log.aborted.isEmpty(), "committed transaction aborted");
+    }
+
+    static void failedPublishIsAborted() {
+        RecordingLog log = new RecordingLog();
+        InternshipRepository internships = new InternshipRepository();
+        Internship i = internship("TX-3");
+        internships.add(i);
+        WriteBehindBuffer<String, InternshipSnapshot> closed = new WriteBehindBuffer<>(batch -> { }, NEVER, 100);
+        internships.setWriteBehind(closed);
+        closed.close();
+
+        try (UnitOfWork uow = new UnitOfWork(null, internships, null, log)) {
+            uow.track(i);
+            i.setFilledSlots(1);
+            uow.commit();
+            throw new AssertionError("commit with a failing publish succeeded");
+        } catch (IllegalStateException expected) {
+            // the buffer is closed
+        }
+        check(log.records.size() == 1, "transaction not logged before publishing");
+        check(log.aborted.equals(List.of(1L)), "failed publish not aborted: " + log.aborted);
+        check(i.getFilledSlots() == 0, "internship not restored");
+    }
+
+    static void committedTransactionIsCompletedAfterCrash(Path directory) throws IOException {
+        Session s = new Session(directory);
+        Internship i = internship("TX-4");
+        Application app = s.store(i, student("TX-S4"));
+        s.flush();
+
+        try (UnitOfWork uow = s.unitOfWork()) {
+            uow.track(app);
+            uow.track(i);
+            app.markSuccessful();
+            i.setFilledSlots(1);
+            uow.commit();
+        }
+        s.crash(); // the buffers never reach the stores
+
+        Map<String, Internship> internships = loadInternships(directory);
+        check(internships.get("TX-4").getFilledSlots() == 1, "committed internship change not completed");
+        check(loadApplicationStatus(directory, "TX-S4", internships).get(app.getApplicationID())
+                == ApplicationStatus.SUCCESSFUL, "committed application change not completed");
+    }
+
+    static void laterWriteIsNotRolledBack(Path directory) throws IOException {
+        Session s = new Session(directory);
+        Internship i = internship("TX-5");
+        s.store(i, student("TX-S5"));
+        s.flush();
+
+        try (UnitOfWork uow = s.unitOfWork()) {
+            uow.track(i);
+            i.setFilledSlots(1);
+            uow.commit();
+        }
+        s.flush();
+        i.setTitle("Renamed later");
+        s.internships.update(i);
+        s.flush();
+        s.crash(); // no checkpoint: the transaction is still in the log
+
+        Internship reloaded = loadInternships(directory).get("TX-5");
+        check("Renamed later".equals(reloaded.getTitle()), "recovery rolled back a later write: " + reloaded.getTitle());
+        check(reloaded.getFilledSlots() == 1, "committed change lost");
+    }
+
+    static void abortedTransactionIsNotCompleted(Path directory) throws IOException {
+        Session s = new Session(directory);
+        Internship i = internship("TX-6");
+        s.store(i, student("TX-S6"));
+        s.flush();
+        TransactionLog.Change<InternshipSnapshot> change = new TransactionLog.Change<>("TX-6",
+                InternshipSnapshot.of(i), InternshipSnapshot.of(internship("TX-6", 3)));
+        long id = s.log.append(List.of(change), List.of());
+        s.log.abort(id);
+        s.crash();
+
+        check(loadInternships(directory).get("TX-6").getFilledSlots() == 0, "aborted transaction was completed");
+    }
+
+    // ========== HELPERS ==========
+
+    private static Map<String, Internship> loadInternships(Path directory) throws IOException {
+        StorageBackend backend = new LogStorageBackend();
+        Map<String, Internship> out = new HashMap<>();
+        backend.openTransactionLog(directory).close(); // opening the log completes committed transactions
+        try (InternshipStore store = backend.openInternshipStore(directory)) {
+            for (Internship i : store.loadAll()) out.put(i.getId(), i);
+        }
+        return out;
+    }
+
+    private static Map<String, ApplicationStatus> loadApplicationStatus(Path directory, String studentId,
+                                                                        Map<String, Internship> internships) throws IOException {
+        Map<String, ApplicationStatus> out = new HashMap<>();
+        try (ApplicationStore store = new LogStorageBackend().openApplicationStore(directory)) {
+            for (Application a : store.loadAll(id -> id.equals(studentId) ? student(id) : null, internships::get)) {
+                out.put(a.getApplicationID(), a.getStatus());
+            }
+        }
+        return out;
+    }
+
+    private static Internship internship(String id) {
+        return internship(id, 0);
+    }
+
+    private static Internship internship(String id, int filled) {
+        return Internship.restore(id, "Analyst", "Data work", InternshipLevel.BASIC, "Computer Science",
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), "Acme", 5, filled,
+                InternshipStatus.APPROVED, true);
+    }
+
+    private static Student student(String id) {
+        return new Student(id, "Student " + id, "password", 2, "Computer Science");
+    }
+
+    private static Application apply(Student s, Internship i) {
+        check(s.applyFor(i), "setup: application rejected");
+        List<Application> apps = s.getAppliedInternships();
+        return apps.get(apps.size() - 1);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+    // ========== HELPER TYPES ==========
+
+    // Repositories over the "log" backend with buffers that only flush when told to.
+    private static final class Session {
+        final TransactionLog log;
+        final InternshipStore internshipStore;
+        final ApplicationStore applicationStore;
+        final InternshipRepository internships = new InternshipRepository();
+        final ApplicationRepository applications = new ApplicationRepository();
+        final WriteBehindBuffer<String, InternshipSnapshot> internshipWrites;
+        final WriteBehindBuffer<String, ApplicationSnapshot> applicationWrites;
+
+        Session(Path directory) throws IOException {
+            StorageBackend backend = new LogStorageBackend();
+            log = backend.openTransactionLog(directory);
+            internshipStore = backend.openInternshipStore(directory);
+            applicationStore = backend.openApplicationStore(directory);
+            internshipWrites = new WriteBehindBuffer<>(internshipStore, NEVER, 1000);
+            applicationWrites = new WriteBehindBuffer<>(applicationStore, NEVER, 1000);
+            internships.setWriteBehind(internshipWrites);
+            applications.setWriteBehind(applicationWrites);
+        }
+
+        Application store(Internship internship, Student student) {
+            internships.add(internship);
+            Application app = apply(student, internship);
+            applications.save(app);
+            return app;
+        }
+
+        UnitOfWork unitOfWork() {
+            return new UnitOfWork(applications, internships, null, log);
+        }
+
+        void flush() {
+            internshipWrites.flush();
+            applicationWrites.flush();
+        }
+
+        // Closes the files as a dying process would: pending buffered writes are dropped.
+        void crash() throws IOException {
+            internshipStore.close();
+            applicationStore.close();
+            log.close();
+        }
+    }
+
+    private static final class Record {
+        final List<TransactionLog.Change<InternshipSnapshot>> internships;
+        final List<TransactionLog.Change<ApplicationSnapshot>> applications;
+
+        Record(List<TransactionLog.Change<InternshipSnapshot>> internships,
+               List<TransactionLog.Change<ApplicationSnapshot>> applications) {
+            this.internships = internships;
+            this.applications = applications;
+        }
+    }
+
+    private static final class RecordingLog implements TransactionLog {
+        final List<Record> records = new ArrayList<>();
+        final List<Long> aborted = new ArrayList<>();
+
+        @Override
+        public long append(List<Change<InternshipSnapshot>> internships, List<Change<ApplicationSnapshot>> applications) {
+            records.add(new Record(new ArrayList<>(internships), new ArrayList<>(applications)));
+            return records.size();
+        }
+
+        @Override
+        public void abort(long transactionId) {
+            aborted.add(transactionId);
+        }
+
+        @Override
+        public void checkpoint() {
+            records.clear();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package data;
+
+import entity.Application;
+import entity.Internship;
+import entity.Student;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks that a {@link UnitOfWork} that does not commit puts every tracked entity back exactly as
+ * it was, including the dirty mask and modification version, and that a failed commit also
+ * releases the internship repository's change lock.
+ * <p>
+ * Run with {@code java -cp <classes> data.UnitOfWorkTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class UnitOfWorkTest {
+
+    private static final LocalDate OPEN = LocalDate.of(2026, 1, 1);
+    private static final LocalDate CLOSE = LocalDate.of(2026, 12, 31);
+
+    private UnitOfWorkTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        rollbackRestoresInternshipFieldsDirtyMaskAndVersion();
+        rollbackRestoresApplicationAndStudentCounters();
+        failedCommitRestoresAndReleasesChangeLock();
+        commitPublishesAndCleans();
+        System.out.println("UnitOfWorkTest: all passed");
+    }
+
+    static void rollbackRestoresInternshipFieldsDirtyMaskAndVersion() {
+        InternshipRepository internships = new InternshipRepository();
+        Internship i = internship("INT-1");
+        internships.add(i);
+        // an unpublished change made before the unit began must survive the rollback
+        i.setTitle("Renamed");
+        int dirtyBefore = i.getDirtyFields();
+        long versionBefore = i.getModificationVersion();
+        check(dirtyBefore == Internship.FIELD_TITLE, "setup: expected only the title to be dirty");
+
+        try (UnitOfWork uow = new UnitOfWork(null, internships, null)) {
+            uow.track(i);
+            i.setFilledSlots(2);
+            i.setStatus(InternshipStatus.FILLED);
+            i.setVisible(false);
+        }
+
+        check(i.getFilledSlots() == 0, "filled slots not restored");
+        check(i.getStatus() == InternshipStatus.APPROVED, "status not restored");
+        check(i.isVisible(), "visibility not restored");
+        check("Renamed".equals(i.getTitle()), "earlier title change lost");
+        check(i.getDirtyFields() == dirtyBefore,
+                "dirty mask " + i.getDirtyFields() + " after rollback, expected " + dirtyBefore);
+        check(i.getModificationVersion() == versionBefore,
+                "version " + i.getModificationVersion() + " after rollback, expected " + versionBefore);
+    }
+
+    static void rollbackRestoresApplicationAndStudentCounters() {
+        InternshipRepository internships = new InternshipRepository();
+        ApplicationRepository applications = new ApplicationRepository();
+        Internship i = internship("INT-2");
+        internships.add(i);
+        Student s = student("S1");
+        Application app = apply(s, i);
+        applications.save(app);
+        check(!app.isDirty(), "setup: saved application should be clean");
+        long versionBefore = app.getModificationVersion();
+        int activeBefore = s.getActiveApplicationCount();
+
+        try (UnitOfWork uow = new UnitOfWork(applications, internships, null)) {
+            uow.track(app);
+            uow.track(i);
+            app.markSuccessful();
+            i.setFilledSlots(1);
+            check(s.hasSuccessfulApplication(), "setup: student counter not updated by the change");
+        }
+
+        check(app.getStatus() == ApplicationStatus.PENDING, "application status not restored");
+        check(app.getDirtyFields() == 0, "application dirty mask " + app.getDirtyFields() + " after rollback");
+        check(app.getModificationVersion() == versionBefore, "application version not restored");
+        check(!s.hasSuccessfulApplication(), "student successful counter not restored");
+        check(s.getActiveApplicationCount() == activeBefore, "student active counter not restored");
+        check(i.getFilledSlots() == 0 && i.getDirtyFields() == 0, "internship not restored clean");
+    }
+
+    static void failedCommitRestoresAndReleasesChangeLock() throws Exception {
+        InternshipRepository internships = new InternshipRepository();
+        ApplicationRepository applications = new ApplicationRepository();
+        Internship i = internship("INT-3");
+        internships.add(i);
+        Application unsaved = apply(student("S2"), i);
+
+        UnitOfWork uow = new UnitOfWork(applications, internships, null);
+        uow.track(i);
+        uow.track(unsaved);
+        i.setFilledSlots(1);
+        unsaved.markSuccessful();
+        try {
+            uow.commit();
+            throw new AssertionError("commit of an unsaved application succeeded");
+        } catch (IllegalArgumentException expected) {
+            // the application was never saved
+        }
+
+        check(i.getFilledSlots() == 0 && i.getDirtyFields() == 0, "internship not restored after failed commit");
+        check(unsaved.getStatus() == ApplicationStatus.PENDING, "application not restored after failed commit");
+        check(internships.findById("INT-3").getFilledSlots() == 0, "repository sees the rolled-back change");
+
+        AtomicBoolean acquired = new AtomicBoolean();
+        Thread other = new Thread(() -> {
+            try {
+                if (internships.changeLock().tryLock(1, TimeUnit.SECONDS)) {
+                    acquired.set(true);
+                    internships.changeLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        other.start();
+        other.join();
+        check(acquired.get(), "change lock still held after a failed commit");
+    }
+
+    static void commitPublishesAndCleans() {
+        InternshipRepository internships = new InternshipRepository();
+        Internship i = internship("INT-4");
+        internships.add(i);
+        long repoVersion = internships.getVersion();
+
+        try (UnitOfWork uow = new UnitOfWork(null, internships, null)) {
+            uow.track(i);
+            i.setFilledSlots(3);
+            uow.commit();
+        }
+
+        check(i.getFilledSlots() == 3, "committed change was rolled back by close()");
+        check(!i.isDirty(), "committed internship still dirty");
+        check(internships.getVersion() > repoVersion, "commit did not publish a new repository version");
+        List<Internship> all = internships.all();
+        check(all.size() == 1 && all.get(0).getFilledSlots() == 3, "repository does not show the commit");
+    }
+
+    private static Internship internship(String id) {
+        return Internship.restore(id, "Analyst", "Data work", InternshipLevel.BASIC, "Computer Science",
+                OPEN, CLOSE, "Acme", 5, 0, InternshipStatus.APPROVED, true);
+    }
+
+    private static Student student(String id) {
+        return new Student(id, "Student " + id, "password", 2, "Computer Science");
+    }
+
+    private static Application apply(Student s, Internship i) {
+        check(s.applyFor(i), "setup: application rejected");
+        List<Application> apps = s.getAppliedInternships();
+        return apps.get(apps.size() - 1);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
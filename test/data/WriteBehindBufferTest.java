@@ -0,0 +1,265 @@
+package data;
+
+import entity.Internship;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that {@link WriteBehindBuffer#close()} hands every pending write to the store, including
+ * writes made while a background flush is still running, and that buffered values are the
+ * snapshots published by the repository rather than the live entities. Also checks that a key
+ * the store keeps rejecting is parked without holding back the others, that an outage keeps every
+ * key pending, that the number of pending keys is bounded, and that background failures are reported.
+ * <p>
+ * Run with {@code java -cp <classes> data.WriteBehindBufferTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class WriteBehindBufferTest {
+
+    // long enough that only close() or a full batch triggers a flush
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private WriteBehindBufferTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        closeFlushesPendingWrites();
+        closeWaitsForRunningFlushThenFlushesTheRest();
+        bufferHoldsPublishedSnapshots();
+        failingKeyIsParkedWithoutBlockingOthers();
+        outageKeepsEveryKeyPending();
+        pendingKeysAreBounded();
+        backgroundFailureIsReported();
+        System.out.println("WriteBehindBufferTest: all passed");
+    }
+
+    static void closeFlushesPendingWrites() {
+        RecordingWriter<String> store = new RecordingWriter<>(null);
+        WriteBehindBuffer<String, String> buffer = new WriteBehindBuffer<>(store, NEVER, 100);
+        buffer.put("a", "1");
+        buffer.put("b", "1");
+        buffer.put("a", "2");
+        buffer.delete("b");
+        check(store.batches().isEmpty(), "flushed before close");
+
+        buffer.close();
+
+        check(store.batches().size() == 1, "expected one batch on close, got " + store.batches().size());
+        Map<String, String> batch = store.batches().get(0);
+        check("2".equals(batch.get("a")), "latest value of a not written");
+        check(batch.containsKey("b") && batch.get("b") == null, "delete of b not written");
+        check(buffer.getMetrics().getPending() == 0, "writes still pending after close");
+        try {
+            buffer.put("c", "1");
+            throw new AssertionError("put after close accepted");
+        } catch (IllegalStateException expected) {
+            // closed
+        }
+        buffer.close();
+        check(store.batches().size() == 1, "second close wrote again");
+    }
+
+    static void closeWaitsForRunningFlushThenFlushesTheRest() throws Exception {
+        CountDownLatch inFlush = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // the first write blocks until released and, like a file channel, fails if interrupted
+        RecordingWriter<String> store = new RecordingWriter<>(() -> {
+            if (inFlush.getCount() == 0) return;
+            inFlush.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Write interrupted", e);
+            }
+        });
+        WriteBehindBuffer<String, String> buffer = new WriteBehindBuffer<>(store, NEVER, 2);
+        buffer.put("a", "1");
+        buffer.put("b", "1"); // full: starts a background flush that blocks in the store
+        check(inFlush.await(5, TimeUnit.SECONDS), "background flush did not start");
+        buffer.put("c", "1");
+
+        Thread closer = new Thread(buffer::close);
+        closer.start();
+        closer.join(200);
+        check(closer.isAlive(), "close returned while a flush was still running");
+        release.countDown();
+        closer.join(5000);
+        check(!closer.isAlive(), "close did not finish");
+
+        List<Map<String, String>> batches = store.batches();
+        check(batches.size() == 2, "expected the running batch and a final one, got " + batches.size());
+        check(batches.get(0).keySet().equals(Set.of("a", "b")), "first batch should hold a and b");
+        check(batches.get(1).keySet().equals(Set.of("c")), "final batch should hold c");
+        WriteBehindBuffer.Metrics m = buffer.getMetrics();
+        check(m.getWritten() == 3 && m.getPending() == 0, "metrics after close: " + m);
+    }
+
+    static void bufferHoldsPublishedSnapshots() {
+        RecordingWriter<InternshipSnapshot> store = new RecordingWriter<>(null);
+        WriteBehindBuffer<String, InternshipSnapshot> buffer = new WriteBehindBuffer<>(store, NEVER, 100);
+        InternshipRepository repo = new InternshipRepository();
+        repo.setWriteBehind(buffer);
+        Internship i = Internship.restore("INT-1", "Analyst", "Data work", InternshipLevel.BASIC,
+                "Computer Science", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31),
+                "Acme", 5, 0, InternshipStatus.APPROVED, true);
+        repo.add(i);
+        i.setFilledSlots(1);
+        repo.update(i);
+        // changed again but never published
+        i.setFilledSlots(4);
+
+        buffer.close();
+
+        InternshipSnapshot written = store.batches().get(0).get("INT-1");
+        check(written != null, "internship not written");
+        check(written.getFilledSlots() == 1,
+                "store received " + written.getFilledSlots() + " filled slots, expected the published 1");
+        check(written.restore().getFilledSlots() == 1, "restored snapshot differs");
+    }
+
+    static void failingKeyIsParkedWithoutBlockingOthers() {
+        AtomicBoolean rejectBad = new AtomicBoolean(true);
+        RecordingWriter<String> store = new RecordingWriter<>(null, batch -> rejectBad.get() && batch.containsKey("bad"));
+        WriteBehindBuffer<String, String> buffer = new WriteBehindBuffer<>(store, NEVER, 100);
+        buffer.put("bad", "too long");
+        for (int round = 0; round < WriteBehindBuffer.MAX_ATTEMPTS; round++) {
+            buffer.put("good" + round, "1");
+            try {
+                buffer.flush();
+                throw new AssertionError("flush with a rejected key succeeded");
+            } catch (IllegalStateException expected) {
+                // the store rejected "bad"
+            }
+            check(store.written().containsKey("good" + round), "good key held back by a rejected one in round " + round);
+        }
+        check(buffer.getParked().equals(Map.of("bad", "too long")), "rejected key not parked: " + buffer.getParked());
+        WriteBehindBuffer.Metrics m = buffer.getMetrics();
+        check(m.getParked() == 1 && m.getPending() == 0, "metrics after parking: " + m);
+
+        buffer.flush(); // parked keys are not retried
+        rejectBad.set(false);
+        buffer.retryParked();
+        check("too long".equals(store.written().get("bad")), "parked key not written on retry");
+        check(buffer.getParked().isEmpty(), "key still parked after a successful retry");
+        buffer.close();
+    }
+
+    static void outageKeepsEveryKeyPending() {
+        AtomicBoolean down = new AtomicBoolean(true);
+        RecordingWriter<String> store = new RecordingWriter<>(null, batch -> down.get());
+        WriteBehindBuffer<String, String> buffer = new WriteBehindBuffer<>(store, NEVER, 100);
+        for (int n = 0; n < 20; n++) buffer.put("k" + n, "1");
+        for (int round = 0; round < 2 * WriteBehindBuffer.MAX_ATTEMPTS; round++) {
+            int attemptsBefore = store.attempts();
+            try {
+                buffer.flush();
+                throw new AssertionError("flush during an outage succeeded");
+            } catch (IllegalStateException expected) {
+                // the store is down
+            }
+            int tries = store.attempts() - attemptsBefore;
+            check(tries <= 1 + WriteBehindBuffer.PROBE_KEYS, "outage probed " + tries + " times in one flush");
+        }
+        WriteBehindBuffer.Metrics m = buffer.getMetrics();
+        check(m.getPending() == 20 && m.getParked() == 0, "keys lost or parked during an outage: " + m);
+
+        down.set(false);
+        buffer.flush();
+        check(store.written().size() == 20, "not every key written after the outage");
+        buffer.close();
+    }
+
+    static void pendingKeysAreBounded() {
+        RecordingWriter<String> store = new RecordingWriter<>(null, batch -> true);
+        WriteBehindBuffer<String, String> buffer = new WriteBehindBuffer<>(store, NEVER, 2, 4);
+        buffer.setErrorHandler(e -> { });
+        for (int n = 0; n < 4; n++) buffer.put("k" + n, "1");
+        buffer.put("k0", "2"); // an overwrite needs no room
+        try {
+            buffer.put("k4", "1");
+            throw new AssertionError("buffer grew past its limit");
+        } catch (IllegalStateException expected) {
+            check(expected.getCause() != null, "full buffer did not report the store failure");
+        }
+        check(buffer.getMetrics().getPending() + buffer.getMetrics().getParked() <= 4, "buffer holds more than its limit");
+    }
+
+    static void backgroundFailureIsReported() throws InterruptedException {
+        RecordingWriter<String> store = new RecordingWriter<>(null, batch -> true);
+        WriteBehindBuffer<String, String> buffer = new WriteBehindBuffer<>(store, NEVER, 2);
+        List<RuntimeException> reported = new CopyOnWriteArrayList<>();
+        CountDownLatch failed = new CountDownLatch(1);
+        buffer.setErrorHandler(e -> {
+            reported.add(e);
+            failed.countDown();
+        });
+        buffer.put("a", "1");
+        buffer.put("b", "1"); // full: starts a background flush that fails
+        check(failed.await(5, TimeUnit.SECONDS), "background failure not reported");
+        check(reported.get(0) instanceof IllegalStateException, "unexpected error reported: " + reported.get(0));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+    // ========== HELPER TYPES ==========
+
+    // Records a copy of every batch; optionally runs a hook first to simulate a slow store,
+    // and rejects the batches a predicate picks, like a store refusing a value it cannot hold.
+    private static final class RecordingWriter<V> implements BatchWriter<String, V> {
+        private final Runnable beforeWrite;
+        private final Predicate<Map<String, V>> reject;
+        private final List<Map<String, V>> batches = new ArrayList<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        RecordingWriter(Runnable beforeWrite) {
+            this(beforeWrite, batch -> false);
+        }
+
+        RecordingWriter(Runnable beforeWrite, Predicate<Map<String, V>> reject) {
+            this.beforeWrite = beforeWrite;
+            this.reject = reject;
+        }
+
+        @Override
+        public void writeBatch(Map<String, V> batch) {
+            attempts.incrementAndGet();
+            if (beforeWrite != null) beforeWrite.run();
+            if (reject.test(batch)) throw new IllegalStateException("Store rejected " + batch.keySet());
+            synchronized (this) {
+                batches.add(new LinkedHashMap<>(batch));
+            }
+        }
+
+        synchronized List<Map<String, V>> batches() {
+            return new ArrayList<>(batches);
+        }
+
+        // The latest value written for each key.
+        synchronized Map<String, V> written() {
+            Map<String, V> all = new LinkedHashMap<>();
+            for (Map<String, V> batch : batches) all.putAll(batch);
+            return all;
+        }
+
+        int attempts() {
+            return attempts.get();
+        }
+    }
+}
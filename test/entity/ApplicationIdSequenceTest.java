@@ -0,0 +1,43 @@
+package entity;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Checks that application IDs take their date from {@link AppClock#today()}, so an ID issued
+ * inside a date snapshot carries the snapshot's date rather than the clock's.
+ * <p>
+ * Run with {@code java -cp <classes> entity.ApplicationIdSequenceTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class ApplicationIdSequenceTest {
+
+    private ApplicationIdSequenceTest() {
+    }
+
+    public static void main(String[] args) {
+        Clock original = AppClock.get();
+        try {
+            idUsesSnapshotDate();
+        } finally {
+            AppClock.set(original);
+        }
+        System.out.println("ApplicationIdSequenceTest: all passed");
+    }
+
+    static void idUsesSnapshotDate() {
+        LocalDate clockDay = LocalDate.of(2026, 3, 15);
+        AppClock.set(Clock.fixed(clockDay.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        ApplicationIdSequence ids = ApplicationIdSequence.inMemory();
+
+        check(ids.next().startsWith("APP-20260315-"), "ID outside a snapshot does not use the clock's date");
+        String id = AppClock.withToday(LocalDate.of(2026, 3, 14), ids::next);
+        check(id.startsWith("APP-20260314-"), "ID inside a snapshot has the wrong date: " + id);
+        check(ids.next().startsWith("APP-20260315-"), "cached prefix outlived the snapshot");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,78 @@
+package entity;
+
+import data.ApplicationRepository;
+import data.InternshipRepository;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Checks that deleting an internship or application releases its ID in the {@link HandleRegistry},
+ * that a released handle is never handed to another entity, and that an entity stored again after
+ * being deleted can still be found.
+ * <p>
+ * Run with {@code java -cp <classes> entity.HandleRegistryTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class HandleRegistryTest {
+
+    private HandleRegistryTest() {
+    }
+
+    public static void main(String[] args) {
+        removedInternshipIsReleased();
+        deletedApplicationIsReleased();
+        System.out.println("HandleRegistryTest: all passed");
+    }
+
+    static void removedInternshipIsReleased() {
+        InternshipRepository repo = new InternshipRepository();
+        Internship i = internship("HR-INT-1");
+        int handle = i.getHandle();
+        repo.add(i);
+        check(repo.remove("HR-INT-1"), "setup: remove failed");
+        check(HandleRegistry.INTERNSHIPS.handleOf("HR-INT-1") < 0, "removed internship ID still registered");
+        check(HandleRegistry.INTERNSHIPS.idOf(handle) == null, "removed internship handle still resolves");
+
+        Internship other = internship("HR-INT-2");
+        check(other.getHandle() != handle, "released handle reused for another internship");
+
+        repo.add(i);
+        check(repo.findById("HR-INT-1") == i, "internship stored again cannot be found");
+        check(HandleRegistry.INTERNSHIPS.handleOf("HR-INT-1") == handle, "internship stored again under a new handle");
+    }
+
+    static void deletedApplicationIsReleased() {
+        InternshipRepository internships = new InternshipRepository();
+        ApplicationRepository applications = new ApplicationRepository();
+        Internship i = internship("HR-INT-3");
+        internships.add(i);
+        Student s = new Student("HR-S1", "Student", "password", 2, "Computer Science");
+        check(s.applyFor(i), "setup: application rejected");
+        List<Application> apps = s.getAppliedInternships();
+        Application app = apps.get(apps.size() - 1);
+        applications.save(app);
+        String id = app.getApplicationID();
+        int handle = app.getHandle();
+
+        check(applications.delete(id), "setup: delete failed");
+        check(HandleRegistry.APPLICATIONS.handleOf(id) < 0, "deleted application ID still registered");
+        check(HandleRegistry.APPLICATIONS.idOf(handle) == null, "deleted application handle still resolves");
+        check(applications.findById(id) == null, "deleted application still found");
+
+        applications.save(app);
+        check(applications.findById(id) == app, "application stored again cannot be found");
+    }
+
+    private static Internship internship(String id) {
+        return Internship.restore(id, "Analyst", "Data work", InternshipLevel.BASIC, "Computer Science",
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), "Acme", 3, 0,
+                InternshipStatus.APPROVED, true);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,129 @@
+package filter;
+
+import data.InternshipRepository;
+import entity.Internship;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that {@link ColumnarFilter#select(data.InternshipColumns, Filter)} returns exactly what
+ * evaluating the same filter on each entity returns, on both the single-threaded bitmask path
+ * and the {@link ParallelFilter} path used for large catalogs.
+ * <p>
+ * Run with {@code java -cp <classes> filter.ColumnarFilterTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class ColumnarFilterTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final String[] MAJORS = {"Computer Science", "Data Science", "Mechanical Engineering", null};
+    private static final String[] COMPANIES = {"Acme", "acme ", "Globex", "Initech"};
+
+    private ColumnarFilterTest() {
+    }
+
+    public static void main(String[] args) {
+        singleColumnFiltersMatchEntities();
+        compositeMatchesEntitiesBelowParallelThreshold();
+        compositeMatchesEntitiesOnParallelPath();
+        unsatisfiableCompositeSelectsNothing();
+        System.out.println("ColumnarFilterTest: all passed");
+    }
+
+    static void singleColumnFiltersMatchEntities() {
+        InternshipRepository repo = catalog(500, 1);
+        List<Filter<Internship>> filters = List.of(
+                new VisibleFilter(),
+                new StatusFilter(InternshipStatus.APPROVED),
+                new LevelFilter(InternshipLevel.ADVANCED),
+                new MajorFilter("computer science"),
+                new CompanyFilter("ACME"),
+                new YearFilter(2026),
+                new CurrentlyOpenFilter(TODAY),
+                new OpenDateRangeFilter(TODAY.minusDays(30), TODAY),
+                new CloseDateRangeFilter(TODAY, TODAY.plusDays(60)));
+        for (Filter<Internship> f : filters) {
+            assertSameSelection(f.getClass().getSimpleName(), repo, f);
+        }
+    }
+
+    static void compositeMatchesEntitiesBelowParallelThreshold() {
+        InternshipRepository repo = catalog(ParallelFilter.PARALLEL_THRESHOLD / 4, 2);
+        assertSameSelection("composite (bitmask path)", repo, studentLikeComposite());
+    }
+
+    static void compositeMatchesEntitiesOnParallelPath() {
+        InternshipRepository repo = catalog(ParallelFilter.PARALLEL_THRESHOLD * 2 + 37, 3);
+        assertSameSelection("composite (parallel path)", repo, studentLikeComposite());
+    }
+
+    static void unsatisfiableCompositeSelectsNothing() {
+        InternshipRepository repo = catalog(200, 4);
+        CompositeFilter<Internship> c = new TestComposite();
+        c.addFilter(new StatusFilter(InternshipStatus.APPROVED));
+        c.addFilter(new StatusFilter(InternshipStatus.PENDING));
+        assertSameSelection("unsatisfiable composite", repo, c);
+        check(ColumnarFilter.select(repo.columns(), c).isEmpty(), "unsatisfiable composite selected rows");
+    }
+
+    // Columnar parts plus one that can only be checked on the entity.
+    private static CompositeFilter<Internship> studentLikeComposite() {
+        CompositeFilter<Internship> c = new TestComposite();
+        c.addFilter(new VisibleFilter());
+        c.addFilter(new StatusFilter(InternshipStatus.APPROVED));
+        c.addFilter(new CurrentlyOpenFilter(TODAY));
+        c.addFilter(i -> i.getSlots() - i.getFilledSlots() > 0);
+        c.addFilter(new MajorFilter("Computer Science"));
+        return c;
+    }
+
+    private static void assertSameSelection(String name, InternshipRepository repo, Filter<Internship> filter) {
+        List<Internship> expected = new ArrayList<>();
+        for (Internship i : repo.all()) {
+            if (filter.matches(i)) expected.add(i);
+        }
+        // run twice so a composite is also checked after its evaluation order has been adapted
+        for (int pass = 0; pass < 2; pass++) {
+            List<Internship> actual = ColumnarFilter.select(repo.columns(), filter);
+            check(actual.equals(expected), name + ": columnar selection of " + actual.size()
+                    + " rows differs from entity selection of " + expected.size() + " rows (pass " + pass + ")");
+        }
+    }
+
+    private static InternshipRepository catalog(int size, long seed) {
+        Random rnd = new Random(seed);
+        InternshipRepository repo = new InternshipRepository();
+        InternshipLevel[] levels = InternshipLevel.values();
+        InternshipStatus[] statuses = InternshipStatus.values();
+        for (int n = 0; n < size; n++) {
+            LocalDate open = TODAY.plusDays(rnd.nextInt(240) - 180);
+            LocalDate close = open.plusDays(rnd.nextInt(150));
+            int slots = 1 + rnd.nextInt(10);
+            repo.add(Internship.restore(String.format("INT-%06d", n), "Role " + n, "Description " + n,
+                    levels[rnd.nextInt(levels.length)],
+                    MAJORS[rnd.nextInt(MAJORS.length)],
+                    open, close,
+                    COMPANIES[rnd.nextInt(COMPANIES.length)],
+                    slots, rnd.nextInt(slots + 1),
+                    statuses[rnd.nextInt(statuses.length)],
+                    rnd.nextBoolean()));
+        }
+        return repo;
+    }
+
+    // A composite with no default parts; the tests add their own.
+    private static final class TestComposite extends CompositeFilter<Internship> {
+        @Override
+        protected void setDefaultFilters() {
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,105 @@
+package service;
+
+import data.BatchWriter;
+import data.InternshipRepository;
+import data.InternshipSnapshot;
+import data.WriteBehindBuffer;
+import entity.Internship;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Checks that {@link InternshipDeadlineScheduler} puts the internships back and keeps their
+ * events when publishing a day's changes fails, and that the background thread keeps running
+ * after a failed run.
+ * <p>
+ * Run with {@code java -cp <classes> service.InternshipDeadlineSchedulerTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class InternshipDeadlineSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    private static final BatchWriter<String, InternshipSnapshot> DISCARD = (Map<String, InternshipSnapshot> batch) -> { };
+
+    private InternshipDeadlineSchedulerTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        failedPublishRestoresAndRetries();
+        backgroundRunSurvivesFailure();
+        System.out.println("InternshipDeadlineSchedulerTest: all passed");
+    }
+
+    static void failedPublishRestoresAndRetries() {
+        InternshipRepository repo = new InternshipRepository();
+        Internship expiring = internship("DS-1", TODAY.minusDays(30), TODAY.minusDays(1), true);
+        Internship opening = internship("DS-2", TODAY, TODAY.plusDays(30), false);
+        repo.add(expiring);
+        repo.add(opening);
+        InternshipDeadlineScheduler scheduler = new InternshipDeadlineScheduler(repo, Clock.offset(CLOCK, Duration.ofDays(-2)));
+        scheduler.schedule(expiring);
+        scheduler.schedule(opening);
+        int pending = scheduler.pending();
+        long version = expiring.getModificationVersion();
+        failPublishing(repo);
+
+        try {
+            scheduler.advanceTo(TODAY);
+            throw new AssertionError("advance with a failing publish succeeded");
+        } catch (IllegalStateException expected) {
+            // the buffer is closed
+        }
+        check(expiring.getStatus() == InternshipStatus.APPROVED && expiring.isVisible(), "expired internship not restored");
+        check(expiring.getModificationVersion() == version && !expiring.isDirty(), "expired internship not restored clean");
+        check(!opening.isVisible(), "activated internship not restored");
+        check(scheduler.pending() == pending, "events lost: " + scheduler.pending() + " pending, expected " + pending);
+
+        repo.setWriteBehind(new WriteBehindBuffer<>(DISCARD, Duration.ofHours(1), 100));
+        check(scheduler.advanceTo(TODAY) == 2, "events not applied on the retry");
+        check(expiring.getStatus() == InternshipStatus.CLOSED && !expiring.isVisible(), "internship not closed on retry");
+        check(opening.isVisible(), "internship not activated on retry");
+    }
+
+    static void backgroundRunSurvivesFailure() throws InterruptedException {
+        InternshipRepository repo = new InternshipRepository();
+        Internship expiring = internship("DS-3", TODAY.minusDays(30), TODAY.minusDays(1), true);
+        repo.add(expiring);
+        failPublishing(repo);
+        try (InternshipDeadlineScheduler scheduler = new InternshipDeadlineScheduler(repo, CLOCK)) {
+            scheduler.schedule(expiring);
+            scheduler.start(Duration.ofMillis(5));
+            Thread.sleep(50);
+            check(expiring.getStatus() == InternshipStatus.APPROVED, "internship closed although publishing fails");
+
+            repo.setWriteBehind(new WriteBehindBuffer<>(DISCARD, Duration.ofHours(1), 100));
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (expiring.getStatus() != InternshipStatus.CLOSED && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            check(expiring.getStatus() == InternshipStatus.CLOSED, "background runs stopped after a failure");
+        }
+    }
+
+    // Every later publish fails, like a store that was shut down.
+    private static void failPublishing(InternshipRepository repo) {
+        WriteBehindBuffer<String, InternshipSnapshot> buffer = new WriteBehindBuffer<>(DISCARD, Duration.ofHours(1), 100);
+        repo.setWriteBehind(buffer);
+        buffer.close();
+    }
+
+    private static Internship internship(String id, LocalDate open, LocalDate close, boolean visible) {
+        return Internship.restore(id, "Analyst", "Data work", InternshipLevel.BASIC, "Computer Science",
+                open, close, "Acme", 3, 0, InternshipStatus.APPROVED, visible);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
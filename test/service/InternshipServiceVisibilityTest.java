@@ -0,0 +1,93 @@
+package service;
+
+import data.InternshipRepository;
+import entity.Internship;
+import entity.Student;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Checks that {@link InternshipService#setVisibility(String, boolean)} goes through the same
+ * open-date activation as approval: showing a listing before its open date keeps it hidden until
+ * then, hiding it withdraws a pending activation, and subscribers are notified once when an
+ * approved listing becomes visible.
+ * <p>
+ * Run with {@code java -cp <classes> service.InternshipServiceVisibilityTest}; a failure throws an {@link AssertionError}.
+ * </p>
+ */
+public final class InternshipServiceVisibilityTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private InternshipServiceVisibilityTest() {
+    }
+
+    public static void main(String[] args) {
+        hidingWithdrawsActivation();
+        showingBeforeOpenDateWaitsForIt();
+        showingOpenListingNotifiesOnce();
+        System.out.println("InternshipServiceVisibilityTest: all passed");
+    }
+
+    static void hidingWithdrawsActivation() {
+        InternshipRepository repo = new InternshipRepository();
+        Internship i = internship("VS-1", TODAY.plusDays(5), false);
+        repo.add(i);
+        InternshipService service = new InternshipService(repo, CLOCK);
+        Student s = subscribed(service, "VS-S1");
+
+        check(!service.setVisibility("VS-1", false), "hidden listing reported visible");
+        service.getDeadlineScheduler().advanceTo(TODAY.plusDays(5));
+        check(!i.isVisible(), "listing hidden by its owner was activated on its open date");
+        check(service.getUnreadNotificationCount(s) == 0, "subscriber notified about a hidden listing");
+    }
+
+    static void showingBeforeOpenDateWaitsForIt() {
+        InternshipRepository repo = new InternshipRepository();
+        Internship i = internship("VS-2", TODAY.plusDays(5), false);
+        repo.add(i);
+        InternshipService service = new InternshipService(repo, CLOCK);
+        Student s = subscribed(service, "VS-S2");
+        service.setVisibility("VS-2", false);
+
+        check(!service.setVisibility("VS-2", true), "listing shown before its open date");
+        check(!repo.findById("VS-2").isVisible(), "repository shows a listing before its open date");
+        check(service.getUnreadNotificationCount(s) == 0, "subscriber notified before the open date");
+        service.getDeadlineScheduler().advanceTo(TODAY.plusDays(5));
+        check(i.isVisible(), "listing not activated on its open date");
+        check(service.getUnreadNotificationCount(s) == 1, "subscriber not notified on activation");
+    }
+
+    static void showingOpenListingNotifiesOnce() {
+        InternshipRepository repo = new InternshipRepository();
+        Internship i = internship("VS-3", TODAY.minusDays(1), false);
+        repo.add(i);
+        InternshipService service = new InternshipService(repo, CLOCK);
+        Student s = subscribed(service, "VS-S3");
+
+        check(service.setVisibility("VS-3", true), "open listing not shown");
+        check(service.getUnreadNotificationCount(s) == 1, "subscriber not notified when the listing was shown");
+        service.setVisibility("VS-3", true);
+        check(service.getUnreadNotificationCount(s) == 1, "subscriber notified again for a listing already visible");
+    }
+
+    private static Student subscribed(InternshipService service, String id) {
+        Student s = new Student(id, "Student " + id, "password", 2, "Computer Science");
+        service.subscribe(s);
+        return s;
+    }
+
+    private static Internship internship(String id, LocalDate open, boolean visible) {
+        return Internship.restore(id, "Analyst", "Data work", InternshipLevel.BASIC, "Computer Science",
+                open, TODAY.plusDays(60), "Acme", 3, 0, InternshipStatus.APPROVED, visible);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}